@@ -0,0 +1,89 @@
+package cz.habarta.typescript.generator;
+
+import cz.habarta.typescript.generator.emitter.Emitter;
+import cz.habarta.typescript.generator.emitter.TsModel;
+import cz.habarta.typescript.generator.util.AtomicFileWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+
+/**
+ * Compares emitting to file using plain {@link OutputStreamWriter} and using {@link AtomicFileWriter}
+ * (used by {@link Output#to(File)}). Size of emitted file is printed in trial setup so throughput in MB/s
+ * can be computed from average time.
+ *
+ * Run using <code>mvn package -Pbenchmark</code> and <code>java -jar typescript-generator-benchmark/target/benchmarks.jar FileOutputBenchmark</code>.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class FileOutputBenchmark {
+
+    @Param({"5000"})
+    public int classCount;
+
+    private Emitter emitter;
+    private TsModel tsModel;
+    private File directory;
+    private File outputFile;
+
+    @Setup(Level.Trial)
+    public void setupModel() throws IOException {
+        TypeScriptGenerator.setLogger(new Logger(Logger.Level.Warning));
+        final Settings settings = TestUtils.settings();
+        settings.noFileComment = true;
+        final TypeScriptGenerator generator = new TypeScriptGenerator(settings);
+        final List<Class<?>> classes = SyntheticClasses.beanGraph("cz.habarta.typescript.generator.benchmark.output", classCount);
+        tsModel = generator.getModelCompiler().javaToTypeScript(generator.getModelParser().parseModel(classes.get(0)));
+        emitter = generator.getEmitter();
+        directory = Files.createTempDirectory("typescript-generator-benchmark").toFile();
+        outputFile = new File(directory, "output.d.ts");
+        emitToAtomicFileWriter();
+        System.out.println(String.format("Emitted file size: %.1f MB", outputFile.length() / (1024.0 * 1024.0)));
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteFiles() {
+        outputFile.delete();
+        directory.delete();
+    }
+
+    @Benchmark
+    public long emitToOutputStreamWriter() throws IOException {
+        return emit(new OutputStreamWriter(new FileOutputStream(outputFile), StandardCharsets.UTF_8));
+    }
+
+    @Benchmark
+    public long emitToAtomicFileWriter() {
+        return emit(new AtomicFileWriter(outputFile));
+    }
+
+    private long emit(Writer writer) {
+        emitter.emit(tsModel, writer, null, true, false, 0);
+        return outputFile.length();
+    }
+
+}
@@ -0,0 +1,143 @@
+package cz.habarta.typescript.generator;
+
+import cz.habarta.typescript.generator.compiler.SymbolTable;
+import cz.habarta.typescript.generator.emitter.TsBeanModel;
+import cz.habarta.typescript.generator.emitter.TsModel;
+import cz.habarta.typescript.generator.emitter.TsPropertyModel;
+import cz.habarta.typescript.generator.parser.Model;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+
+/**
+ * Benchmarks of main generator stages on synthetic models created by {@link SyntheticClasses#hierarchyModel(String, int)}
+ * (tagged unions with deep inheritance and generic properties).
+ * Each stage gets output of previous stage prepared in trial setup so stages are measured separately.
+ *
+ * Run using <code>mvn package -Pbenchmark</code> and <code>java -jar typescript-generator-benchmark/target/benchmarks.jar</code>.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class GeneratorBenchmark {
+
+    @Param({"100", "1000", "5000", "20000"})
+    public int classCount;
+
+    private Settings settings;
+    private List<Class<?>> classes;
+    private Model model;
+    private TsModel tsModel;
+    private List<TsType> propertyTypes;
+    private SymbolTable symbolTable;
+
+    @Setup(Level.Trial)
+    public void setupModel() {
+        TypeScriptGenerator.setLogger(new Logger(Logger.Level.Warning));
+        settings = TestUtils.settings();
+        settings.outputKind = TypeScriptOutputKind.module;
+        classes = SyntheticClasses.hierarchyModel("cz.habarta.typescript.generator.benchmark", classCount);
+        final TypeScriptGenerator generator = new TypeScriptGenerator(settings);
+        model = generator.getModelParser().parseModel(classes.get(0));
+        tsModel = generator.getModelCompiler().javaToTypeScript(model);
+        propertyTypes = new ArrayList<>();
+        for (TsBeanModel bean : tsModel.getBeans()) {
+            for (TsPropertyModel property : bean.getProperties()) {
+                propertyTypes.add(property.getTsType());
+            }
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void setupSymbolTable() {
+        symbolTable = new SymbolTable(settings);
+        for (Class<?> cls : classes) {
+            symbolTable.getSymbol(cls);
+        }
+    }
+
+    @Benchmark
+    public Model parseModel() {
+        // new generator so parser caches (like Jackson bean serializers) are empty
+        return new TypeScriptGenerator(settings).getModelParser().parseModel(classes.get(0));
+    }
+
+    @Benchmark
+    public TsModel javaToTypeScript() {
+        return new TypeScriptGenerator(settings).getModelCompiler().javaToTypeScript(model);
+    }
+
+    @Benchmark
+    public long emit() {
+        final CountingWriter writer = new CountingWriter();
+        new TypeScriptGenerator(settings).getEmitter().emit(tsModel, writer, null, true, false, 0);
+        return writer.count;
+    }
+
+    @Benchmark
+    public SymbolTable resolveSymbolNames() {
+        symbolTable.resolveSymbolNames();
+        return symbolTable;
+    }
+
+    @Benchmark
+    public void transformTsTypeUnchanged(Blackhole blackhole) {
+        final TsType.Context context = new TsType.Context();
+        for (TsType propertyType : propertyTypes) {
+            blackhole.consume(TsType.transformTsType(context, propertyType, (ctx, tsType) -> tsType));
+        }
+    }
+
+    @Benchmark
+    public void transformTsTypeReplaced(Blackhole blackhole) {
+        final TsType.Context context = new TsType.Context();
+        for (TsType propertyType : propertyTypes) {
+            blackhole.consume(TsType.transformTsType(context, propertyType,
+                    (ctx, tsType) -> tsType instanceof TsType.ReferenceType && !(tsType instanceof TsType.GenericReferenceType) ? TsType.Any : tsType));
+        }
+    }
+
+    /**
+     * Discards emitted output so only emitter is measured, not I/O.
+     */
+    private static class CountingWriter extends Writer {
+        private long count;
+
+        @Override
+        public void write(char[] cbuf, int off, int len) {
+            count += len;
+        }
+
+        @Override
+        public void write(String str, int off, int len) {
+            count += len;
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+}
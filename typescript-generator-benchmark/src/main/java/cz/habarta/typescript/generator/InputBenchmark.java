@@ -0,0 +1,86 @@
+package cz.habarta.typescript.generator;
+
+import cz.habarta.typescript.generator.util.Utils;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+
+/**
+ * Benchmark of class name filtering by globs (<code>classPatterns</code> and <code>excludeClassPatterns</code> settings)
+ * on classpath sized list of class names.
+ * Compares {@link Input#filterClassNames(List, List)} (which uses <code>ClassNameMatcher</code>)
+ * with testing each class name against all glob regexps one by one.
+ * 3 globs represent typical <code>classPatterns</code>, 300 globs represent large <code>excludeClassPatterns</code> list.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class InputBenchmark {
+
+    @Param({"100", "1000", "5000", "20000"})
+    public int classCount;
+
+    @Param({"3", "300"})
+    public int globCount;
+
+    private List<String> classNames;
+    private List<String> globs;
+
+    @Setup
+    public void setup() {
+        classNames = new ArrayList<>();
+        for (int i = 0; i < classCount; i++) {
+            classNames.add("com.example.module" + (i % 50) + ".sub" + (i % 7) + ".Class" + i + (i % 3 == 0 ? "Dto" : "Impl"));
+        }
+        if (globCount <= 3) {
+            globs = Arrays.asList("com.example.module1*.**Dto", "com.example.*.sub3.*", "org.example.**").subList(0, globCount);
+        } else {
+            // exclude-style globs: whole packages, name suffixes and individual classes
+            globs = new ArrayList<>();
+            for (int i = 0; globs.size() < globCount; i++) {
+                switch (i % 4) {
+                    case 0: globs.add("com.example.module" + (i % 50) + ".internal" + i + ".**"); break;
+                    case 1: globs.add("com.example.module" + (i % 50) + ".sub" + (i % 7) + ".*Test" + i); break;
+                    case 2: globs.add("**Generated" + i); break;
+                    default: globs.add("com.example.module" + (i % 50) + ".sub" + (i % 7) + ".Class" + i + "Impl"); break;
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public List<String> filterClassNames() {
+        return Input.filterClassNames(classNames, globs);
+    }
+
+    // baseline: each class name is tested against all regexps
+    @Benchmark
+    public List<String> filterClassNamesRegexLoop() {
+        final List<Pattern> regexps = Utils.globsToRegexps(globs);
+        final List<String> result = new ArrayList<>();
+        for (String className : classNames) {
+            if (Utils.classNameMatches(className, regexps)) {
+                result.add(className);
+            }
+        }
+        return result;
+    }
+
+}
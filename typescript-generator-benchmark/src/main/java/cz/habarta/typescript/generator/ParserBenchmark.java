@@ -0,0 +1,53 @@
+package cz.habarta.typescript.generator;
+
+import cz.habarta.typescript.generator.parser.Model;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+
+/**
+ * Benchmark of model parser on bean graphs created by {@link SyntheticClasses#beanGraph(String, int)}
+ * (cyclic references and many occurrences of the same parameterized types),
+ * parse time should grow linearly with number of classes.
+ *
+ * Run using <code>mvn package -Pbenchmark</code> and <code>java -jar typescript-generator-benchmark/target/benchmarks.jar ParserBenchmark</code>.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ParserBenchmark {
+
+    @Param({"2500", "5000", "10000"})
+    public int classCount;
+
+    private Settings settings;
+    private List<Class<?>> classes;
+
+    @Setup(Level.Trial)
+    public void setupClasses() {
+        TypeScriptGenerator.setLogger(new Logger(Logger.Level.Warning));
+        settings = TestUtils.settings();
+        classes = SyntheticClasses.beanGraph("cz.habarta.typescript.generator.benchmark.graph", classCount);
+    }
+
+    @Benchmark
+    public Model parseBeanGraph() {
+        return new TypeScriptGenerator(settings).getModelParser().parseModel(classes.get(0));
+    }
+
+}
@@ -0,0 +1,418 @@
+package cz.habarta.typescript.generator;
+
+import cz.habarta.typescript.generator.util.AtomicFileWriter;
+import io.github.classgraph.ClassGraph;
+import io.github.classgraph.ClassInfo;
+import io.github.classgraph.ScanResult;
+import java.io.*;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+
+/**
+ * Class, supertype and annotation metadata of classpath entries persisted in index directory.
+ * Each classpath entry (JAR file or directory) is stored in separate index file.
+ * JAR files are identified by size and modification time (and by checksum when these change),
+ * directories by paths, sizes and modification times of their files.
+ * Only entries which changed since they were indexed are scanned using ClassGraph, other entries are loaded from index.
+ * Queries have the same semantics as corresponding {@link ScanResult} methods.
+ */
+public class ClasspathScanIndex {
+
+    private static final String Header = "typescript-generator-scan-index 1";
+    private static final String JavaLangObject = "java.lang.Object";
+    private static final String JavaLangAnnotationInherited = "java.lang.annotation.Inherited";
+
+    private final Map<String, ClassEntry> classes;
+    private final int loadedEntries;
+    private final int scannedEntries;
+    private Map<String, List<ClassEntry>> directSubclasses;
+    private Map<String, List<ClassEntry>> directImplementations;
+    private Map<String, List<ClassEntry>> directlyAnnotated;
+
+    private ClasspathScanIndex(Map<String, ClassEntry> classes, int loadedEntries, int scannedEntries) {
+        this.classes = classes;
+        this.loadedEntries = loadedEntries;
+        this.scannedEntries = scannedEntries;
+    }
+
+    /**
+     * Loads index of specified classpath entries, entries which are not indexed yet or changed are scanned and stored in index directory.
+     * @param classpath classpath entries in classpath order (for example from {@link ClassGraph#getClasspathURLs()})
+     */
+    public static ClasspathScanIndex load(List<URL> classpath, File indexDirectory, boolean verbose) {
+        final Map<String, ClassEntry> classes = new LinkedHashMap<>();
+        int loadedEntries = 0;
+        int scannedEntries = 0;
+        final ExecutorService executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        try {
+            for (URL url : classpath) {
+                final Path path = toPath(url);
+                if (path == null) {
+                    continue;
+                }
+                final IndexedEntry entry = new IndexedEntry(path, indexDirectory);
+                List<ClassEntry> entryClasses = entry.read();
+                if (entryClasses != null) {
+                    loadedEntries++;
+                } else {
+                    entryClasses = scan(path, executor, verbose);
+                    entry.write(entryClasses);
+                    scannedEntries++;
+                }
+                // first occurrence on classpath wins
+                for (ClassEntry classEntry : entryClasses) {
+                    classes.putIfAbsent(classEntry.name, classEntry);
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+        return new ClasspathScanIndex(classes, loadedEntries, scannedEntries);
+    }
+
+    public int getLoadedEntries() {
+        return loadedEntries;
+    }
+
+    public int getScannedEntries() {
+        return scannedEntries;
+    }
+
+    public int getClassCount() {
+        return classes.size();
+    }
+
+    /**
+     * Returns names of all standard classes and interfaces (not annotations unless they are implemented by some class).
+     */
+    public List<String> getAllClassNames() {
+        final Map<String, List<ClassEntry>> implementations = getDirectImplementations();
+        return sortedNames(classes.values().stream()
+                .filter(classEntry -> classEntry.kind != ClassKind.annotation || implementations.containsKey(classEntry.name))
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * Returns names of all classes which directly or indirectly extend specified class.
+     */
+    public List<String> getSubclasses(String superclassName) {
+        if (JavaLangObject.equals(superclassName)) {
+            return sortedNames(classes.values().stream()
+                    .filter(classEntry -> classEntry.kind == ClassKind.standard)
+                    .collect(Collectors.toList()));
+        }
+        return sortedNames(getSubclassEntries(superclassName));
+    }
+
+    /**
+     * Returns names of all classes which implement specified interface (directly, using superclass or using subinterface)
+     * and names of subinterfaces.
+     */
+    public List<String> getClassesImplementing(String interfaceName) {
+        final ClassEntry interfaceEntry = classes.get(interfaceName);
+        if (interfaceEntry != null && interfaceEntry.kind == ClassKind.standard) {
+            throw new IllegalArgumentException("Class is not an interface: " + interfaceName);
+        }
+        final Set<ClassEntry> implementations = new LinkedHashSet<>();
+        for (ClassEntry implementation : getReachable(interfaceName, getDirectImplementations())) {
+            implementations.add(implementation);
+            implementations.addAll(getSubclassEntries(implementation.name));
+        }
+        return sortedNames(implementations);
+    }
+
+    /**
+     * Returns names of all classes annotated with specified annotation (directly, using meta-annotation
+     * or by inheriting it from superclass if annotation is <code>@Inherited</code>).
+     */
+    public List<String> getClassesWithAnnotation(String annotationName) {
+        final ClassEntry annotationEntry = classes.get(annotationName);
+        if (annotationEntry != null && annotationEntry.kind != ClassKind.annotation) {
+            throw new IllegalArgumentException("Class is not an annotation: " + annotationName);
+        }
+        final Set<ClassEntry> annotated = getReachable(annotationName, getDirectlyAnnotated());
+        if (annotationEntry != null && annotationEntry.annotations.contains(JavaLangAnnotationInherited)) {
+            for (ClassEntry classEntry : new ArrayList<>(annotated)) {
+                annotated.addAll(getSubclassEntries(classEntry.name));
+            }
+        }
+        return sortedNames(annotated);
+    }
+
+    private Set<ClassEntry> getSubclassEntries(String superclassName) {
+        return getReachable(superclassName, getDirectSubclasses());
+    }
+
+    private static Set<ClassEntry> getReachable(String name, Map<String, List<ClassEntry>> relation) {
+        final Set<ClassEntry> reachable = new LinkedHashSet<>();
+        final Deque<String> queue = new ArrayDeque<>();
+        queue.add(name);
+        while (!queue.isEmpty()) {
+            for (ClassEntry related : relation.getOrDefault(queue.remove(), Collections.emptyList())) {
+                if (reachable.add(related)) {
+                    queue.add(related.name);
+                }
+            }
+        }
+        return reachable;
+    }
+
+    private Map<String, List<ClassEntry>> getDirectSubclasses() {
+        if (directSubclasses == null) {
+            directSubclasses = invert(classEntry -> classEntry.superclass != null && !classEntry.superclass.equals(JavaLangObject)
+                    ? Collections.singletonList(classEntry.superclass)
+                    : Collections.emptyList());
+        }
+        return directSubclasses;
+    }
+
+    private Map<String, List<ClassEntry>> getDirectImplementations() {
+        if (directImplementations == null) {
+            directImplementations = invert(classEntry -> classEntry.interfaces);
+        }
+        return directImplementations;
+    }
+
+    private Map<String, List<ClassEntry>> getDirectlyAnnotated() {
+        if (directlyAnnotated == null) {
+            directlyAnnotated = invert(classEntry -> classEntry.annotations);
+        }
+        return directlyAnnotated;
+    }
+
+    private Map<String, List<ClassEntry>> invert(Function<ClassEntry, List<String>> relatedNames) {
+        final Map<String, List<ClassEntry>> inverted = new HashMap<>();
+        for (ClassEntry classEntry : classes.values()) {
+            for (String relatedName : relatedNames.apply(classEntry)) {
+                inverted.computeIfAbsent(relatedName, k -> new ArrayList<>()).add(classEntry);
+            }
+        }
+        return inverted;
+    }
+
+    private static List<String> sortedNames(Collection<ClassEntry> classEntries) {
+        return classEntries.stream()
+                .map(classEntry -> classEntry.name)
+                .sorted()
+                .collect(Collectors.toList());
+    }
+
+    private static List<ClassEntry> scan(Path path, ExecutorService executor, boolean verbose) {
+        ClassGraph classGraph = new ClassGraph()
+                .enableClassInfo()
+                .enableAnnotationInfo()
+                .ignoreClassVisibility()
+                .overrideClasspath(path.toString())
+                // do not follow Class-Path entries from JAR manifest, they are indexed separately
+                .filterClasspathElements(classpathElement -> path.equals(toAbsolutePath(classpathElement)));
+        if (verbose) {
+            classGraph = classGraph.verbose();
+        }
+        try (ScanResult scanResult = classGraph.scan(executor, Runtime.getRuntime().availableProcessors())) {
+            final List<ClassEntry> entries = new ArrayList<>();
+            for (ClassInfo classInfo : scanResult.getAllClasses()) {
+                final ClassInfo superclass = classInfo.getSuperclass();
+                entries.add(new ClassEntry(
+                        classInfo.getName(),
+                        classInfo.isAnnotation() ? ClassKind.annotation : classInfo.isInterface() ? ClassKind.interfaceClass : ClassKind.standard,
+                        superclass != null ? superclass.getName() : null,
+                        classInfo.getInterfaces().directOnly().getNames(),
+                        classInfo.getAnnotations().directOnly().getNames()
+                ));
+            }
+            return entries;
+        }
+    }
+
+    private static Path toPath(URL url) {
+        try {
+            final Path path = Paths.get(url.toURI()).toAbsolutePath().normalize();
+            return Files.exists(path) ? path : null;
+        } catch (URISyntaxException | IllegalArgumentException | FileSystemNotFoundException e) {
+            TypeScriptGenerator.getLogger().warning("Classpath entry cannot be indexed: " + url);
+            return null;
+        }
+    }
+
+    private static Path toAbsolutePath(String classpathElement) {
+        try {
+            final String path = classpathElement.startsWith("file:") ? Paths.get(new URL(classpathElement).toURI()).toString() : classpathElement;
+            return Paths.get(path).toAbsolutePath().normalize();
+        } catch (IOException | URISyntaxException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    private enum ClassKind {
+        standard, interfaceClass, annotation
+    }
+
+    private static class ClassEntry {
+        public final String name;
+        public final ClassKind kind;
+        public final String superclass;
+        public final List<String> interfaces;
+        public final List<String> annotations;
+
+        public ClassEntry(String name, ClassKind kind, String superclass, List<String> interfaces, List<String> annotations) {
+            this.name = name;
+            this.kind = kind;
+            this.superclass = superclass;
+            this.interfaces = interfaces;
+            this.annotations = annotations;
+        }
+    }
+
+    /**
+     * Index file of one classpath entry.
+     * Format: header line, entry path, key, checksum (JAR files only) and one tab-separated line per class.
+     */
+    private static class IndexedEntry {
+
+        private final Path path;
+        private final File indexFile;
+        private final boolean isDirectory;
+        private String key;
+        private String checksum;
+
+        public IndexedEntry(Path path, File indexDirectory) {
+            this.path = path;
+            this.indexFile = new File(indexDirectory, hash(Collections.singletonList(path.toString())).substring(0, 32) + ".idx");
+            this.isDirectory = Files.isDirectory(path);
+        }
+
+        /**
+         * Returns indexed classes or <code>null</code> if entry is not indexed or changed.
+         */
+        public List<ClassEntry> read() {
+            key = computeKey();
+            if (!indexFile.isFile()) {
+                return null;
+            }
+            try (BufferedReader reader = Files.newBufferedReader(indexFile.toPath(), StandardCharsets.UTF_8)) {
+                if (!Header.equals(reader.readLine()) || !path.toString().equals(reader.readLine())) {
+                    return null;
+                }
+                final String indexedKey = reader.readLine();
+                final String indexedChecksum = reader.readLine();
+                if (!key.equals(indexedKey)) {
+                    // JAR file was touched or copied, compare content
+                    if (isDirectory || !computeChecksum().equals(indexedChecksum)) {
+                        return null;
+                    }
+                }
+                final List<ClassEntry> entries = new ArrayList<>();
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    final String[] parts = line.split("\t", -1);
+                    entries.add(new ClassEntry(parts[0], ClassKind.valueOf(parts[1]), parts[2].isEmpty() ? null : parts[2], split(parts[3]), split(parts[4])));
+                }
+                if (!key.equals(indexedKey)) {
+                    write(entries);
+                }
+                return entries;
+            } catch (IOException | RuntimeException e) {
+                TypeScriptGenerator.getLogger().warning("Cannot read classpath index file '" + indexFile + "': " + e.getMessage());
+                return null;
+            }
+        }
+
+        public void write(List<ClassEntry> entries) {
+            if (!isDirectory && checksum == null) {
+                computeChecksum();
+            }
+            try (Writer writer = new AtomicFileWriter(indexFile)) {
+                writer.write(Header + "\n");
+                writer.write(path + "\n");
+                writer.write(key + "\n");
+                writer.write((checksum != null ? checksum : "") + "\n");
+                for (ClassEntry entry : entries) {
+                    writer.write(entry.name + "\t" + entry.kind + "\t" + (entry.superclass != null ? entry.superclass : "")
+                            + "\t" + String.join(",", entry.interfaces) + "\t" + String.join(",", entry.annotations) + "\n");
+                }
+            } catch (IOException | RuntimeException e) {
+                TypeScriptGenerator.getLogger().warning("Cannot write classpath index file '" + indexFile + "': " + e.getMessage());
+            }
+        }
+
+        private String computeKey() {
+            try {
+                if (isDirectory) {
+                    try (Stream<Path> stream = Files.walk(path)) {
+                        final List<String> files = stream
+                                .filter(Files::isRegularFile)
+                                .sorted()
+                                .map(file -> {
+                                    final File f = file.toFile();
+                                    return path.relativize(file) + ":" + f.length() + ":" + f.lastModified();
+                                })
+                                .collect(Collectors.toList());
+                        return hash(files);
+                    }
+                } else {
+                    final File file = path.toFile();
+                    return file.length() + ":" + file.lastModified();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private String computeChecksum() {
+            final MessageDigest digest = createDigest();
+            try (InputStream inputStream = Files.newInputStream(path)) {
+                final byte[] buffer = new byte[65536];
+                int read;
+                while ((read = inputStream.read(buffer)) != -1) {
+                    digest.update(buffer, 0, read);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            checksum = toHex(digest.digest());
+            return checksum;
+        }
+
+        private static List<String> split(String names) {
+            return names.isEmpty() ? Collections.emptyList() : Arrays.asList(names.split(","));
+        }
+
+    }
+
+    private static String hash(List<String> lines) {
+        final MessageDigest digest = createDigest();
+        for (String line : lines) {
+            digest.update(line.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) '\n');
+        }
+        return toHex(digest.digest());
+    }
+
+    private static MessageDigest createDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static String toHex(byte[] bytes) {
+        final StringBuilder sb = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            sb.append(String.format("%02x", b));
+        }
+        return sb.toString();
+    }
+
+}
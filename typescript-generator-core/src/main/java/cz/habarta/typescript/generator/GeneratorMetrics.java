@@ -0,0 +1,195 @@
+package cz.habarta.typescript.generator;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import cz.habarta.typescript.generator.util.FlightRecorderEvents;
+import cz.habarta.typescript.generator.util.Utils;
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+
+/**
+ * Collects wall time and allocated memory of generator phases and counters like number of parsed classes or written bytes.
+ * Phase names containing dot (like <code>compile.createTaggedUnions</code>) are nested in phase with name before the dot.
+ * Allocated memory is measured for thread which runs the phase so it doesn't include memory allocated by worker threads
+ * (for example when <code>parsingThreads</code> is used).
+ * Metrics are only collected when instance is passed in {@link Settings#metrics} and {@link Input.Parameters#metrics}.
+ * Phases are also reported as Java Flight Recorder events (see {@link FlightRecorderEvents}) when JFR recording is running.
+ */
+public class GeneratorMetrics {
+
+    private static final com.sun.management.ThreadMXBean threadMXBean = getThreadMXBean();
+
+    public static final GeneratorMetrics None = new GeneratorMetrics(false);
+    private static final Phase NoPhase = None.new Phase(null, null);
+
+    private final boolean enabled;
+    private final long startNanos = System.nanoTime();
+    private final Map<String, PhaseReport> phases = new LinkedHashMap<>();
+    private final Map<String, Long> counters = new LinkedHashMap<>();
+
+    public GeneratorMetrics() {
+        this(true);
+    }
+
+    private GeneratorMetrics(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Starts measuring phase, phase ends when returned object is closed.
+     * Phases with the same name are summed.
+     */
+    public Phase phase(String name) {
+        final Object event = FlightRecorderEvents.beginPhase(name);
+        return enabled || event != null ? new Phase(name, event) : NoPhase;
+    }
+
+    public void measure(String name, Runnable action) {
+        final Phase phase = phase(name);
+        try {
+            action.run();
+        } finally {
+            phase.close();
+        }
+    }
+
+    public <T> T measure(String name, Supplier<T> action) {
+        final Phase phase = phase(name);
+        try {
+            return action.get();
+        } finally {
+            phase.close();
+        }
+    }
+
+    public <T> T measure(String name, T input, Function<T, T> transformation) {
+        final Phase phase = phase(name);
+        try {
+            return transformation.apply(input);
+        } finally {
+            phase.close();
+        }
+    }
+
+    public synchronized void count(String name, long delta) {
+        if (enabled) {
+            counters.merge(name, delta, Long::sum);
+        }
+    }
+
+    public void countFileSize(String name, String fileName) {
+        if (enabled && fileName != null) {
+            count(name, new File(fileName).length());
+        }
+    }
+
+    private synchronized void record(String name, long nanos, long allocatedBytes) {
+        final PhaseReport phase = phases.computeIfAbsent(name, PhaseReport::new);
+        phase.count++;
+        phase.wallMillis += nanos / 1_000_000.0;
+        if (allocatedBytes >= 0) {
+            phase.allocatedBytes = (phase.allocatedBytes != null ? phase.allocatedBytes : 0) + allocatedBytes;
+        }
+    }
+
+    public synchronized Report getReport() {
+        final Report report = new Report();
+        report.generatorVersion = TypeScriptGenerator.Version;
+        report.elapsedMillis = (System.nanoTime() - startNanos) / 1_000_000.0;
+        report.phases = new ArrayList<>(phases.values());
+        report.counters = new LinkedHashMap<>(counters);
+        return report;
+    }
+
+    public void writeReport(File file) {
+        try {
+            final File parent = file.getAbsoluteFile().getParentFile();
+            if (parent != null) {
+                parent.mkdirs();
+            }
+            final ObjectMapper objectMapper = Utils.getObjectMapper();
+            objectMapper.writeValue(file, getReport());
+            TypeScriptGenerator.getLogger().info("Writing metrics report to: " + file);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    public class Phase implements AutoCloseable {
+        private final String name;
+        private final long start;
+        private final long allocatedStart;
+        private final Object event;
+
+        private Phase(String name, Object event) {
+            this.name = name;
+            this.event = event;
+            this.allocatedStart = enabled ? getAllocatedBytes() : -1;
+            this.start = System.nanoTime();
+        }
+
+        @Override
+        public void close() {
+            FlightRecorderEvents.end(event);
+            if (!enabled) {
+                return;
+            }
+            final long nanos = System.nanoTime() - start;
+            final long allocatedEnd = getAllocatedBytes();
+            record(name, nanos, allocatedStart >= 0 && allocatedEnd >= 0 ? allocatedEnd - allocatedStart : -1);
+        }
+    }
+
+    private static com.sun.management.ThreadMXBean getThreadMXBean() {
+        try {
+            final java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+            if (bean instanceof com.sun.management.ThreadMXBean) {
+                final com.sun.management.ThreadMXBean sunBean = (com.sun.management.ThreadMXBean) bean;
+                if (sunBean.isThreadAllocatedMemorySupported() && sunBean.isThreadAllocatedMemoryEnabled()) {
+                    return sunBean;
+                }
+            }
+            return null;
+        } catch (LinkageError e) {
+            // not HotSpot compatible JVM
+            return null;
+        }
+    }
+
+    private static long getAllocatedBytes() {
+        return threadMXBean != null ? threadMXBean.getThreadAllocatedBytes(Thread.currentThread().getId()) : -1;
+    }
+
+    public static class Report {
+        public String generatorVersion;
+        public double elapsedMillis;
+        public List<PhaseReport> phases;
+        public Map<String, Long> counters;
+    }
+
+    public static class PhaseReport {
+        public String name;
+        public int count;
+        public double wallMillis;
+        public Long allocatedBytes;
+
+        public PhaseReport() {
+        }
+
+        private PhaseReport(String name) {
+            this.name = name;
+        }
+    }
+
+}
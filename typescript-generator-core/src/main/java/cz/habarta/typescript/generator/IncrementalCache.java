@@ -0,0 +1,274 @@
+package cz.habarta.typescript.generator;
+
+import java.io.*;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+
+/**
+ * On-disk cache which allows build plugins to skip generation when nothing changed since the last run.
+ * Fingerprint of the run consists of generator version, plugin configuration and hash of the classpath.
+ * Class files in classpath directories are hashed by content, archives by path, size and modification time.
+ * Files referenced from configuration (like <code>javadocXmlFiles</code>) are hashed by content.
+ * Configuration objects (like <code>jackson2Configuration</code> or <code>moduleDependencies</code>) are fingerprinted field by field.
+ * When configuration contains value which cannot be fingerprinted the cache is not used.
+ * Cache also stores hashes of all generated files (see {@link TypeScriptGenerator#getOutputFiles()})
+ * so generation is not skipped when any of them was modified or deleted.
+ */
+public class IncrementalCache {
+
+    private final File cacheFile;
+
+    public IncrementalCache(File cacheFile) {
+        this.cacheFile = cacheFile;
+    }
+
+    /**
+     * Creates cache file in specified directory, name of the cache file is derived from path of the output file.
+     */
+    public static IncrementalCache forOutput(File cacheDirectory, File outputFile) {
+        final String outputPath = outputFile.getAbsolutePath();
+        return new IncrementalCache(new File(cacheDirectory, outputFile.getName() + "-" + hash(outputPath).substring(0, 16) + ".fingerprint"));
+    }
+
+    /**
+     * Returns <code>true</code> if the cache contains the same fingerprint and none of output files was modified or deleted since it was generated.
+     */
+    public boolean isUpToDate(String fingerprint) {
+        if (fingerprint == null || !cacheFile.isFile()) {
+            return false;
+        }
+        try {
+            final List<String> lines = Files.readAllLines(cacheFile.toPath(), StandardCharsets.UTF_8);
+            if (lines.size() < 2 || !lines.get(0).equals(fingerprint)) {
+                return false;
+            }
+            for (String line : lines.subList(1, lines.size())) {
+                // line format: <hash> <path>
+                final int separator = line.indexOf(' ');
+                if (separator < 0) {
+                    return false;
+                }
+                final Path file = Paths.get(line.substring(separator + 1));
+                if (!Files.isRegularFile(file) || !line.substring(0, separator).equals(hashFile(file))) {
+                    return false;
+                }
+            }
+            return true;
+        } catch (IOException | RuntimeException e) {
+            TypeScriptGenerator.getLogger().warning("Cannot read cache file '" + cacheFile + "': " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * @param fingerprint fingerprint of the run, when <code>null</code> the cache is invalidated
+     * @param outputFiles all files written by the generator
+     */
+    public void store(String fingerprint, List<File> outputFiles) {
+        if (fingerprint == null) {
+            invalidate();
+            return;
+        }
+        try {
+            cacheFile.getParentFile().mkdirs();
+            final List<String> lines = new ArrayList<>();
+            lines.add(fingerprint);
+            for (File outputFile : outputFiles) {
+                lines.add(hashFile(outputFile.toPath()) + " " + outputFile.getAbsolutePath());
+            }
+            Files.write(cacheFile.toPath(), lines, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            TypeScriptGenerator.getLogger().warning("Cannot write cache file '" + cacheFile + "': " + e.getMessage());
+        }
+    }
+
+    public void invalidate() {
+        cacheFile.delete();
+    }
+
+    /**
+     * Computes fingerprint of generator run.
+     * @param configuration object holding plugin configuration (Maven mojo, Gradle task)
+     * @param configurationClass class which declares configuration fields
+     * @param classpath classpath used to load input classes
+     */
+    public static String computeFingerprint(Object configuration, Class<?> configurationClass, List<URL> classpath) {
+        return computeFingerprint(configuration, configurationClass, classpath, Collections.<File>emptyList());
+    }
+
+    /**
+     * Computes fingerprint of generator run.
+     * @param configuration object holding plugin configuration (Maven mojo, Gradle task)
+     * @param configurationClass class which declares configuration fields
+     * @param classpath classpath used to load input classes
+     * @param outputFiles files from configuration which are written by the run (like output file or metrics report),
+     *                    they are fingerprinted by path only
+     * @return fingerprint or <code>null</code> if configuration contains value which cannot be fingerprinted
+     */
+    public static String computeFingerprint(Object configuration, Class<?> configurationClass, List<URL> classpath, List<File> outputFiles) {
+        final Set<File> excludedFiles = outputFiles.stream()
+                .filter(Objects::nonNull)
+                .map(File::getAbsoluteFile)
+                .collect(Collectors.toSet());
+        final MessageDigest digest = createDigest();
+        update(digest, "version=" + TypeScriptGenerator.Version);
+        for (Field field : configurationClass.getDeclaredFields()) {
+            if (Modifier.isStatic(field.getModifiers()) || Modifier.isTransient(field.getModifiers())) {
+                continue;
+            }
+            final Object value = getFieldValue(field, configuration);
+            try {
+                update(digest, field.getName() + "=" + toFingerprintString(value, excludedFiles));
+            } catch (UnsupportedValueException e) {
+                TypeScriptGenerator.getLogger().verbose(String.format("Incremental cache is not used because parameter '%s' contains value which cannot be fingerprinted: %s",
+                        field.getName(), e.getMessage()));
+                return null;
+            }
+        }
+        for (URL url : classpath) {
+            updateWithClasspathEntry(digest, url);
+        }
+        return toHex(digest.digest());
+    }
+
+    private static Object getFieldValue(Field field, Object object) {
+        try {
+            field.setAccessible(true);
+            return field.get(object);
+        } catch (ReflectiveOperationException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static String toFingerprintString(Object value, Set<File> excludedFiles) {
+        if (value == null || value instanceof String || value instanceof Number || value instanceof Boolean
+                || value instanceof Character || value instanceof Enum) {
+            return String.valueOf(value);
+        }
+        if (value instanceof Class) {
+            return ((Class<?>) value).getName();
+        }
+        if (value instanceof File) {
+            final File file = (File) value;
+            return file.isFile() && !excludedFiles.contains(file.getAbsoluteFile())
+                    ? file + ":" + hashFile(file.toPath())
+                    : file.toString();
+        }
+        if (value instanceof Collection) {
+            return ((Collection<?>) value).stream()
+                    .map(item -> toFingerprintString(item, excludedFiles))
+                    .collect(Collectors.joining(", ", "[", "]"));
+        }
+        if (value instanceof Map) {
+            return ((Map<?, ?>) value).entrySet().stream()
+                    .map(entry -> toFingerprintString(entry.getKey(), excludedFiles) + "=" + toFingerprintString(entry.getValue(), excludedFiles))
+                    .collect(Collectors.joining(", ", "{", "}"));
+        }
+        if (value instanceof Object[]) {
+            return toFingerprintString(Arrays.asList((Object[]) value), excludedFiles);
+        }
+        if (value.getClass().getName().startsWith(IncrementalCache.class.getPackage().getName() + ".")) {
+            // configuration classes of this library (like Jackson2Configuration, ModuleDependency or Settings.ConfiguredExtension)
+            final List<String> fields = new ArrayList<>();
+            for (Class<?> cls = value.getClass(); cls != Object.class; cls = cls.getSuperclass()) {
+                for (Field field : cls.getDeclaredFields()) {
+                    if (!Modifier.isStatic(field.getModifiers()) && !field.isSynthetic()) {
+                        fields.add(field.getName() + "=" + toFingerprintString(getFieldValue(field, value), excludedFiles));
+                    }
+                }
+            }
+            return value.getClass().getName() + fields.stream().collect(Collectors.joining(", ", "{", "}"));
+        }
+        throw new UnsupportedValueException(value.getClass().getName());
+    }
+
+    private static class UnsupportedValueException extends RuntimeException {
+        private static final long serialVersionUID = 1;
+
+        public UnsupportedValueException(String message) {
+            super(message);
+        }
+    }
+
+    private static void updateWithClasspathEntry(MessageDigest digest, URL url) {
+        final Path path;
+        try {
+            path = Paths.get(url.toURI());
+        } catch (URISyntaxException | IllegalArgumentException | FileSystemNotFoundException e) {
+            update(digest, "url=" + url);
+            return;
+        }
+        if (Files.isDirectory(path)) {
+            update(digest, "directory=" + path);
+            final List<Path> files;
+            try (Stream<Path> stream = Files.walk(path)) {
+                files = stream
+                        .filter(Files::isRegularFile)
+                        .sorted()
+                        .collect(Collectors.toList());
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+            for (Path file : files) {
+                update(digest, path.relativize(file).toString().replace('\\', '/') + "=" + hashFile(file));
+            }
+        } else if (Files.isRegularFile(path)) {
+            final File file = path.toFile();
+            update(digest, "file=" + path + ":" + file.length() + ":" + file.lastModified());
+        } else {
+            update(digest, "missing=" + path);
+        }
+    }
+
+    private static String hashFile(Path file) {
+        final MessageDigest digest = createDigest();
+        try (InputStream inputStream = Files.newInputStream(file)) {
+            final byte[] buffer = new byte[8192];
+            int read;
+            while ((read = inputStream.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        return toHex(digest.digest());
+    }
+
+    private static String hash(String text) {
+        final MessageDigest digest = createDigest();
+        update(digest, text);
+        return toHex(digest.digest());
+    }
+
+    private static MessageDigest createDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static void update(MessageDigest digest, String text) {
+        digest.update(text.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) '\n');
+    }
+
+    private static String toHex(byte[] bytes) {
+        final StringBuilder sb = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            sb.append(String.format("%02x", b));
+        }
+        return sb.toString();
+    }
+
+}
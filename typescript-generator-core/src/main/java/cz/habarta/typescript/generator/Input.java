@@ -2,9 +2,10 @@
 package cz.habarta.typescript.generator;
 
 import cz.habarta.typescript.generator.parser.SourceType;
-import cz.habarta.typescript.generator.util.Utils;
+import cz.habarta.typescript.generator.util.ClassNameMatcher;
 import io.github.classgraph.ClassGraph;
 import io.github.classgraph.ScanResult;
+import java.io.File;
 import java.lang.reflect.Type;
 import java.net.URLClassLoader;
 import java.util.ArrayList;
@@ -13,13 +14,21 @@ import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.function.Predicate;
-import java.util.regex.Pattern;
 import java.util.stream.Collectors;
+import javax.ws.rs.Path;
 
 
 public class Input {
 
+    private static final int LoadingBatchSize = 64;
+
     private final List<SourceType<Type>> sourceTypes;
 
     private Input(List<SourceType<Type>> sourceTypes) {
@@ -52,60 +61,119 @@ public class Input {
         String jaxrsApplicationClassName,
         boolean automaticJaxrsApplication, Predicate<String> isClassNameExcluded,
         URLClassLoader classLoader, boolean debug) {
+        final Parameters parameters = new Parameters();
+        parameters.classNames = classNames;
+        parameters.classNamePatterns = classNamePatterns;
+        parameters.classesWithAnnotations = classesWithAnnotations;
+        parameters.classesImplementingInterfaces = classesImplementingInterfaces;
+        parameters.classesExtendingClasses = classesExtendingClasses;
+        parameters.jaxrsApplicationClassName = jaxrsApplicationClassName;
+        parameters.automaticJaxrsApplication = automaticJaxrsApplication;
+        parameters.isClassNameExcluded = isClassNameExcluded;
+        parameters.classLoader = classLoader;
+        parameters.debug = debug;
+        return from(parameters);
+    }
+
+    public static class Parameters {
+        public List<String> classNames;
+        public List<String> classNamePatterns;
+        public List<String> classesWithAnnotations;
+        public List<String> classesImplementingInterfaces;
+        public List<String> classesExtendingClasses;
+        public String jaxrsApplicationClassName;
+        public boolean automaticJaxrsApplication;
+        public Predicate<String> isClassNameExcluded;
+        /**
+         * Glob patterns of excluded classes, packages excluded completely are not scanned.
+         */
+        public List<String> excludedClassPatterns;
+        public URLClassLoader classLoader;
+        /**
+         * Directory where metadata of scanned classpath entries are stored, <code>null</code> means classpath is always fully scanned.
+         */
+        public File scanIndexDirectory;
+        /**
+         * Number of threads used for loading found classes, <code>0</code> means number of available processors.
+         */
+        public int loadingThreads = 1;
+        public boolean debug;
+        /**
+         * Collects duration of classpath scanning and class loading, <code>null</code> means metrics are not collected.
+         */
+        public GeneratorMetrics metrics;
+    }
+
+    public static Input from(Parameters parameters) {
         final ClassLoader originalContextClassLoader = Thread.currentThread().getContextClassLoader();
         try {
-            if (classLoader != null) {
-                Thread.currentThread().setContextClassLoader(classLoader);
+            if (parameters.classLoader != null) {
+                Thread.currentThread().setContextClassLoader(parameters.classLoader);
             }
-            try (final ClasspathScanner classpathScanner = new ClasspathScanner(classLoader, debug)) {
+            final boolean onlyClassNamePatterns = parameters.classNamePatterns != null
+                    && parameters.classesWithAnnotations == null
+                    && parameters.classesImplementingInterfaces == null
+                    && parameters.classesExtendingClasses == null
+                    && !parameters.automaticJaxrsApplication;
+            // annotated classes and subtypes can be in any package so whole classpath needs to be scanned for them
+            final ScanScope scanScope = onlyClassNamePatterns
+                    ? ScanScope.fromGlobs(parameters.classNamePatterns, parameters.excludedClassPatterns)
+                    : null;
+            final int loadingThreads = parameters.loadingThreads > 0 ? parameters.loadingThreads : Runtime.getRuntime().availableProcessors();
+            final GeneratorMetrics metrics = parameters.metrics != null ? parameters.metrics : GeneratorMetrics.None;
+            try (final ClasspathScanner classpathScanner = new ClasspathScanner(parameters.classLoader, scanScope, parameters.scanIndexDirectory, parameters.debug, metrics)) {
                 final List<SourceType<Type>> types = new ArrayList<>();
-                if (classNames != null) {
-                    types.addAll(fromClassNames(classNames));
+                if (parameters.classNames != null) {
+                    types.addAll(fromClassNames(parameters.classNames, loadingThreads, metrics));
                 }
-                if (classNamePatterns != null) {
-                    types.addAll(fromClassNamePatterns(classpathScanner.getScanResult(), classNamePatterns));
+                if (parameters.classNamePatterns != null) {
+                    types.addAll(fromClassNamePatterns(classpathScanner.getAllClassNames(), parameters.classNamePatterns, loadingThreads, metrics));
                 }
-                if (classesImplementingInterfaces != null) {
-                    final ScanResult scanResult = classpathScanner.getScanResult();
+                if (parameters.classesImplementingInterfaces != null) {
                     final List<SourceType<Type>> c = fromClassNames(
-                        classesImplementingInterfaces.stream()
-                            .flatMap(interf -> scanResult.getClassesImplementing(interf).getNames()
-                                .stream())
+                        parameters.classesImplementingInterfaces.stream()
+                            .flatMap(interf -> classpathScanner.getClassesImplementing(interf).stream())
                             .distinct()
-                            .collect(Collectors.toList())
+                            .collect(Collectors.toList()),
+                        loadingThreads,
+                        metrics
                     );
                     types.addAll(c);
                 }
-                if (classesExtendingClasses != null) {
-                    final ScanResult scanResult = classpathScanner.getScanResult();
+                if (parameters.classesExtendingClasses != null) {
                     final List<SourceType<Type>> c = fromClassNames(
-                        classesExtendingClasses.stream()
-                            .flatMap(superclass -> scanResult.getSubclasses(superclass).getNames()
-                                .stream())
+                        parameters.classesExtendingClasses.stream()
+                            .flatMap(superclass -> classpathScanner.getSubclasses(superclass).stream())
                             .distinct()
-                            .collect(Collectors.toList())
+                            .collect(Collectors.toList()),
+                        loadingThreads,
+                        metrics
                     );
                     types.addAll(c);
                 }
-                if (classesWithAnnotations != null) {
-                    final ScanResult scanResult = classpathScanner.getScanResult();
-                    types.addAll(fromClassNames(classesWithAnnotations.stream()
-                            .flatMap(annotation -> scanResult.getClassesWithAnnotation(annotation).getNames().stream())
+                if (parameters.classesWithAnnotations != null) {
+                    types.addAll(fromClassNames(parameters.classesWithAnnotations.stream()
+                            .flatMap(annotation -> classpathScanner.getClassesWithAnnotation(annotation).stream())
                             .distinct()
-                            .collect(Collectors.toList())
+                            .collect(Collectors.toList()),
+                            loadingThreads,
+                            metrics
                     ));
                 }
-                if (jaxrsApplicationClassName != null) {
-                    types.addAll(fromClassNames(Arrays.asList(jaxrsApplicationClassName)));
+                if (parameters.jaxrsApplicationClassName != null) {
+                    types.addAll(fromClassNames(Arrays.asList(parameters.jaxrsApplicationClassName), 1, metrics));
                 }
-                if (automaticJaxrsApplication) {
-                    types.addAll(JaxrsApplicationScanner.scanAutomaticJaxrsApplication(classpathScanner.getScanResult(), isClassNameExcluded));
+                if (parameters.automaticJaxrsApplication) {
+                    final List<String> pathClassNames = classpathScanner.getClassesWithAnnotation(Path.class.getName());
+                    types.addAll(metrics.measure("classLoading", () -> JaxrsApplicationScanner.scanAutomaticJaxrsApplication(
+                            pathClassNames, parameters.isClassNameExcluded, loadingThreads)));
                 }
                 if (types.isEmpty()) {
                     final String errorMessage = "No input classes found.";
                     TypeScriptGenerator.getLogger().error(errorMessage);
                     throw new RuntimeException(errorMessage);
                 }
+                metrics.count("inputClasses", types.size());
                 return new Input(types);
             }
         } finally {
@@ -116,36 +184,106 @@ public class Input {
     private static class ClasspathScanner implements AutoCloseable {
 
         private final URLClassLoader classLoader;
+        private final ScanScope scanScope;
+        private final File scanIndexDirectory;
         private final boolean verbose;
+        private final GeneratorMetrics metrics;
         private ScanResult scanResult = null;
+        private ClasspathScanIndex scanIndex = null;
 
-        public ClasspathScanner(URLClassLoader classLoader, boolean verbose) {
+        public ClasspathScanner(URLClassLoader classLoader, ScanScope scanScope, File scanIndexDirectory, boolean verbose, GeneratorMetrics metrics) {
             this.classLoader = classLoader;
+            this.scanScope = scanScope;
+            this.scanIndexDirectory = scanIndexDirectory;
             this.verbose = verbose;
+            this.metrics = metrics;
+        }
+
+        public List<String> getAllClassNames() {
+            if (scanIndexDirectory != null) {
+                return getScanIndex().getAllClassNames();
+            }
+            final List<String> allClassNames = new ArrayList<>();
+            allClassNames.addAll(getScanResult().getAllStandardClasses().getNames());
+            allClassNames.addAll(getScanResult().getAllInterfaces().getNames());
+            return allClassNames;
         }
 
-        public ScanResult getScanResult() {
+        public List<String> getClassesImplementing(String interfaceName) {
+            return scanIndexDirectory != null
+                    ? getScanIndex().getClassesImplementing(interfaceName)
+                    : getScanResult().getClassesImplementing(interfaceName).getNames();
+        }
+
+        public List<String> getSubclasses(String superclassName) {
+            return scanIndexDirectory != null
+                    ? getScanIndex().getSubclasses(superclassName)
+                    : getScanResult().getSubclasses(superclassName).getNames();
+        }
+
+        public List<String> getClassesWithAnnotation(String annotationName) {
+            return scanIndexDirectory != null
+                    ? getScanIndex().getClassesWithAnnotation(annotationName)
+                    : getScanResult().getClassesWithAnnotation(annotationName).getNames();
+        }
+
+        private ScanResult getScanResult() {
             if (scanResult == null) {
-                TypeScriptGenerator.getLogger().info("Scanning classpath");
+                scanResult = metrics.measure("scan", this::scan);
+            }
+            return scanResult;
+        }
+
+        private ScanResult scan() {
+            TypeScriptGenerator.getLogger().info("Scanning classpath");
+            final Date scanStart = new Date();
+            ClassGraph classGraph = createClassGraph();
+            if (scanScope != null) {
+                TypeScriptGenerator.getLogger().info("Scanning only packages: " + scanScope.getPackagesDescription());
+                if (!scanScope.rejectedPackages.isEmpty()) {
+                    TypeScriptGenerator.getLogger().info("Skipping excluded packages: " + String.join(", ", scanScope.rejectedPackages));
+                }
+                classGraph = classGraph
+                        .whitelistPackages(scanScope.recursivePackages.toArray(new String[0]))
+                        .whitelistPackagesNonRecursive(scanScope.nonRecursivePackages.toArray(new String[0]))
+                        .blacklistPackages(scanScope.rejectedPackages.toArray(new String[0]));
+            }
+            final ScanResult result = classGraph.scan();
+            final int count = result.getAllClasses().size();
+            final Date scanEnd = new Date();
+            final double timeInSeconds = (scanEnd.getTime() - scanStart.getTime()) / 1000.0;
+            TypeScriptGenerator.getLogger().info(String.format("Scanning finished in %.2f seconds. Total number of classes: %d.", timeInSeconds, count));
+            metrics.count("scannedClasses", count);
+            return result;
+        }
+
+        private ClasspathScanIndex getScanIndex() {
+            if (scanIndex == null) {
+                TypeScriptGenerator.getLogger().info("Scanning classpath using index in: " + scanIndexDirectory);
                 final Date scanStart = new Date();
-                ClassGraph classGraph = new ClassGraph()
-                        .enableClassInfo()
-                        .enableAnnotationInfo()
-                        .ignoreClassVisibility();
-                if (classLoader != null) {
-                    classGraph = classGraph.overrideClasspath((Object[])classLoader.getURLs());
-                }
-                if (verbose) {
-                    classGraph = classGraph.verbose();
-                }
-                final ScanResult result = classGraph.scan();
-                final int count = result.getAllClasses().size();
+                final ClasspathScanIndex index = metrics.measure("scan", () -> ClasspathScanIndex.load(createClassGraph().getClasspathURLs(), scanIndexDirectory, verbose));
                 final Date scanEnd = new Date();
                 final double timeInSeconds = (scanEnd.getTime() - scanStart.getTime()) / 1000.0;
-                TypeScriptGenerator.getLogger().info(String.format("Scanning finished in %.2f seconds. Total number of classes: %d.", timeInSeconds, count));
-                scanResult = result;
+                TypeScriptGenerator.getLogger().info(String.format("Scanning finished in %.2f seconds. Total number of classes: %d. Classpath entries loaded from index: %d, scanned: %d.",
+                        timeInSeconds, index.getClassCount(), index.getLoadedEntries(), index.getScannedEntries()));
+                metrics.count("scannedClasses", index.getClassCount());
+                scanIndex = index;
             }
-            return scanResult;
+            return scanIndex;
+        }
+
+        private ClassGraph createClassGraph() {
+            ClassGraph classGraph = new ClassGraph()
+                    .enableClassInfo()
+                    .enableAnnotationInfo()
+                    .ignoreClassVisibility();
+            if (classLoader != null) {
+                classGraph = classGraph.overrideClasspath((Object[])classLoader.getURLs());
+            }
+            if (verbose) {
+                classGraph = classGraph.verbose();
+            }
+            return classGraph;
         }
 
         @Override
@@ -157,19 +295,93 @@ public class Input {
 
     }
 
-    private static List<SourceType<Type>> fromClassNamePatterns(ScanResult scanResult, List<String> classNamePatterns) {
-        final List<String> allClassNames = new ArrayList<>();
-        allClassNames.addAll(scanResult.getAllStandardClasses().getNames());
-        allClassNames.addAll(scanResult.getAllInterfaces().getNames());
+    /**
+     * Packages which need to be scanned to find all classes matching class name globs.
+     */
+    static class ScanScope {
+
+        final List<String> recursivePackages;
+        final List<String> nonRecursivePackages;
+        final List<String> rejectedPackages;
+
+        private ScanScope(List<String> recursivePackages, List<String> nonRecursivePackages, List<String> rejectedPackages) {
+            this.recursivePackages = recursivePackages;
+            this.nonRecursivePackages = nonRecursivePackages;
+            this.rejectedPackages = rejectedPackages;
+        }
+
+        /**
+         * Returns <code>null</code> if some glob can match class in any package so whole classpath needs to be scanned.
+         */
+        static ScanScope fromGlobs(List<String> classNameGlobs, List<String> excludedClassGlobs) {
+            final Set<String> recursivePackages = new TreeSet<>();
+            final Set<String> nonRecursivePackages = new TreeSet<>();
+            for (String glob : classNameGlobs) {
+                final int wildcardIndex = glob.indexOf('*');
+                final String literalPrefix = wildcardIndex != -1 ? glob.substring(0, wildcardIndex) : glob;
+                final int packageEnd = literalPrefix.lastIndexOf('.');
+                if (packageEnd <= 0) {
+                    TypeScriptGenerator.getLogger().verbose("Pattern '" + glob + "' can match classes in any package, whole classpath will be scanned");
+                    return null;
+                }
+                final String packageName = literalPrefix.substring(0, packageEnd);
+                final String rest = glob.substring(packageEnd + 1);
+                // "**" and wildcard followed by package separator can match classes in subpackages
+                if (rest.contains("**") || (wildcardIndex != -1 && rest.indexOf('.') != -1)) {
+                    recursivePackages.add(packageName);
+                } else {
+                    nonRecursivePackages.add(packageName);
+                }
+            }
+            // only globs matching whole package (including nested classes and subpackages) can be skipped
+            final Set<String> rejectedPackages = new TreeSet<>();
+            if (excludedClassGlobs != null) {
+                for (String glob : excludedClassGlobs) {
+                    if (glob.endsWith(".**")) {
+                        final String packageName = glob.substring(0, glob.length() - ".**".length());
+                        if (!packageName.isEmpty() && !packageName.contains("*")) {
+                            rejectedPackages.add(packageName);
+                        }
+                    }
+                }
+            }
+            nonRecursivePackages.removeIf(packageName -> isInPackages(packageName, recursivePackages));
+            rejectedPackages.removeIf(packageName -> !isInPackages(packageName, recursivePackages));
+            return new ScanScope(new ArrayList<>(recursivePackages), new ArrayList<>(nonRecursivePackages), new ArrayList<>(rejectedPackages));
+        }
+
+        private static boolean isInPackages(String packageName, Set<String> packages) {
+            for (String pkg : packages) {
+                if (packageName.equals(pkg) || packageName.startsWith(pkg + ".")) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        String getPackagesDescription() {
+            final List<String> packages = new ArrayList<>();
+            for (String pkg : recursivePackages) {
+                packages.add(pkg + ".**");
+            }
+            for (String pkg : nonRecursivePackages) {
+                packages.add(pkg + ".*");
+            }
+            return packages.isEmpty() ? "(none)" : String.join(", ", packages);
+        }
+
+    }
+
+    private static List<SourceType<Type>> fromClassNamePatterns(List<String> allClassNames, List<String> classNamePatterns, int loadingThreads, GeneratorMetrics metrics) {
         Collections.sort(allClassNames);
         final List<String> classNames = filterClassNames(allClassNames, classNamePatterns);
         TypeScriptGenerator.getLogger().info(String.format("Found %d classes matching pattern.", classNames.size()));
-        return fromClassNames(classNames);
+        return fromClassNames(classNames, loadingThreads, metrics);
     }
 
-    private static List<SourceType<Type>> fromClassNames(List<String> classNames) {
+    private static List<SourceType<Type>> fromClassNames(List<String> classNames, int loadingThreads, GeneratorMetrics metrics) {
         final List<SourceType<Type>> types = new ArrayList<>();
-        for (Class<?> cls : loadClasses(classNames)) {
+        for (Class<?> cls : metrics.measure("classLoading", () -> loadClasses(classNames, loadingThreads))) {
             // skip synthetic classes (as those generated by java compiler for switch with enum)
             // and anonymous classes (should not be processed and they do not have SimpleName)
             if (!cls.isSynthetic() && !cls.isAnonymousClass()) {
@@ -180,24 +392,85 @@ public class Input {
     }
 
     static List<Class<?>> loadClasses(List<String> classNames) {
+        return loadClasses(classNames, 1);
+    }
+
+    /**
+     * Loads classes using context class loader without initializing them (static initializers are not run).
+     * When more threads are used classes are loaded in batches concurrently, result is always in the order of class names.
+     * Classes which cannot be loaded are skipped and reported together in one error message.
+     */
+    static List<Class<?>> loadClasses(List<String> classNames, int threads) {
+        final ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        final Class<?>[] loadedClasses = new Class<?>[classNames.size()];
+        final ReflectiveOperationException[] errors = new ReflectiveOperationException[classNames.size()];
+        final int batchCount = (classNames.size() + LoadingBatchSize - 1) / LoadingBatchSize;
+        final int poolSize = Math.min(threads, batchCount);
+        if (poolSize <= 1) {
+            loadBatch(classLoader, classNames, 0, classNames.size(), loadedClasses, errors);
+        } else {
+            final ExecutorService executor = Executors.newFixedThreadPool(poolSize, runnable -> {
+                final Thread thread = new Thread(runnable, "typescript-generator-class-loading");
+                thread.setDaemon(true);
+                thread.setContextClassLoader(classLoader);
+                return thread;
+            });
+            try {
+                final List<Future<?>> futures = new ArrayList<>();
+                for (int start = 0; start < classNames.size(); start += LoadingBatchSize) {
+                    final int from = start;
+                    final int to = Math.min(start + LoadingBatchSize, classNames.size());
+                    futures.add(executor.submit(() -> loadBatch(classLoader, classNames, from, to, loadedClasses, errors)));
+                }
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException(e);
+            } catch (ExecutionException e) {
+                final Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                if (cause instanceof Error) {
+                    throw (Error) cause;
+                }
+                throw new RuntimeException(cause);
+            } finally {
+                executor.shutdownNow();
+            }
+        }
         final List<Class<?>> classes = new ArrayList<>();
-        for (String className : classNames) {
+        final List<String> failures = new ArrayList<>();
+        for (int i = 0; i < loadedClasses.length; i++) {
+            if (loadedClasses[i] != null) {
+                classes.add(loadedClasses[i]);
+            } else {
+                failures.add(String.format("    %s (%s)", classNames.get(i), errors[i]));
+            }
+        }
+        if (!failures.isEmpty()) {
+            TypeScriptGenerator.getLogger().error(String.format("Cannot load %d classes:%n%s", failures.size(), String.join(String.format("%n"), failures)));
+        }
+        return classes;
+    }
+
+    private static void loadBatch(ClassLoader classLoader, List<String> classNames, int from, int to, Class<?>[] loadedClasses, ReflectiveOperationException[] errors) {
+        for (int i = from; i < to; i++) {
             try {
-                final Class<?> cls = Thread.currentThread().getContextClassLoader().loadClass(className);
-                classes.add(cls);
+                loadedClasses[i] = Class.forName(classNames.get(i), false, classLoader);
             } catch (ReflectiveOperationException e) {
-                TypeScriptGenerator.getLogger().error(String.format("Cannot load class '%s'", className));
-                e.printStackTrace(System.out);
+                errors[i] = e;
             }
         }
-        return classes;
     }
 
     static List<String> filterClassNames(List<String> classNames, List<String> globs) {
-        final List<Pattern> regexps = Utils.globsToRegexps(globs);
+        final ClassNameMatcher matcher = new ClassNameMatcher(globs);
         final List<String> result = new ArrayList<>();
         for (String className : classNames) {
-            if (Utils.classNameMatches(className, regexps)) {
+            if (matcher.test(className)) {
                 result.add(className);
             }
         }
@@ -35,8 +35,15 @@ public class JaxrsApplicationScanner {
     }
 
     public static List<SourceType<Type>> scanAutomaticJaxrsApplication(ScanResult scanResult, Predicate<String> isClassNameExcluded) {
-        final List<String> namesOfResourceClasses = scanResult.getClassesWithAnnotation(Path.class.getName()).getNames();
-        final List<Class<?>> resourceClasses = Input.loadClasses(namesOfResourceClasses);
+        return scanAutomaticJaxrsApplication(scanResult.getClassesWithAnnotation(Path.class.getName()).getNames(), isClassNameExcluded);
+    }
+
+    public static List<SourceType<Type>> scanAutomaticJaxrsApplication(List<String> namesOfResourceClasses, Predicate<String> isClassNameExcluded) {
+        return scanAutomaticJaxrsApplication(namesOfResourceClasses, isClassNameExcluded, 1);
+    }
+
+    public static List<SourceType<Type>> scanAutomaticJaxrsApplication(List<String> namesOfResourceClasses, Predicate<String> isClassNameExcluded, int loadingThreads) {
+        final List<Class<?>> resourceClasses = Input.loadClasses(namesOfResourceClasses, loadingThreads);
         TypeScriptGenerator.getLogger().info(String.format("Found %d root resources.", resourceClasses.size()));
         return new JaxrsApplicationScanner().scanJaxrsApplication(null, resourceClasses, isClassNameExcluded);
     }
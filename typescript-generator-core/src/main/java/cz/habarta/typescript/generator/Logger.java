@@ -24,6 +24,10 @@ public class Logger {
         }
     }
 
+    public final void debug(String message) {
+        write(Level.Debug, message);
+    }
+
     public final void verbose(String message) {
         write(Level.Verbose, message);
     }
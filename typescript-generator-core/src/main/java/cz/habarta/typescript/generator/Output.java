@@ -1,6 +1,7 @@
 
 package cz.habarta.typescript.generator;
 
+import cz.habarta.typescript.generator.util.AtomicFileWriter;
 import java.io.*;
 import java.nio.charset.*;
 
@@ -29,13 +30,26 @@ public class Output {
         return closeWriter;
     }
 
+    /**
+     * Returns <code>true</code> if output file was closed without being replaced because its content didn't change
+     * (see {@link Settings#writeOnlyChangedFiles}).
+     */
+    public boolean isUnchanged() {
+        return writer instanceof AtomicFileWriter && ((AtomicFileWriter) writer).isTargetUnchanged();
+    }
+
+    /**
+     * Output file is written to temporary file first and moved to its final location when writer is closed.
+     */
     public static Output to(File file) {
-        try {
-            file.getParentFile().mkdirs();
-            return new Output(new OutputStreamWriter(new FileOutputStream(file), Charset.forName("UTF-8")), file.toString(), true);
-        } catch (FileNotFoundException e) {
-            throw new RuntimeException(e);
-        }
+        return to(file, AtomicFileWriter.DefaultBufferSize);
+    }
+
+    /**
+     * @param bufferSize number of characters buffered in memory before they are written to the file
+     */
+    public static Output to(File file, int bufferSize) {
+        return new Output(new AtomicFileWriter(file, StandardCharsets.UTF_8, bufferSize), file.toString(), true);
     }
 
     public static Output to(OutputStream outputStream) {
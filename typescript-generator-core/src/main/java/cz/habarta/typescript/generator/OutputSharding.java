@@ -0,0 +1,8 @@
+package cz.habarta.typescript.generator;
+
+
+public enum OutputSharding {
+
+    none, javaPackage, custom
+
+}
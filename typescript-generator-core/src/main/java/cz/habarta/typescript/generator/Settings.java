@@ -7,6 +7,7 @@ import cz.habarta.typescript.generator.emitter.EmitterExtension;
 import cz.habarta.typescript.generator.emitter.EmitterExtensionFeatures;
 import cz.habarta.typescript.generator.parser.JaxrsApplicationParser;
 import cz.habarta.typescript.generator.parser.RestApplicationParser;
+import cz.habarta.typescript.generator.util.ClassNameMatcher;
 import cz.habarta.typescript.generator.util.Pair;
 import cz.habarta.typescript.generator.util.Utils;
 import java.io.File;
@@ -66,6 +67,7 @@ public class Settings {
     public boolean generateSpringApplicationInterface = false;
     public boolean generateSpringApplicationClient = false;
     public boolean scanSpringApplication;
+    public SpringApplicationScanMode springApplicationScanMode = SpringApplicationScanMode.applicationContext;
     @Deprecated public RestNamespacing jaxrsNamespacing;
     @Deprecated public Class<? extends Annotation> jaxrsNamespacingAnnotation = null;
     @Deprecated public String jaxrsNamespacingAnnotationElement;  // default is "value"
@@ -106,8 +108,16 @@ public class Settings {
     public boolean emitStaticMethods = false;
     public boolean emitOtherMethods = false;
     public EmitSAMStrictness emitSAMs = EmitSAMStrictness.noEmitSAM;
+    public int parsingThreads = 1; // 0 means number of available processors
+    public int emittingThreads = 1; // 0 means number of available processors
+    public boolean parseClassFiles = false;
+    public GeneratorMetrics metrics = null;
+    public boolean writeOnlyChangedFiles = false;
+    public OutputSharding outputSharding; // default is OutputSharding.none
+    public Map<String, String> outputShards = new LinkedHashMap<>(); // class name glob -> shard name
 
     private boolean defaultStringEnumsOverriddenByExtension = false;
+    private static final Pattern ShardNamePattern = Pattern.compile("[A-Za-z0-9_.\\-]+");
 
     public static class ConfiguredExtension {
         public String className;
@@ -116,6 +126,11 @@ public class Settings {
 
     private static class TypeScriptGeneratorURLClassLoader extends URLClassLoader {
 
+        static {
+            // allows loading input classes concurrently (see Input.loadClasses)
+            ClassLoader.registerAsParallelCapable();
+        }
+
         private final String name;
 
         public TypeScriptGeneratorURLClassLoader(String name, URL[] urls, ClassLoader parent) {
@@ -231,6 +246,12 @@ public class Settings {
         if (jackson2Configuration != null && jsonLibrary != JsonLibrary.jackson2) {
             throw new RuntimeException("'jackson2Configuration' parameter is only applicable to 'jackson2' library.");
         }
+        if (parseClassFiles && jsonLibrary != JsonLibrary.jackson2) {
+            throw new RuntimeException("'parseClassFiles' parameter is only applicable to 'jackson2' library.");
+        }
+        if (parseClassFiles && (jackson2ModuleDiscovery || !jackson2Modules.isEmpty())) {
+            throw new RuntimeException("'parseClassFiles' parameter cannot be used together with 'jackson2Modules' or 'jackson2ModuleDiscovery' parameters.");
+        }
         for (EmitterExtension extension : extensions) {
             final String extensionName = extension.getClass().getSimpleName();
             final DeprecationText deprecation = extension.getClass().getAnnotation(DeprecationText.class);
@@ -332,6 +353,36 @@ public class Settings {
         }
         getModuleDependencies();
 
+        if (parsingThreads < 0) {
+            throw new RuntimeException("'parsingThreads' parameter must not be negative.");
+        }
+        if (emittingThreads < 0) {
+            throw new RuntimeException("'emittingThreads' parameter must not be negative.");
+        }
+
+        if (isOutputSharded()) {
+            if (outputKind != TypeScriptOutputKind.module) {
+                throw new RuntimeException("'outputSharding' can only be used when generating proper module ('outputKind' parameter is 'module').");
+            }
+            if (outputFileType != TypeScriptFileType.declarationFile) {
+                throw new RuntimeException("'outputSharding' can only be used when generating declaration file ('outputFileType' parameter is 'declarationFile').");
+            }
+            if (namespace != null || mapPackagesToNamespaces) {
+                throw new RuntimeException("'outputSharding' cannot be used together with 'namespace' or 'mapPackagesToNamespaces' parameters, each shard is separate module.");
+            }
+            if (!extensions.isEmpty()) {
+                throw new RuntimeException("'outputSharding' cannot be used together with extensions.");
+            }
+            if (outputSharding == OutputSharding.custom && outputShards.isEmpty()) {
+                throw new RuntimeException("'outputShards' parameter must be specified when 'outputSharding' is 'custom'.");
+            }
+        }
+        for (String shardName : outputShards.values()) {
+            if (!ShardNamePattern.matcher(shardName).matches()) {
+                throw new RuntimeException(String.format("Invalid shard name '%s', shard name can only contain letters, digits, '_', '-' and '.'.", shardName));
+            }
+        }
+
         if (declarePropertiesAsOptional) {
             TypeScriptGenerator.getLogger().warning("Parameter 'declarePropertiesAsOptional' is deprecated. Use 'optionalProperties' parameter.");
             if (optionalProperties == null) {
@@ -390,23 +441,23 @@ public class Settings {
 
     public static Predicate<String> createExcludeFilter(List<String> excludedClasses, List<String> excludedClassPatterns) {
         final Set<String> names = new LinkedHashSet<>(excludedClasses != null ? excludedClasses : Collections.<String>emptyList());
-        final List<Pattern> patterns = Utils.globsToRegexps(excludedClassPatterns != null ? excludedClassPatterns : Collections.<String>emptyList());
+        final ClassNameMatcher matcher = new ClassNameMatcher(excludedClassPatterns != null ? excludedClassPatterns : Collections.<String>emptyList());
         return new Predicate<String>() {
             @Override
             public boolean test(String className) {
-                return names.contains(className) || Utils.classNameMatches(className, patterns);
+                return names.contains(className) || matcher.test(className);
             }
         };
     }
 
     public Predicate<String> getMapClassesAsClassesFilter() {
         if (mapClassesAsClassesFilter == null) {
-            final List<Pattern> patterns = Utils.globsToRegexps(mapClassesAsClassesPatterns);
+            final ClassNameMatcher matcher = mapClassesAsClassesPatterns != null ? new ClassNameMatcher(mapClassesAsClassesPatterns) : null;
             mapClassesAsClassesFilter = new Predicate<String>() {
                 @Override
                 public boolean test(String className) {
                     return mapClasses == ClassMapping.asClasses &&
-                            (patterns == null || Utils.classNameMatches(className, patterns));
+                            (matcher == null || matcher.test(className));
                 }
             };
         }
@@ -494,6 +545,22 @@ public class Settings {
         return isGenerateJaxrs() || isGenerateSpring();
     }
 
+    public int getParsingThreads() {
+        return parsingThreads > 0 ? parsingThreads : Runtime.getRuntime().availableProcessors();
+    }
+
+    public int getEmittingThreads() {
+        return emittingThreads > 0 ? emittingThreads : Runtime.getRuntime().availableProcessors();
+    }
+
+    public boolean isOutputSharded() {
+        return outputSharding != null && outputSharding != OutputSharding.none;
+    }
+
+    public GeneratorMetrics getMetrics() {
+        return metrics != null ? metrics : GeneratorMetrics.None;
+    }
+
     public boolean areDefaultStringEnumsOverriddenByExtension() {
         return defaultStringEnumsOverriddenByExtension;
     }
@@ -0,0 +1,8 @@
+package cz.habarta.typescript.generator;
+
+
+public enum SpringApplicationScanMode {
+
+    applicationContext, componentScan
+
+}
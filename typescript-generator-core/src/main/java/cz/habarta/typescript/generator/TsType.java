@@ -25,16 +25,73 @@ public abstract class TsType implements Emittable {
     public static final TsType Never = new BasicType("never");
     public static final TsType Unknown = new BasicType("unknown");
 
+    private int hash;  // cached structural hash code, 0 means not computed (yet)
+
+    /**
+     * Types are equal if they are of the same class and have the same structure.
+     * Referenced types are compared using full names of their symbols.
+     */
     @Override
     public boolean equals(Object rhs) {
-        return rhs != null && this.getClass() == rhs.getClass() && this.toString().equals(rhs.toString());
+        if (this == rhs) {
+            return true;
+        }
+        if (rhs == null || this.getClass() != rhs.getClass()) {
+            return false;
+        }
+        final TsType other = (TsType) rhs;
+        if (this.hash != 0 && other.hash != 0 && this.hash != other.hash) {
+            return false;
+        }
+        return structurallyEquals(other);
     }
 
+    /**
+     * Hash code is cached for types which don't contain references to symbols (symbol names can change).
+     */
     @Override
     public int hashCode() {
+        int h = hash;
+        if (h == 0) {
+            h = 31 * getClass().hashCode() + structuralHashCode();
+            if (!containsReference()) {
+                hash = h;
+            }
+        }
+        return h;
+    }
+
+    /**
+     * Compares this type with other type of the same class.
+     * Default implementation compares formatted types, subclasses override it to compare their structure.
+     */
+    protected boolean structurallyEquals(TsType other) {
+        return this.toString().equals(other.toString());
+    }
+
+    /**
+     * Computes hash code consistent with {@link #structurallyEquals(TsType)}.
+     */
+    protected int structuralHashCode() {
         return this.toString().hashCode();
     }
 
+    /**
+     * @return <code>true</code> if hash code of this type can change (for example when symbol names are resolved)
+     */
+    protected boolean containsReference() {
+        return true;
+    }
+
+    private static boolean anyContainsReference(List<? extends TsType> types) {
+        for (TsType type : types) {
+            if (type.containsReference()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     public TsType.OptionalType optional() {
         return new TsType.OptionalType(this);
     }
@@ -59,6 +116,21 @@ public abstract class TsType implements Emittable {
         public String format(Settings settings) {
             return name;
         }
+
+        @Override
+        protected boolean structurallyEquals(TsType other) {
+            return name.equals(((BasicType) other).name);
+        }
+
+        @Override
+        protected int structuralHashCode() {
+            return name.hashCode();
+        }
+
+        @Override
+        protected boolean containsReference() {
+            return false;
+        }
     }
 
     public static class GenericBasicType extends TsType.BasicType {
@@ -78,6 +150,21 @@ public abstract class TsType implements Emittable {
         public String format(Settings settings) {
             return name + "<" + Emitter.formatList(settings, typeArguments) + ">";
         }
+
+        @Override
+        protected boolean structurallyEquals(TsType other) {
+            return super.structurallyEquals(other) && typeArguments.equals(((GenericBasicType) other).typeArguments);
+        }
+
+        @Override
+        protected int structuralHashCode() {
+            return 31 * super.structuralHashCode() + typeArguments.hashCode();
+        }
+
+        @Override
+        protected boolean containsReference() {
+            return anyContainsReference(typeArguments);
+        }
     }
 
     public static class VerbatimType extends TsType {
@@ -92,6 +179,21 @@ public abstract class TsType implements Emittable {
         public String format(Settings settings) {
             return verbatimType;
         }
+
+        @Override
+        protected boolean structurallyEquals(TsType other) {
+            return verbatimType.equals(((VerbatimType) other).verbatimType);
+        }
+
+        @Override
+        protected int structuralHashCode() {
+            return verbatimType.hashCode();
+        }
+
+        @Override
+        protected boolean containsReference() {
+            return false;
+        }
     }
 
     /** Explicit override of entire element's signature. */
@@ -108,6 +210,21 @@ public abstract class TsType implements Emittable {
             return customSignature;
         }
 
+        @Override
+        protected boolean structurallyEquals(TsType other) {
+            return customSignature.equals(((CustomSignatureType) other).customSignature);
+        }
+
+        @Override
+        protected int structuralHashCode() {
+            return customSignature.hashCode();
+        }
+
+        @Override
+        protected boolean containsReference() {
+            return false;
+        }
+
         @Override
         public OptionalType optional() {
             throw new RuntimeException("optional() not available on CustomSignatureType");
@@ -130,6 +247,22 @@ public abstract class TsType implements Emittable {
             return symbol.getFullName();
         }
 
+        @Override
+        protected boolean structurallyEquals(TsType other) {
+            final Symbol otherSymbol = ((ReferenceType) other).symbol;
+            return symbol == otherSymbol || symbol.getFullName().equals(otherSymbol.getFullName());
+        }
+
+        @Override
+        protected int structuralHashCode() {
+            return symbol.getFullName().hashCode();
+        }
+
+        @Override
+        protected boolean containsReference() {
+            return true;
+        }
+
     }
 
     public static class GenericReferenceType extends TsType.ReferenceType {
@@ -149,6 +282,16 @@ public abstract class TsType implements Emittable {
         public String format(Settings settings) {
             return symbol.getFullName() + "<" + Emitter.formatList(settings, typeArguments) + ">";
         }
+
+        @Override
+        protected boolean structurallyEquals(TsType other) {
+            return super.structurallyEquals(other) && typeArguments.equals(((GenericReferenceType) other).typeArguments);
+        }
+
+        @Override
+        protected int structuralHashCode() {
+            return 31 * super.structuralHashCode() + typeArguments.hashCode();
+        }
     }
     
     public static class GenericVariableType extends TsType.BasicType {
@@ -182,6 +325,21 @@ public abstract class TsType implements Emittable {
                     : elementType.format(settings) + "[]";
         }
 
+        @Override
+        protected boolean structurallyEquals(TsType other) {
+            return elementType.equals(((BasicArrayType) other).elementType);
+        }
+
+        @Override
+        protected int structuralHashCode() {
+            return elementType.hashCode();
+        }
+
+        @Override
+        protected boolean containsReference() {
+            return elementType.containsReference();
+        }
+
     }
 
     public static class IndexedArrayType extends TsType {
@@ -199,6 +357,22 @@ public abstract class TsType implements Emittable {
             return "{ [index: " + indexType.format(settings) + "]: " + elementType.format(settings) + " }";
         }
 
+        @Override
+        protected boolean structurallyEquals(TsType other) {
+            final IndexedArrayType otherIndexedArrayType = (IndexedArrayType) other;
+            return indexType.equals(otherIndexedArrayType.indexType) && elementType.equals(otherIndexedArrayType.elementType);
+        }
+
+        @Override
+        protected int structuralHashCode() {
+            return 31 * indexType.hashCode() + elementType.hashCode();
+        }
+
+        @Override
+        protected boolean containsReference() {
+            return indexType.containsReference() || elementType.containsReference();
+        }
+
     }
 
     public static class UnionType extends TsType {
@@ -220,6 +394,21 @@ public abstract class TsType implements Emittable {
                     : Emitter.formatList(settings, types, " | ");
         }
 
+        @Override
+        protected boolean structurallyEquals(TsType other) {
+            return types.equals(((UnionType) other).types);
+        }
+
+        @Override
+        protected int structuralHashCode() {
+            return types.hashCode();
+        }
+
+        @Override
+        protected boolean containsReference() {
+            return anyContainsReference(types);
+        }
+
     }
 
     public static class IntersectionType extends TsType {
@@ -241,6 +430,21 @@ public abstract class TsType implements Emittable {
                     : Emitter.formatList(settings, types, " & ");
         }
 
+        @Override
+        protected boolean structurallyEquals(TsType other) {
+            return types.equals(((IntersectionType) other).types);
+        }
+
+        @Override
+        protected int structuralHashCode() {
+            return types.hashCode();
+        }
+
+        @Override
+        protected boolean containsReference() {
+            return anyContainsReference(types);
+        }
+
     }
 
     public static class StringLiteralType extends TsType {
@@ -256,6 +460,21 @@ public abstract class TsType implements Emittable {
             return settings.quotes + literal + settings.quotes;
         }
 
+        @Override
+        protected boolean structurallyEquals(TsType other) {
+            return literal.equals(((StringLiteralType) other).literal);
+        }
+
+        @Override
+        protected int structuralHashCode() {
+            return literal.hashCode();
+        }
+
+        @Override
+        protected boolean containsReference() {
+            return false;
+        }
+
     }
 
     public static class OptionalType extends TsType {
@@ -271,6 +490,21 @@ public abstract class TsType implements Emittable {
             return type.format(settings);
         }
 
+        @Override
+        protected boolean structurallyEquals(TsType other) {
+            return type.equals(((OptionalType) other).type);
+        }
+
+        @Override
+        protected int structuralHashCode() {
+            return type.hashCode();
+        }
+
+        @Override
+        protected boolean containsReference() {
+            return type.containsReference();
+        }
+
     }
 
     public static class ObjectType extends TsType {
@@ -298,6 +532,42 @@ public abstract class TsType implements Emittable {
             }
         }
 
+        @Override
+        protected boolean structurallyEquals(TsType other) {
+            final List<TsProperty> otherProperties = ((ObjectType) other).properties;
+            if (properties.size() != otherProperties.size()) {
+                return false;
+            }
+            for (int i = 0; i < properties.size(); i++) {
+                final TsProperty property = properties.get(i);
+                final TsProperty otherProperty = otherProperties.get(i);
+                if (!Objects.equals(property.name, otherProperty.name) || !Objects.equals(property.tsType, otherProperty.tsType)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        protected int structuralHashCode() {
+            int result = 1;
+            for (TsProperty property : properties) {
+                result = 31 * result + Objects.hashCode(property.name);
+                result = 31 * result + Objects.hashCode(property.tsType);
+            }
+            return result;
+        }
+
+        @Override
+        protected boolean containsReference() {
+            for (TsProperty property : properties) {
+                if (property.tsType != null && property.tsType.containsReference()) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
     }
 
     public static class FunctionType extends TsType {
@@ -317,79 +587,133 @@ public abstract class TsType implements Emittable {
 
     }
 
+    /**
+     * Transforms type tree top-down. Transformer is applied to each node before its children are transformed.
+     * Nodes are copied only when transformer changed them or any of their descendants,
+     * unchanged subtrees are returned as the same instances.
+     */
     public static TsType transformTsType(Context context, TsType tsType, Transformer transformer) {
         final TsType type = transformer.transform(context, tsType);
         if (type instanceof TsType.GenericBasicType) {
             final GenericBasicType genericBasicType = (TsType.GenericBasicType) type;
-            final List<TsType> typeArguments = new ArrayList<>();
-            for (TsType typeArgument : genericBasicType.typeArguments) {
-                typeArguments.add(transformTsType(context, typeArgument, transformer));
-            }
-            return new TsType.GenericBasicType(genericBasicType.name, typeArguments);
+            final List<TsType> typeArguments = transformTsTypes(context, genericBasicType.typeArguments, transformer);
+            return typeArguments == genericBasicType.typeArguments
+                    ? type
+                    : new TsType.GenericBasicType(genericBasicType.name, typeArguments);
         }
         if (type instanceof TsType.GenericReferenceType) {
             final GenericReferenceType genericReferenceType = (TsType.GenericReferenceType) type;
-            final List<TsType> typeArguments = new ArrayList<>();
-            for (TsType typeArgument : genericReferenceType.typeArguments) {
-                typeArguments.add(transformTsType(context, typeArgument, transformer));
-            }
-            return new TsType.GenericReferenceType(genericReferenceType.symbol, typeArguments);
+            final List<TsType> typeArguments = transformTsTypes(context, genericReferenceType.typeArguments, transformer);
+            return typeArguments == genericReferenceType.typeArguments
+                    ? type
+                    : new TsType.GenericReferenceType(genericReferenceType.symbol, typeArguments);
         }
         if (type instanceof TsType.OptionalType) {
             final TsType.OptionalType optionalType = (TsType.OptionalType) type;
-            return new TsType.OptionalType(transformTsType(context, optionalType.type, transformer));
+            final TsType newType = transformTsType(context, optionalType.type, transformer);
+            return newType == optionalType.type ? type : new TsType.OptionalType(newType);
         }
         if (type instanceof TsType.BasicArrayType) {
             final TsType.BasicArrayType basicArrayType = (TsType.BasicArrayType) type;
-            return new TsType.BasicArrayType(transformTsType(context, basicArrayType.elementType, transformer));
+            final TsType newElementType = transformTsType(context, basicArrayType.elementType, transformer);
+            return newElementType == basicArrayType.elementType ? type : new TsType.BasicArrayType(newElementType);
         }
         if (type instanceof TsType.IndexedArrayType) {
             final TsType.IndexedArrayType indexedArrayType = (TsType.IndexedArrayType) type;
-            return new TsType.IndexedArrayType(
-                    transformTsType(context, indexedArrayType.indexType, transformer),
-                    transformTsType(context, indexedArrayType.elementType, transformer));
+            final TsType newIndexType = transformTsType(context, indexedArrayType.indexType, transformer);
+            final TsType newElementType = transformTsType(context, indexedArrayType.elementType, transformer);
+            return newIndexType == indexedArrayType.indexType && newElementType == indexedArrayType.elementType
+                    ? type
+                    : new TsType.IndexedArrayType(newIndexType, newElementType);
         }
         if (type instanceof TsType.UnionType) {
             final TsType.UnionType unionType = (TsType.UnionType) type;
-            final List<TsType> types = new ArrayList<>();
-            for (TsType constituentType : unionType.types) {
-                types.add(transformTsType(context, constituentType, transformer));
-            }
-            return new TsType.UnionType(types);
+            final List<TsType> types = transformTsTypes(context, unionType.types, transformer);
+            return types == unionType.types ? type : new TsType.UnionType(types);
         }
         if (type instanceof TsType.IntersectionType) {
             final TsType.IntersectionType intersectionType = (TsType.IntersectionType) type;
-            final List<TsType> types = new ArrayList<>();
-            for (TsType constituent : intersectionType.types) {
-                types.add(transformTsType(context, constituent, transformer));
-            }
-            return new TsType.IntersectionType(types);
+            final List<TsType> types = transformTsTypes(context, intersectionType.types, transformer);
+            return types == intersectionType.types ? type : new TsType.IntersectionType(types);
         }
         if (type instanceof TsType.ObjectType) {
             final TsType.ObjectType objectType = (TsType.ObjectType) type;
-            final List<TsProperty> properties = new ArrayList<>();
-            for (TsProperty property : objectType.properties) {
-                properties.add(new TsProperty(property.name, transformTsType(context, property.tsType, transformer)));
+            List<TsProperty> properties = null;
+            for (int i = 0; i < objectType.properties.size(); i++) {
+                final TsProperty property = objectType.properties.get(i);
+                final TsType newType = transformTsType(context, property.tsType, transformer);
+                if (properties == null && newType != property.tsType) {
+                    properties = new ArrayList<>(objectType.properties.subList(0, i));
+                }
+                if (properties != null) {
+                    properties.add(newType == property.tsType ? property : new TsProperty(property.name, newType));
+                }
             }
-            return new TsType.ObjectType(properties);
+            return properties == null ? type : new TsType.ObjectType(properties);
         }
         if (type instanceof TsType.FunctionType) {
             final TsType.FunctionType functionType = (TsType.FunctionType) type;
-            final List<TsParameter> parameters = new ArrayList<>();
-            for (TsParameter parameter : functionType.parameters) {
-                parameters.add(new TsParameter(parameter.name, transformTsType(context, parameter.tsType, transformer)));
+            List<TsParameter> parameters = null;
+            for (int i = 0; i < functionType.parameters.size(); i++) {
+                final TsParameter parameter = functionType.parameters.get(i);
+                final TsType newType = transformTsType(context, parameter.tsType, transformer);
+                if (parameters == null && newType != parameter.tsType) {
+                    parameters = new ArrayList<>(functionType.parameters.subList(0, i));
+                }
+                if (parameters != null) {
+                    parameters.add(newType == parameter.tsType ? parameter : new TsParameter(parameter.name, newType));
+                }
             }
-            return new TsType.FunctionType(parameters, transformTsType(context, functionType.type, transformer));
+            final TsType newReturnType = transformTsType(context, functionType.type, transformer);
+            return parameters == null && newReturnType == functionType.type
+                    ? type
+                    : new TsType.FunctionType(parameters != null ? parameters : functionType.parameters, newReturnType);
         }
         return type;
     }
 
+    /**
+     * @return the same list instance if no type was changed
+     */
+    private static List<TsType> transformTsTypes(Context context, List<TsType> tsTypes, Transformer transformer) {
+        List<TsType> result = null;
+        for (int i = 0; i < tsTypes.size(); i++) {
+            final TsType tsType = tsTypes.get(i);
+            final TsType newType = transformTsType(context, tsType, transformer);
+            if (result == null && newType != tsType) {
+                result = new ArrayList<>(tsTypes.subList(0, i));
+            }
+            if (result != null) {
+                result.add(newType);
+            }
+        }
+        return result != null ? result : tsTypes;
+    }
+
     public static class Context {
         // currently not needed
     }
 
     public static interface Transformer {
         public TsType transform(Context context, TsType tsType);
+
+        /**
+         * Creates transformer which applies specified transformers one after another on each node
+         * so multiple transformations can be done in single traversal of type tree.
+         * This gives the same result as separate traversals if no transformer creates nodes which other transformers would transform.
+         */
+        public static Transformer compose(List<Transformer> transformers) {
+            if (transformers.size() == 1) {
+                return transformers.get(0);
+            }
+            return (context, tsType) -> {
+                TsType type = tsType;
+                for (Transformer transformer : transformers) {
+                    type = transformer.transform(context, type);
+                }
+                return type;
+            };
+        }
     }
 
 }
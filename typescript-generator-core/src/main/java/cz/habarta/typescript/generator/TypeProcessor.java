@@ -4,9 +4,13 @@ package cz.habarta.typescript.generator;
 import cz.habarta.typescript.generator.compiler.Symbol;
 import cz.habarta.typescript.generator.compiler.SymbolTable;
 
+import cz.habarta.typescript.generator.util.FlightRecorderEvents;
+import cz.habarta.typescript.generator.util.TypeKey;
 import java.lang.reflect.Member;
 import java.lang.reflect.Type;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 
 public interface TypeProcessor {
@@ -37,11 +41,18 @@ public interface TypeProcessor {
         private final Object typeContext;
         private final Member member;
 
+        private final boolean temporary;
+
         public Context(SymbolTable symbolTable, TypeProcessor typeProcessor, Member member, Object typeContext) {
+            this(symbolTable, typeProcessor, member, typeContext, false);
+        }
+
+        private Context(SymbolTable symbolTable, TypeProcessor typeProcessor, Member member, Object typeContext, boolean temporary) {
             this.symbolTable = Objects.requireNonNull(symbolTable, "symbolTable");
             this.typeProcessor = Objects.requireNonNull(typeProcessor, "typeProcessor");
             this.member = member;
             this.typeContext = typeContext;
+            this.temporary = temporary;
         }
 
         public Symbol getSymbol(Class<?> cls) {
@@ -57,7 +68,7 @@ public interface TypeProcessor {
         }
 
         public Context withTypeContext(Object typeContext) {
-            return new Context(symbolTable, typeProcessor, member, typeContext);
+            return new Context(symbolTable, typeProcessor, member, typeContext, temporary);
         }
 
         public Member getMember() {
@@ -93,6 +104,7 @@ public interface TypeProcessor {
     public static class Chain implements TypeProcessor {
 
         private final List<TypeProcessor> processors;
+        private volatile CacheScope cacheScope;
 
         public Chain(List<TypeProcessor> processors) {
             this.processors = processors;
@@ -102,17 +114,126 @@ public interface TypeProcessor {
             this.processors = Arrays.asList(processors);
         }
 
+        /**
+         * Starts memoizing results of this chain until returned scope is closed.
+         * Results are cached by java type, member, type context identity, symbol table identity and type processor identity.
+         * Results computed in temporary contexts (which use throwaway symbol tables) are shared between all temporary contexts.
+         */
+        public CacheScope openCacheScope() {
+            if (cacheScope != null) {
+                throw new RuntimeException("Type processor cache scope is already open");
+            }
+            final CacheScope scope = new CacheScope(this);
+            cacheScope = scope;
+            return scope;
+        }
+
+        @Override
+        public Result processTypeInTemporaryContext(Type type, Member member, Object typeContext, Settings settings) {
+            return processType(type, new Context(new SymbolTable(settings), this, member, typeContext, true));
+        }
+
         @Override
         public Result processType(Type javaType, Context context) {
+            final CacheScope scope = cacheScope;
+            if (scope == null) {
+                return processTypeUsingProcessors(javaType, context);
+            }
+            final CacheKey key = new CacheKey(javaType, context);
+            final Optional<Result> cachedResult = scope.results.get(key);
+            if (cachedResult != null) {
+                scope.hits.incrementAndGet();
+                return cachedResult.orElse(null);
+            }
+            scope.misses.incrementAndGet();
+            final Result result = processTypeUsingProcessors(javaType, context);
+            scope.results.putIfAbsent(key, Optional.ofNullable(result));
+            return result;
+        }
+
+        private Result processTypeUsingProcessors(Type javaType, Context context) {
+            final Object event = FlightRecorderEvents.beginTypeProcessing(javaType);
             for (TypeProcessor processor : processors) {
                 final Result result = processor.processType(javaType, context);
                 if (result != null) {
+                    FlightRecorderEvents.endTypeProcessing(event, processor);
                     return result;
                 }
             }
+            FlightRecorderEvents.endTypeProcessing(event, null);
             return null;
         }
 
+        public static class CacheScope implements AutoCloseable {
+
+            private final Chain chain;
+            private final Map<CacheKey, Optional<Result>> results = new ConcurrentHashMap<>();
+            private final AtomicLong hits = new AtomicLong();
+            private final AtomicLong misses = new AtomicLong();
+
+            private CacheScope(Chain chain) {
+                this.chain = chain;
+            }
+
+            public long getHits() {
+                return hits.get();
+            }
+
+            public long getMisses() {
+                return misses.get();
+            }
+
+            @Override
+            public void close() {
+                if (chain.cacheScope == this) {
+                    chain.cacheScope = null;
+                }
+                results.clear();
+            }
+
+        }
+
+        private static class CacheKey {
+
+            private final TypeKey type;
+            private final Member member;
+            private final Object typeContext;
+            private final SymbolTable symbolTable;  // null for temporary contexts
+            private final TypeProcessor typeProcessor;
+
+            public CacheKey(Type type, Context context) {
+                this.type = TypeKey.of(type);
+                this.member = context.member;
+                this.typeContext = context.typeContext;
+                this.symbolTable = context.temporary ? null : context.symbolTable;
+                this.typeProcessor = context.typeProcessor;
+            }
+
+            @Override
+            public int hashCode() {
+                int result = type.hashCode();
+                result = 31 * result + Objects.hashCode(member);
+                result = 31 * result + System.identityHashCode(typeContext);
+                result = 31 * result + System.identityHashCode(symbolTable);
+                result = 31 * result + System.identityHashCode(typeProcessor);
+                return result;
+            }
+
+            @Override
+            public boolean equals(Object obj) {
+                if (!(obj instanceof CacheKey)) {
+                    return false;
+                }
+                final CacheKey other = (CacheKey) obj;
+                return type.equals(other.type)
+                        && Objects.equals(member, other.member)
+                        && typeContext == other.typeContext
+                        && symbolTable == other.symbolTable
+                        && typeProcessor == other.typeProcessor;
+            }
+
+        }
+
     }
 
 }
@@ -4,9 +4,15 @@ package cz.habarta.typescript.generator;
 import cz.habarta.typescript.generator.compiler.*;
 import cz.habarta.typescript.generator.emitter.*;
 import cz.habarta.typescript.generator.parser.*;
+import cz.habarta.typescript.generator.util.AtomicFileWriter;
 import cz.habarta.typescript.generator.util.Utils;
 import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -17,12 +23,13 @@ public class TypeScriptGenerator {
     private static Logger logger = new Logger();
 
     private final Settings settings;
-    private TypeProcessor commonTypeProcessor = null;
+    private TypeProcessor.Chain commonTypeProcessor = null;
     private ModelParser modelParser = null;
     private ModelCompiler modelCompiler = null;
     private Emitter emitter = null;
     private InfoJsonEmitter infoJsonEmitter = null;
     private NpmPackageJsonEmitter npmPackageJsonEmitter = null;
+    private final List<File> outputFiles = Collections.synchronizedList(new ArrayList<>());
 
     public static Logger getLogger() {
         return logger;
@@ -61,15 +68,146 @@ public class TypeScriptGenerator {
     }
 
     private void generateTypeScript(Input input, Output output, boolean forceExportKeyword, int initialIndentationLevel) {
-        final Model model = getModelParser().parseModel(input.getSourceTypes());
-        final TsModel tsModel = getModelCompiler().javaToTypeScript(model);
-        generateTypeScript(tsModel, output, forceExportKeyword, initialIndentationLevel);
+        final GeneratorMetrics metrics = settings.getMetrics();
+        outputFiles.clear();
+        configureFileOutput(output);
+        final TsModel tsModel;
+        try (TypeProcessor.Chain.CacheScope cacheScope = getCommonTypeProcessorChain().openCacheScope()) {
+            final Model model = metrics.measure("parse", () -> getModelParser().parseModel(input.getSourceTypes()));
+            countModel(metrics, model);
+            tsModel = metrics.measure("compile", () -> getModelCompiler().javaToTypeScript(model));
+            TypeScriptGenerator.getLogger().verbose(String.format("Type processor cache: %d hits, %d misses", cacheScope.getHits(), cacheScope.getMisses()));
+            metrics.count("typeProcessorCacheHits", cacheScope.getHits());
+            metrics.count("typeProcessorCacheMisses", cacheScope.getMisses());
+            metrics.measure("emit", () -> generateTypeScript(tsModel, output, forceExportKeyword, initialIndentationLevel));
+            if (output.shouldCloseWriter()) {
+                reportFileOutput(output);
+            }
+        } catch (RuntimeException | Error e) {
+            // keeps previously generated file untouched
+            abort(output);
+            throw e;
+        }
         generateInfoJson(tsModel, output);
         generateNpmPackageJson(output);
     }
 
+    private static void countModel(GeneratorMetrics metrics, Model model) {
+        if (metrics.isEnabled()) {
+            metrics.count("parsedBeans", model.getBeans().size());
+            metrics.count("parsedEnums", model.getEnums().size());
+            metrics.count("parsedProperties", model.getBeans().stream().mapToLong(bean -> bean.getProperties().size()).sum());
+            metrics.count("restApplications", model.getRestApplications() != null ? model.getRestApplications().size() : 0);
+        }
+    }
+
     private void generateTypeScript(TsModel tsModel, Output output, boolean forceExportKeyword, int initialIndentationLevel) {
-        getEmitter().emit(tsModel, output.getWriter(), output.getName(), output.shouldCloseWriter(), forceExportKeyword, initialIndentationLevel);
+        if (settings.isOutputSharded()) {
+            generateShardedTypeScript(tsModel, output);
+        } else {
+            getEmitter().emit(tsModel, output.getWriter(), output.getName(), output.shouldCloseWriter(), forceExportKeyword, initialIndentationLevel);
+        }
+    }
+
+    /**
+     * Writes each shard to separate file next to output file and re-exports all shards from output file.
+     * Shards are emitted concurrently when <code>emittingThreads</code> is greater than 1.
+     * Shard files are replaced only after all shards and the index were successfully rendered
+     * and shard files which are no longer re-exported from the index are deleted.
+     */
+    private void generateShardedTypeScript(TsModel tsModel, Output output) {
+        if (output.getName() == null) {
+            throw new RuntimeException("Sharded output can only be used when output is specified using file name");
+        }
+        final GeneratorMetrics metrics = settings.getMetrics();
+        final ShardedOutput shardedOutput = metrics.measure("emit.split", () -> ShardedOutput.split(settings, tsModel));
+        final File outputFile = new File(output.getName()).getAbsoluteFile();
+        final Set<String> previousShardNames = readShardNames(outputFile);
+        final List<String> shardNames = new ArrayList<>();
+        final List<Output> shardOutputs = new ArrayList<>();
+        try {
+            final List<Runnable> tasks = new ArrayList<>();
+            for (ShardedOutput.Shard shard : shardedOutput.getShards()) {
+                final File shardFile = new File(outputFile.getParentFile(), shard.getName() + settings.getExtension());
+                if (shardFile.equals(outputFile)) {
+                    throw new RuntimeException(String.format("Shard '%s' would overwrite output file '%s'.", shard.getName(), outputFile));
+                }
+                final Output shardOutput = createFileOutput(shardFile);
+                shardNames.add(shard.getName());
+                shardOutputs.add(shardOutput);
+                tasks.add(() -> new Emitter(settings).emitShard(shard.getModel(), shard.getImports(), shardOutput.getWriter(), shardOutput.getName(), false));
+            }
+            metrics.count("outputShards", shardNames.size());
+            final int threads = Math.min(settings.getEmittingThreads(), tasks.size());
+            if (threads <= 1) {
+                tasks.forEach(Runnable::run);
+            } else {
+                final ForkJoinPool pool = new ForkJoinPool(threads);
+                try {
+                    final List<ForkJoinTask<?>> submitted = tasks.stream()
+                            .map(pool::submit)
+                            .collect(Collectors.toList());
+                    for (ForkJoinTask<?> task : submitted) {
+                        task.join();
+                    }
+                } finally {
+                    pool.shutdownNow();
+                }
+            }
+            getEmitter().emitShardIndex(shardNames, output.getWriter(), output.getName(), false);
+            for (Output shardOutput : shardOutputs) {
+                close(shardOutput);
+            }
+        } catch (RuntimeException | Error e) {
+            // keeps previously generated shards untouched (already replaced shards cannot be restored)
+            shardOutputs.forEach(TypeScriptGenerator::abort);
+            throw e;
+        }
+        shardOutputs.forEach(this::reportFileOutput);
+        if (output.shouldCloseWriter()) {
+            close(output);
+        }
+        for (String previousShardName : previousShardNames) {
+            if (!shardNames.contains(previousShardName)) {
+                final File obsoleteShardFile = new File(outputFile.getParentFile(), previousShardName + settings.getExtension());
+                if (obsoleteShardFile.isFile() && !obsoleteShardFile.equals(outputFile)) {
+                    TypeScriptGenerator.getLogger().info("Deleting obsolete shard: " + obsoleteShardFile);
+                    if (!obsoleteShardFile.delete()) {
+                        TypeScriptGenerator.getLogger().warning("Cannot delete obsolete shard: " + obsoleteShardFile);
+                    }
+                }
+            }
+        }
+    }
+
+    private static final Pattern ShardExportPattern = Pattern.compile("export \\* from ([\"'])\\./([A-Za-z0-9_.\\-]+)\\1;");
+
+    /**
+     * Returns names of shards re-exported from previously generated index file.
+     */
+    private static Set<String> readShardNames(File indexFile) {
+        final Set<String> shardNames = new LinkedHashSet<>();
+        if (indexFile.isFile()) {
+            try {
+                for (String line : Files.readAllLines(indexFile.toPath(), StandardCharsets.UTF_8)) {
+                    final Matcher matcher = ShardExportPattern.matcher(line.trim());
+                    if (matcher.matches()) {
+                        shardNames.add(matcher.group(2));
+                    }
+                }
+            } catch (IOException e) {
+                TypeScriptGenerator.getLogger().warning("Cannot read previous shard index '" + indexFile + "': " + e.getMessage());
+            }
+        }
+        return shardNames;
+    }
+
+    private static void close(Output output) {
+        try {
+            output.getWriter().close();
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
     }
 
     private void generateInfoJson(TsModel tsModel, Output output) {
@@ -78,8 +216,10 @@ public class TypeScriptGenerator {
                 throw new RuntimeException("Generating info JSON can only be used when output is specified using file name");
             }
             final File outputFile = new File(output.getName());
-            final Output out = Output.to(new File(outputFile.getParent(), "typescript-generator-info.json"));
-            getInfoJsonEmitter().emit(tsModel, out.getWriter(), out.getName(), out.shouldCloseWriter());
+            final Output out = createFileOutput(new File(outputFile.getParent(), "typescript-generator-info.json"));
+            settings.getMetrics().measure("emitInfoJson", () -> abortOnFailure(out, () ->
+                    getInfoJsonEmitter().emit(tsModel, out.getWriter(), out.getName(), out.shouldCloseWriter())));
+            reportFileOutput(out);
         }
     }
 
@@ -89,7 +229,7 @@ public class TypeScriptGenerator {
                 throw new RuntimeException("Generating NPM package.json can only be used when output is specified using file name");
             }
             final File outputFile = new File(output.getName());
-            final Output npmOutput = Output.to(new File(outputFile.getParent(), "package.json"));
+            final Output npmOutput = createFileOutput(new File(outputFile.getParent(), "package.json"));
             final NpmPackageJson npmPackageJson = new NpmPackageJson();
             npmPackageJson.name = settings.npmName;
             npmPackageJson.version = settings.npmVersion;
@@ -114,11 +254,74 @@ public class TypeScriptGenerator {
             if (npmPackageJson.dependencies.isEmpty()) {
                 npmPackageJson.dependencies = null;
             }
-            getNpmPackageJsonEmitter().emit(npmPackageJson, npmOutput.getWriter(), npmOutput.getName(), npmOutput.shouldCloseWriter());
+            settings.getMetrics().measure("emitNpmPackageJson", () -> abortOnFailure(npmOutput, () ->
+                    getNpmPackageJsonEmitter().emit(npmPackageJson, npmOutput.getWriter(), npmOutput.getName(), npmOutput.shouldCloseWriter())));
+            reportFileOutput(npmOutput);
+        }
+    }
+
+    private static void abortOnFailure(Output output, Runnable action) {
+        try {
+            action.run();
+        } catch (RuntimeException | Error e) {
+            abort(output);
+            throw e;
+        }
+    }
+
+    /**
+     * Deletes temporary file of file output so target file stays untouched.
+     */
+    private static void abort(Output output) {
+        if (output.getWriter() instanceof AtomicFileWriter) {
+            ((AtomicFileWriter) output.getWriter()).abort();
+        }
+    }
+
+    private Output createFileOutput(File file) {
+        final Output output = Output.to(file);
+        configureFileOutput(output);
+        return output;
+    }
+
+    /**
+     * When <code>writeOnlyChangedFiles</code> is set, existing files are only replaced when their content
+     * (ignoring file comment with timestamp) is different.
+     */
+    private void configureFileOutput(Output output) {
+        if (settings.writeOnlyChangedFiles && output.getWriter() instanceof AtomicFileWriter) {
+            ((AtomicFileWriter) output.getWriter()).writeOnlyIfChanged(Emitter.FileCommentPrefix);
+        }
+    }
+
+    private void reportFileOutput(Output output) {
+        final GeneratorMetrics metrics = settings.getMetrics();
+        outputFiles.add(new File(output.getName()));
+        if (output.isUnchanged()) {
+            TypeScriptGenerator.getLogger().info("Content not changed, keeping file: " + output.getName());
+            metrics.count("filesUnchanged", 1);
+        } else {
+            metrics.count("filesWritten", 1);
+            metrics.countFileSize("bytesWritten", output.getName());
+        }
+    }
+
+    /**
+     * Returns files written by the last <code>generateTypeScript</code> call
+     * (output file, shards, <code>typescript-generator-info.json</code>, <code>package.json</code>),
+     * including files which were not replaced because their content didn't change.
+     */
+    public List<File> getOutputFiles() {
+        synchronized (outputFiles) {
+            return new ArrayList<>(outputFiles);
         }
     }
 
     public TypeProcessor getCommonTypeProcessor() {
+        return getCommonTypeProcessorChain();
+    }
+
+    private TypeProcessor.Chain getCommonTypeProcessorChain() {
         if (commonTypeProcessor == null) {
             final List<RestApplicationParser.Factory> restFactories = settings.getRestApplicationParserFactories();
             final ModelParser.Factory modelParserFactory = getModelParserFactory();
@@ -134,7 +337,7 @@ public class TypeScriptGenerator {
         return commonTypeProcessor;
     }
 
-    private TypeProcessor createTypeProcessor(List<TypeProcessor> specificTypeProcessors) {
+    private TypeProcessor.Chain createTypeProcessor(List<TypeProcessor> specificTypeProcessors) {
         final List<TypeProcessor> processors = new ArrayList<>();
         processors.add(new CustomSignatureTypeProcessor()); // So we can selectively output even if would otherwise be excluded
         processors.add(new ExcludingTypeProcessor(settings.getExcludeFilter()));
@@ -147,7 +350,7 @@ public class TypeScriptGenerator {
         }
         processors.addAll(specificTypeProcessors);
         processors.add(new DefaultTypeProcessor());
-        final TypeProcessor typeProcessor = new TypeProcessor.Chain(processors);
+        final TypeProcessor.Chain typeProcessor = new TypeProcessor.Chain(processors);
         return typeProcessor;
     }
 
@@ -171,7 +374,9 @@ public class TypeScriptGenerator {
             case jackson1:
                 return new Jackson1Parser.Factory();
             case jackson2:
-                return new Jackson2Parser.Jackson2ParserFactory();
+                return settings.parseClassFiles
+                        ? new Jackson2ClassFileParser.Factory()
+                        : new Jackson2Parser.Jackson2ParserFactory();
             case jaxb:
                 return new Jackson2Parser.JaxbParserFactory();
             default:
@@ -0,0 +1,98 @@
+package cz.habarta.typescript.generator.compiler;
+
+import cz.habarta.typescript.generator.TsType;
+import cz.habarta.typescript.generator.emitter.TsBeanModel;
+import cz.habarta.typescript.generator.emitter.TsModel;
+import cz.habarta.typescript.generator.emitter.TsPropertyModel;
+import java.util.*;
+
+
+/**
+ * Resolves properties which beans inherit from their parents.
+ * Properties provided by each bean to its descendants are computed only once (parents first) and reused,
+ * so shared base classes and interfaces are not walked repeatedly.
+ * Index is bound to one {@link TsModel} instance, create new index when model changes.
+ */
+public class InheritanceIndex {
+
+    private final SymbolTable symbolTable;
+    private final TsModel tsModel;
+    private final Map<TsBeanModel, Map<String, TsType>> providedProperties = new IdentityHashMap<>();
+    private final Map<TsBeanModel, List<TsPropertyModel>> providedInterfaceProperties = new IdentityHashMap<>();
+
+    public InheritanceIndex(SymbolTable symbolTable, TsModel tsModel) {
+        this.symbolTable = symbolTable;
+        this.tsModel = tsModel;
+    }
+
+    public TsModel getTsModel() {
+        return tsModel;
+    }
+
+    /**
+     * Returns bean referenced by specified type or <code>null</code> if type doesn't reference bean from the model.
+     */
+    public TsBeanModel getBean(TsType type) {
+        if (type instanceof TsType.ReferenceType) {
+            final TsType.ReferenceType referenceType = (TsType.ReferenceType) type;
+            return tsModel.getBean(symbolTable.getSymbolClass(referenceType.symbol));
+        }
+        return null;
+    }
+
+    /**
+     * Returns names and types of all properties declared in specified parents and their ancestors.
+     * Properties of later parents override properties of earlier parents and properties of descendants override properties of ancestors.
+     */
+    public Map<String, TsType> getInheritedProperties(List<TsType> parents) {
+        final Map<String, TsType> properties = new LinkedHashMap<>();
+        for (TsType parentType : parents) {
+            final TsBeanModel parent = getBean(parentType);
+            if (parent != null) {
+                properties.putAll(getProvidedProperties(parent));
+            }
+        }
+        return properties;
+    }
+
+    /**
+     * Returns properties declared in specified interfaces and interfaces they extend (ancestors first).
+     */
+    public List<TsPropertyModel> getImplementedProperties(List<TsType> interfaces) {
+        final List<TsPropertyModel> properties = new ArrayList<>();
+        for (TsType aInterface : interfaces) {
+            final TsBeanModel bean = getBean(aInterface);
+            if (bean != null) {
+                properties.addAll(getProvidedInterfaceProperties(bean));
+            }
+        }
+        return properties;
+    }
+
+    private Map<String, TsType> getProvidedProperties(TsBeanModel bean) {
+        final Map<String, TsType> cached = providedProperties.get(bean);
+        if (cached != null) {
+            return cached;
+        }
+        final Map<String, TsType> properties = getInheritedProperties(bean.getAllParents());
+        for (TsPropertyModel property : bean.getProperties()) {
+            properties.put(property.getName(), property.getTsType());
+        }
+        final Map<String, TsType> result = Collections.unmodifiableMap(properties);
+        providedProperties.put(bean, result);
+        return result;
+    }
+
+    private List<TsPropertyModel> getProvidedInterfaceProperties(TsBeanModel bean) {
+        final List<TsPropertyModel> cached = providedInterfaceProperties.get(bean);
+        if (cached != null) {
+            return cached;
+        }
+        final List<TsPropertyModel> properties = getImplementedProperties(bean.getExtendsList());
+        properties.addAll(bean.getProperties());
+        final List<TsPropertyModel> result = Collections.unmodifiableList(properties);
+        providedInterfaceProperties.put(bean, result);
+        return result;
+    }
+
+}
@@ -52,91 +52,122 @@ public class ModelCompiler {
     }
 
     public TsModel javaToTypeScript(Model model) {
+        final GeneratorMetrics metrics = settings.getMetrics();
         final SymbolTable symbolTable = new SymbolTable(settings);
-        final List<Extension.TransformerDefinition> extensionTransformers = getExtensionTransformers();
-        model = applyExtensionModelTransformers(symbolTable, model, extensionTransformers);
-        TsModel tsModel = processModel(symbolTable, model);
-        tsModel = removeInheritedProperties(symbolTable, tsModel);
-        tsModel = addImplementedProperties(symbolTable, tsModel);
+        final List<Pair<String, Extension.TransformerDefinition>> extensionTransformers = getExtensionTransformers();
+        model = applyExtensionModelTransformers(metrics, symbolTable, model, extensionTransformers);
+        final Model javaModel = model;
+        TsModel tsModel = metrics.measure("compile.processModel", () -> processModel(symbolTable, javaModel));
+        tsModel = metrics.measure("compile.removeInheritedProperties", tsModel, m -> removeInheritedProperties(symbolTable, m));
+        tsModel = metrics.measure("compile.addImplementedProperties", tsModel, m -> addImplementedProperties(symbolTable, m));
 
         // REST
         if (settings.isGenerateRest()) {
-            final Symbol responseSymbol = createRestResponseType(symbolTable, tsModel);
-            final TsType optionsType = settings.restOptionsType != null
-                    ? new TsType.VerbatimType(settings.restOptionsType)
-                    : null;
-            final TsType.GenericVariableType optionsGenericVariable = settings.restOptionsTypeIsGeneric
-                    ? new TsType.GenericVariableType(settings.restOptionsType)
-                    : null;
-            final List<RestApplicationModel> restApplicationsWithInterface = model.getRestApplications().stream()
-                    .filter(restApplication -> restApplication.getType().generateInterface.apply(settings))
-                    .collect(Collectors.toList());
-            final List<RestApplicationModel> restApplicationsWithClient = model.getRestApplications().stream()
-                    .filter(restApplication -> restApplication.getType().generateClient.apply(settings))
-                    .collect(Collectors.toList());
-            if (!restApplicationsWithInterface.isEmpty()) {
-                createRestInterfaces(tsModel, symbolTable, restApplicationsWithInterface, responseSymbol, optionsGenericVariable, optionsType);
-            }
-            if (!restApplicationsWithClient.isEmpty()) {
-                createRestClients(tsModel, symbolTable, restApplicationsWithClient, responseSymbol, optionsGenericVariable, optionsType);
-            }
+            final TsModel restModel = tsModel;
+            metrics.measure("compile.rest", () -> createRest(symbolTable, javaModel, restModel));
         }
 
         // dates
-        tsModel = transformDates(symbolTable, tsModel);
+        tsModel = metrics.measure("compile.transformDates", tsModel, m -> transformDates(symbolTable, m));
 
         // enums
-        tsModel = applyExtensionTransformers(symbolTable, tsModel, TransformationPhase.BeforeEnums, extensionTransformers);
+        tsModel = applyExtensionTransformers(metrics, symbolTable, tsModel, TransformationPhase.BeforeEnums, extensionTransformers);
+        final boolean inlineEnums = !settings.areDefaultStringEnumsOverriddenByExtension() && settings.mapEnum == EnumMapping.asInlineUnion;
         if (!settings.areDefaultStringEnumsOverriddenByExtension()) {
             if (settings.mapEnum == null || settings.mapEnum == EnumMapping.asUnion || settings.mapEnum == EnumMapping.asInlineUnion) {
-                tsModel = transformEnumsToUnions(tsModel);
-            }
-            if (settings.mapEnum == EnumMapping.asInlineUnion) {
-                tsModel = inlineEnums(tsModel, symbolTable);
+                tsModel = metrics.measure("compile.transformEnumsToUnions", tsModel, this::transformEnumsToUnions);
             }
             if (settings.mapEnum == EnumMapping.asNumberBasedEnum) {
-                tsModel = transformEnumsToNumberBasedEnum(tsModel);
+                tsModel = metrics.measure("compile.transformEnumsToNumberBasedEnum", tsModel, this::transformEnumsToNumberBasedEnum);
             }
         }
 
         // tagged unions
-        tsModel = createAndUseTaggedUnions(symbolTable, tsModel);
+        if (!settings.disableTaggedUnions) {
+            tsModel = metrics.measure("compile.createTaggedUnions", tsModel, m -> createTaggedUnions(symbolTable, m));
+        }
+
+        // inline enums and use tagged unions (in single pass)
+        final List<TsType.Transformer> transformers = new ArrayList<>();
+        final Set<TsAliasModel> inlinedAliases = new LinkedHashSet<>();
+        if (inlineEnums) {
+            transformers.add(createInlineEnumsTransformer(symbolTable, tsModel, inlinedAliases));
+        }
+        if (!settings.disableTaggedUnions) {
+            transformers.add(createUseTaggedUnionsTransformer(symbolTable));
+        }
+        tsModel = metrics.measure("compile.transformBeanPropertyTypes", tsModel, m -> transformBeanPropertyTypes(m, transformers));
+        if (!inlinedAliases.isEmpty()) {
+            tsModel = tsModel.withoutTypeAliases(new ArrayList<>(inlinedAliases));
+        }
 
         // optional properties
-        tsModel = transformOptionalProperties(symbolTable, tsModel);
+        tsModel = metrics.measure("compile.transformOptionalProperties", tsModel, m -> transformOptionalProperties(symbolTable, m));
         // todo: similar for methods with optional return values?
 
-        tsModel = applyExtensionTransformers(symbolTable, tsModel, TransformationPhase.BeforeSymbolResolution, extensionTransformers);
-        symbolTable.resolveSymbolNames();
-        tsModel = removeDeclarationsImportedFromDependencies(symbolTable, tsModel);
-        tsModel = sortDeclarations(symbolTable, tsModel);
+        tsModel = applyExtensionTransformers(metrics, symbolTable, tsModel, TransformationPhase.BeforeSymbolResolution, extensionTransformers);
+        metrics.measure("compile.resolveSymbolNames", symbolTable::resolveSymbolNames);
+        tsModel = metrics.measure("compile.removeDeclarationsImportedFromDependencies", tsModel, m -> removeDeclarationsImportedFromDependencies(symbolTable, m));
+        tsModel = metrics.measure("compile.sortDeclarations", tsModel, m -> sortDeclarations(symbolTable, m));
+        if (metrics.isEnabled()) {
+            metrics.count("symbols", symbolTable.getSymbolCount());
+            metrics.count("declarations", tsModel.getBeans().size() + tsModel.getEnums().size() + tsModel.getTypeAliases().size() + tsModel.getHelpers().size());
+        }
         return tsModel;
     }
 
-    private List<Extension.TransformerDefinition> getExtensionTransformers() {
-        final List<Extension.TransformerDefinition> transformers = new ArrayList<>();
+    private void createRest(SymbolTable symbolTable, Model model, TsModel tsModel) {
+        final Symbol responseSymbol = createRestResponseType(symbolTable, tsModel);
+        final TsType optionsType = settings.restOptionsType != null
+                ? new TsType.VerbatimType(settings.restOptionsType)
+                : null;
+        final TsType.GenericVariableType optionsGenericVariable = settings.restOptionsTypeIsGeneric
+                ? new TsType.GenericVariableType(settings.restOptionsType)
+                : null;
+        final List<RestApplicationModel> restApplicationsWithInterface = model.getRestApplications().stream()
+                .filter(restApplication -> restApplication.getType().generateInterface.apply(settings))
+                .collect(Collectors.toList());
+        final List<RestApplicationModel> restApplicationsWithClient = model.getRestApplications().stream()
+                .filter(restApplication -> restApplication.getType().generateClient.apply(settings))
+                .collect(Collectors.toList());
+        if (!restApplicationsWithInterface.isEmpty()) {
+            createRestInterfaces(tsModel, symbolTable, restApplicationsWithInterface, responseSymbol, optionsGenericVariable, optionsType);
+        }
+        if (!restApplicationsWithClient.isEmpty()) {
+            createRestClients(tsModel, symbolTable, restApplicationsWithClient, responseSymbol, optionsGenericVariable, optionsType);
+        }
+    }
+
+    /**
+     * Returns transformers from all extensions paired with name used in metrics.
+     */
+    private List<Pair<String, Extension.TransformerDefinition>> getExtensionTransformers() {
+        final List<Pair<String, Extension.TransformerDefinition>> transformers = new ArrayList<>();
         for (EmitterExtension emitterExtension : settings.extensions) {
             if (emitterExtension instanceof Extension) {
                 final Extension extension = (Extension) emitterExtension;
-                transformers.addAll(extension.getTransformers());
+                for (Extension.TransformerDefinition definition : extension.getTransformers()) {
+                    final String name = "compile.extension." + extension.getClass().getSimpleName() + "." + definition.phase;
+                    transformers.add(Pair.of(name, definition));
+                }
             }
         }
         return transformers;
     }
 
-    private static Model applyExtensionModelTransformers(SymbolTable symbolTable, Model model, List<Extension.TransformerDefinition> transformerDefinitions) {
-        for (Extension.TransformerDefinition definition : transformerDefinitions) {
-            if (definition.phase == TransformationPhase.BeforeTsModel) {
-                model = definition.transformer.transformModel(symbolTable, model);
+    private static Model applyExtensionModelTransformers(GeneratorMetrics metrics, SymbolTable symbolTable, Model model, List<Pair<String, Extension.TransformerDefinition>> transformerDefinitions) {
+        for (Pair<String, Extension.TransformerDefinition> definition : transformerDefinitions) {
+            if (definition.getValue2().phase == TransformationPhase.BeforeTsModel) {
+                model = metrics.measure(definition.getValue1(), model, m -> definition.getValue2().transformer.transformModel(symbolTable, m));
             }
         }
         return model;
     }
 
-    private static TsModel applyExtensionTransformers(SymbolTable symbolTable, TsModel model, TransformationPhase phase, List<Extension.TransformerDefinition> transformerDefinitions) {
-        for (Extension.TransformerDefinition definition : transformerDefinitions) {
-            if (definition.phase == phase) {
-                model = definition.transformer.transformModel(symbolTable, model);
+    private static TsModel applyExtensionTransformers(GeneratorMetrics metrics, SymbolTable symbolTable, TsModel model, TransformationPhase phase, List<Pair<String, Extension.TransformerDefinition>> transformerDefinitions) {
+        for (Pair<String, Extension.TransformerDefinition> definition : transformerDefinitions) {
+            if (definition.getValue2().phase == phase) {
+                model = metrics.measure(definition.getValue1(), model, m -> definition.getValue2().transformer.transformModel(symbolTable, m));
             }
         }
         return model;
@@ -384,9 +415,10 @@ public class ModelCompiler {
     }
 
     private TsModel removeInheritedProperties(SymbolTable symbolTable, TsModel tsModel) {
+        final InheritanceIndex inheritanceIndex = new InheritanceIndex(symbolTable, tsModel);
         final List<TsBeanModel> beans = new ArrayList<>();
         for (TsBeanModel bean : tsModel.getBeans()) {
-            final Map<String, TsType> inheritedPropertyTypes = getInheritedProperties(symbolTable, tsModel, bean.getAllParents());
+            final Map<String, TsType> inheritedPropertyTypes = inheritanceIndex.getInheritedProperties(bean.getAllParents());
             final List<TsPropertyModel> properties = new ArrayList<>();
             for (TsPropertyModel property : bean.getProperties()) {
                 if (property.isOwnProperty() || !Objects.equals(property.getTsType(), inheritedPropertyTypes.get(property.getName()))) {
@@ -399,6 +431,7 @@ public class ModelCompiler {
     }
 
     private TsModel addImplementedProperties(SymbolTable symbolTable, TsModel tsModel) {
+        final InheritanceIndex inheritanceIndex = new InheritanceIndex(symbolTable, tsModel);
         final List<TsBeanModel> beans = new ArrayList<>();
         for (TsBeanModel bean : tsModel.getBeans()) {
             if (bean.isClass()) {
@@ -408,9 +441,9 @@ public class ModelCompiler {
                 for (TsPropertyModel property : bean.getProperties()) {
                     classPropertyNames.add(property.getName());
                 }
-                classPropertyNames.addAll(getInheritedProperties(symbolTable, tsModel, bean.getExtendsList()).keySet());
+                classPropertyNames.addAll(inheritanceIndex.getInheritedProperties(bean.getExtendsList()).keySet());
 
-                final List<TsPropertyModel> implementedProperties = getImplementedProperties(symbolTable, tsModel, bean.getImplementsList());
+                final List<TsPropertyModel> implementedProperties = inheritanceIndex.getImplementedProperties(bean.getImplementsList());
                 Collections.reverse(implementedProperties);
                 for (TsPropertyModel implementedProperty : implementedProperties) {
                     if (!classPropertyNames.contains(implementedProperty.getName())) {
@@ -427,30 +460,11 @@ public class ModelCompiler {
         return tsModel.withBeans(beans);
     }
 
+    /**
+     * Use {@link InheritanceIndex} when resolving inherited properties of multiple beans.
+     */
     public static Map<String, TsType> getInheritedProperties(SymbolTable symbolTable, TsModel tsModel, List<TsType> parents) {
-        final Map<String, TsType> properties = new LinkedHashMap<>();
-        for (TsType parentType : parents) {
-            final TsBeanModel parent = tsModel.getBean(getOriginClass(symbolTable, parentType));
-            if (parent != null) {
-                properties.putAll(getInheritedProperties(symbolTable, tsModel, parent.getAllParents()));
-                for (TsPropertyModel property : parent.getProperties()) {
-                    properties.put(property.getName(), property.getTsType());
-                }
-            }
-        }
-        return properties;
-    }
-
-    private static List<TsPropertyModel> getImplementedProperties(SymbolTable symbolTable, TsModel tsModel, List<TsType> interfaces) {
-        final List<TsPropertyModel> properties = new ArrayList<>();
-        for (TsType aInterface : interfaces) {
-            final TsBeanModel bean = tsModel.getBean(getOriginClass(symbolTable, aInterface));
-            if (bean != null) {
-                properties.addAll(getImplementedProperties(symbolTable, tsModel, bean.getExtendsList()));
-                properties.addAll(bean.getProperties());
-            }
-        }
-        return properties;
+        return new InheritanceIndex(symbolTable, tsModel).getInheritedProperties(parents);
     }
 
     private Symbol createRestResponseType(SymbolTable symbolTable, TsModel tsModel) {
@@ -743,9 +757,8 @@ public class ModelCompiler {
         return tsModel.withoutEnums(stringEnums).withTypeAliases(new ArrayList<>(typeAliases));
     }
 
-    private TsModel inlineEnums(final TsModel tsModel, final SymbolTable symbolTable) {
-        final Set<TsAliasModel> inlinedAliases = new LinkedHashSet<>();
-        final TsModel newTsModel = transformBeanPropertyTypes(tsModel, new TsType.Transformer() {
+    private static TsType.Transformer createInlineEnumsTransformer(SymbolTable symbolTable, TsModel tsModel, Set<TsAliasModel> inlinedAliases) {
+        return new TsType.Transformer() {
             @Override
             public TsType transform(TsType.Context context, TsType tsType) {
                 if (tsType instanceof TsType.EnumReferenceType) {
@@ -757,8 +770,7 @@ public class ModelCompiler {
                 }
                 return tsType;
             }
-        });
-        return newTsModel.withoutTypeAliases(new ArrayList<>(inlinedAliases));
+        };
     }
 
     private TsModel transformEnumsToNumberBasedEnum(TsModel tsModel) {
@@ -774,11 +786,7 @@ public class ModelCompiler {
         return tsModel.withoutEnums(stringEnums).withEnums(new ArrayList<>(enums));
     }
 
-    private TsModel createAndUseTaggedUnions(final SymbolTable symbolTable, TsModel tsModel) {
-        if (settings.disableTaggedUnions) {
-            return tsModel;
-        }
-        // create tagged unions
+    private static TsModel createTaggedUnions(SymbolTable symbolTable, TsModel tsModel) {
         final List<TsBeanModel> beans = new ArrayList<>();
         final LinkedHashSet<TsAliasModel> typeAliases = new LinkedHashSet<>(tsModel.getTypeAliases());
         for (TsBeanModel bean : tsModel.getBeans()) {
@@ -797,9 +805,11 @@ public class ModelCompiler {
                 beans.add(bean);
             }
         }
-        final TsModel modelWithTaggedUnions = tsModel.withBeans(beans).withTypeAliases(new ArrayList<>(typeAliases));
-        // use tagged unions
-        final TsModel modelWithUsedTaggedUnions = transformBeanPropertyTypes(modelWithTaggedUnions, new TsType.Transformer() {
+        return tsModel.withBeans(beans).withTypeAliases(new ArrayList<>(typeAliases));
+    }
+
+    private static TsType.Transformer createUseTaggedUnionsTransformer(SymbolTable symbolTable) {
+        return new TsType.Transformer() {
             @Override
             public TsType transform(TsType.Context context, TsType tsType) {
                 final Class<?> cls = getOriginClass(symbolTable, tsType);
@@ -811,16 +821,21 @@ public class ModelCompiler {
                 }
                 return tsType;
             }
-        });
-        return modelWithUsedTaggedUnions;
+        };
     }
 
     private TsModel transformOptionalProperties(final SymbolTable symbolTable, TsModel tsModel) {
+        if (settings.optionalPropertiesDeclaration == null || settings.optionalPropertiesDeclaration == OptionalPropertiesDeclaration.questionMark) {
+            return tsModel;
+        }
         return tsModel.withBeans(tsModel.getBeans().stream()
                 .map(bean -> {
                     if (bean.getCategory() != TsBeanCategory.Data) {
                         return bean;
                     }
+                    if (bean.getProperties().stream().noneMatch(property -> property.getTsType() instanceof TsType.OptionalType)) {
+                        return bean;
+                    }
                     return bean.withProperties(bean.getProperties().stream()
                             .map(property -> {
                                 if (property.getTsType() instanceof TsType.OptionalType) {
@@ -903,27 +918,58 @@ public class ModelCompiler {
     }
 
     private static TsModel transformBeanPropertyTypes(TsModel tsModel, TsType.Transformer transformer) {
+        return transformBeanPropertyTypes(tsModel, Collections.singletonList(transformer));
+    }
+
+    /**
+     * Applies all transformers in single traversal of each type.
+     * Beans, properties and methods are copied only when some of their types changed.
+     */
+    private static TsModel transformBeanPropertyTypes(TsModel tsModel, List<TsType.Transformer> transformers) {
+        if (transformers.isEmpty()) {
+            return tsModel;
+        }
+        final TsType.Transformer transformer = TsType.Transformer.compose(transformers);
+        boolean changed = false;
         final List<TsBeanModel> newBeans = new ArrayList<>();
         for (TsBeanModel bean : tsModel.getBeans()) {
             final TsType.Context context = new TsType.Context();
+            boolean beanChanged = false;
             final List<TsPropertyModel> newProperties = new ArrayList<>();
             for (TsPropertyModel property : bean.getProperties()) {
                 final TsType newType = TsType.transformTsType(context, property.getTsType(), transformer);
-                newProperties.add(property.setTsType(newType));
+                if (newType != property.getTsType()) {
+                    newProperties.add(property.setTsType(newType));
+                    beanChanged = true;
+                } else {
+                    newProperties.add(property);
+                }
             }
             final List<TsMethodModel> newMethods = new ArrayList<>();
             for (TsMethodModel method : bean.getMethods()) {
+                boolean methodChanged = false;
                 final List<TsParameterModel> newParameters = new ArrayList<>();
                 for (TsParameterModel parameter : method.getParameters()) {
                     final TsType newParameterType = TsType.transformTsType(context, parameter.getTsType(), transformer);
-                    newParameters.add(new TsParameterModel(parameter.getAccessibilityModifier(), parameter.getName(), newParameterType));
+                    if (newParameterType != parameter.getTsType()) {
+                        newParameters.add(new TsParameterModel(parameter.getAccessibilityModifier(), parameter.getName(), newParameterType));
+                        methodChanged = true;
+                    } else {
+                        newParameters.add(parameter);
+                    }
                 }
                 final TsType newReturnType = TsType.transformTsType(context, method.getReturnType(), transformer);
-                newMethods.add(new TsMethodModel(method.getName(), method.getModifiers(), method.getTypeParameters(), newParameters, newReturnType, method.getBody(), method.getComments()));
+                if (methodChanged || newReturnType != method.getReturnType()) {
+                    newMethods.add(new TsMethodModel(method.getName(), method.getModifiers(), method.getTypeParameters(), newParameters, newReturnType, method.getBody(), method.getComments()));
+                    beanChanged = true;
+                } else {
+                    newMethods.add(method);
+                }
             }
-            newBeans.add(bean.withProperties(newProperties).withMethods(newMethods));
+            newBeans.add(beanChanged ? bean.withProperties(newProperties).withMethods(newMethods) : bean);
+            changed = changed || beanChanged;
         }
-        return tsModel.withBeans(newBeans);
+        return changed ? tsModel.withBeans(newBeans) : tsModel;
     }
 
     private static Class<?> getOriginClass(SymbolTable symbolTable, TsType type) {
@@ -7,6 +7,8 @@ import cz.habarta.typescript.generator.util.Pair;
 import cz.habarta.typescript.generator.util.Utils;
 import java.util.*;
 import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.regex.Pattern;
 import javax.script.Invocable;
 import javax.script.ScriptEngine;
@@ -19,12 +21,15 @@ import jdk.nashorn.api.scripting.ScriptObjectMirror;
 
 /**
  * Name table.
+ * Symbols can be registered concurrently, {@link #resolveSymbolNames()} processes them in registration order.
  */
 public class SymbolTable {
 
     private final Settings settings;
-    private final LinkedHashMap<Pair<Class<?>, String>, Symbol> symbols = new LinkedHashMap<>();
-    private final LinkedHashMap<String, Symbol> syntheticSymbols = new LinkedHashMap<>();
+    private final Map<Pair<Class<?>, String>, Symbol> symbols = new ConcurrentHashMap<>();
+    private final Map<Symbol, Pair<Class<?>, String>> symbolKeys = new ConcurrentHashMap<>();  // reverse index, Symbol uses identity
+    private final Queue<Pair<Class<?>, String>> symbolsOrder = new ConcurrentLinkedQueue<>();  // registration order
+    private final Map<String, Symbol> syntheticSymbols = new ConcurrentHashMap<>();
     private CustomTypeNamingFunction customTypeNamingFunction;
 
     public SymbolTable(Settings settings) {
@@ -38,10 +43,16 @@ public class SymbolTable {
     public Symbol getSymbol(Class<?> cls, String suffix) {
         final String suffixString = suffix != null ? suffix : "";
         final Pair<Class<?>, String> key = Pair.<Class<?>, String>of(cls, suffixString);
-        if (!symbols.containsKey(key)) {
-            symbols.put(key, new Symbol("$" + cls.getName().replace('.', '$') + suffixString + "$"));
+        final Symbol symbol = symbols.get(key);
+        if (symbol != null) {
+            return symbol;
         }
-        return symbols.get(key);
+        return symbols.computeIfAbsent(key, k -> {
+            final Symbol newSymbol = new Symbol("$" + cls.getName().replace('.', '$') + suffixString + "$");
+            symbolKeys.put(newSymbol, k);
+            symbolsOrder.add(k);
+            return newSymbol;
+        });
     }
 
     public Symbol hasSymbol(Class<?> cls, String suffix) {
@@ -49,19 +60,12 @@ public class SymbolTable {
     }
 
     public Class<?> getSymbolClass(Symbol symbol) {
-        for (Map.Entry<Pair<Class<?>, String>, Symbol> entry : symbols.entrySet()) {
-            if (entry.getValue() == symbol) {
-                return entry.getKey().getValue1();
-            }
-        }
-        return null;
+        final Pair<Class<?>, String> key = symbolKeys.get(symbol);
+        return key != null ? key.getValue1() : null;
     }
 
     public Symbol getSyntheticSymbol(String name) {
-        if (!syntheticSymbols.containsKey(name)) {
-            syntheticSymbols.put(name, new Symbol(name));
-        }
-        return syntheticSymbols.get(name);
+        return syntheticSymbols.computeIfAbsent(name, Symbol::new);
     }
 
     public Symbol getSyntheticSymbol(String name, String suffix) {
@@ -70,21 +74,24 @@ public class SymbolTable {
 
     public Symbol addSuffixToSymbol(Symbol symbol, String suffix) {
         // try symbols
-        for (Map.Entry<Pair<Class<?>, String>, Symbol> entry : symbols.entrySet()) {
-            if (entry.getValue() == symbol) {
-                return getSymbol(entry.getKey().getValue1(), entry.getKey().getValue2() + suffix);
-            }
+        final Pair<Class<?>, String> key = symbolKeys.get(symbol);
+        if (key != null) {
+            return getSymbol(key.getValue1(), key.getValue2() + suffix);
         }
         // syntheticSymbols
         return getSyntheticSymbol(symbol.getFullName() + suffix);
     }
 
+    public int getSymbolCount() {
+        return symbols.size() + syntheticSymbols.size();
+    }
+
     public void resolveSymbolNames() {
         final Map<String, List<Class<?>>> names = new LinkedHashMap<>();
-        for (Map.Entry<Pair<Class<?>, String>, Symbol> entry : symbols.entrySet()) {
-            final Class<?> cls = entry.getKey().getValue1();
-            final String suffix = entry.getKey().getValue2();
-            final Symbol symbol = entry.getValue();
+        for (Pair<Class<?>, String> key : symbolsOrder) {
+            final Class<?> cls = key.getValue1();
+            final String suffix = key.getValue2();
+            final Symbol symbol = symbols.get(key);
             setSymbolQualifiedName(symbol, cls, suffix);
             final String fullName = symbol.getFullName();
             if (!names.containsKey(fullName)) {
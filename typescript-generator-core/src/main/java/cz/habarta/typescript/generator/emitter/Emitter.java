@@ -9,6 +9,8 @@ import cz.habarta.typescript.generator.util.Utils;
 import java.io.*;
 import java.text.*;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 
 
 public class Emitter implements EmitterExtension.Writer {
@@ -17,9 +19,18 @@ public class Emitter implements EmitterExtension.Writer {
     private Writer writer;
     private boolean forceExportKeyword;
     private int indent;
+    private String[] indentPrefixes = new String[0];
+    private List<String> shardImports = Collections.emptyList();
+    private int emittingThreads;
+
+    /**
+     * Prefix of file comment line which contains generator version and timestamp.
+     */
+    public static final String FileCommentPrefix = "// Generated using typescript-generator version ";
 
     public Emitter(Settings settings) {
         this.settings = settings;
+        this.emittingThreads = settings.getEmittingThreads();
     }
 
     public void emit(TsModel model, Writer output, String outputName, boolean closeOutput, boolean forceExportKeyword, int initialIndentationLevel) {
@@ -36,6 +47,44 @@ public class Emitter implements EmitterExtension.Writer {
         emitUmdNamespace();
         if (closeOutput) {
             close();
+        } else {
+            flush();
+        }
+    }
+
+    /**
+     * Emits one shard of sharded output.
+     * @param imports symbol names imported from other shards keyed by shard name (see {@link ShardedOutput.Shard#getImports()})
+     */
+    public void emitShard(TsModel model, Map<String, Set<String>> imports, Writer output, String outputName, boolean closeOutput) {
+        final List<String> importDeclarations = new ArrayList<>();
+        for (Map.Entry<String, Set<String>> entry : imports.entrySet()) {
+            importDeclarations.add("import { " + Utils.join(entry.getValue(), ", ") + " } from " + quote("./" + entry.getKey(), settings) + ";");
+        }
+        this.shardImports = importDeclarations;
+        // shards are already emitted concurrently
+        this.emittingThreads = 1;
+        emit(model, output, outputName, closeOutput, false, 0);
+    }
+
+    /**
+     * Emits index module which re-exports all shards of sharded output.
+     */
+    public void emitShardIndex(List<String> shardNames, Writer output, String outputName, boolean closeOutput) {
+        this.writer = output;
+        this.indent = 0;
+        if (outputName != null) {
+            TypeScriptGenerator.getLogger().info("Writing shard index to: " + outputName);
+        }
+        emitFileComment();
+        writeNewLine();
+        for (String shardName : shardNames) {
+            writeIndentedLine("export * from " + quote("./" + shardName, settings) + ";");
+        }
+        if (closeOutput) {
+            close();
+        } else {
+            flush();
         }
     }
 
@@ -48,7 +97,7 @@ public class Emitter implements EmitterExtension.Writer {
         }
         if (!settings.noFileComment) {
             final String timestamp = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss").format(new Date());
-            writeIndentedLine("// Generated using typescript-generator version " + TypeScriptGenerator.Version + " on " + timestamp + ".");
+            writeIndentedLine(FileCommentPrefix + TypeScriptGenerator.Version + " on " + timestamp + ".");
         }
     }
 
@@ -74,6 +123,12 @@ public class Emitter implements EmitterExtension.Writer {
                 writeIndentedLine(importDeclaration + ";");
             }
         }
+        if (!shardImports.isEmpty()) {
+            writeNewLine();
+            for (String importDeclaration : shardImports) {
+                writeIndentedLine(importDeclaration);
+            }
+        }
     }
 
     private void emitModule(TsModel model) {
@@ -115,11 +170,12 @@ public class Emitter implements EmitterExtension.Writer {
     }
 
     private void emitElements(TsModel model, boolean exportKeyword, boolean declareKeyword) {
-        exportKeyword = exportKeyword || forceExportKeyword;
-        emitBeans(model, exportKeyword, declareKeyword);
-        emitTypeAliases(model, exportKeyword, declareKeyword);
-        emitLiteralEnums(model, exportKeyword, declareKeyword);
-        emitHelpers(model);
+        final boolean export = exportKeyword || forceExportKeyword;
+        final GeneratorMetrics metrics = settings.getMetrics();
+        metrics.measure("emit.beans", () -> emitBeans(model, export, declareKeyword));
+        metrics.measure("emit.typeAliases", () -> emitTypeAliases(model, export, declareKeyword));
+        metrics.measure("emit.enums", () -> emitLiteralEnums(model, export, declareKeyword));
+        metrics.measure("emit.helpers", () -> emitHelpers(model));
         for (EmitterExtension emitterExtension : settings.extensions) {
             final List<String> extensionLines = new ArrayList<>();
             final EmitterExtension.Writer extensionWriter = new EmitterExtension.Writer() {
@@ -128,7 +184,8 @@ public class Emitter implements EmitterExtension.Writer {
                     extensionLines.add(line);
                 }
             };
-            emitterExtension.emitElements(extensionWriter, settings, exportKeyword, model);
+            metrics.measure("emit.extension." + emitterExtension.getClass().getSimpleName(),
+                    () -> emitterExtension.emitElements(extensionWriter, settings, export, model));
             if (!extensionLines.isEmpty()) {
                 writeNewLine();
                 writeNewLine();
@@ -141,21 +198,61 @@ public class Emitter implements EmitterExtension.Writer {
     }
 
     private void emitBeans(TsModel model, boolean exportKeyword, boolean declareKeyword) {
-        for (TsBeanModel bean : model.getBeans()) {
-            emitFullyQualifiedDeclaration(bean, exportKeyword, declareKeyword);
-        }
+        emitDeclarations(model.getBeans(), exportKeyword, declareKeyword);
     }
 
     private void emitTypeAliases(TsModel model, boolean exportKeyword, boolean declareKeyword) {
-        for (TsAliasModel alias : model.getTypeAliases()) {
-            emitFullyQualifiedDeclaration(alias, exportKeyword, declareKeyword);
-        }
+        emitDeclarations(model.getTypeAliases(), exportKeyword, declareKeyword);
     }
 
     private void emitLiteralEnums(TsModel model, boolean exportKeyword, boolean declareKeyword) {
-        for (TsEnumModel enumModel : model.getEnums()) {
-            emitFullyQualifiedDeclaration(enumModel, exportKeyword, declareKeyword);
+        emitDeclarations(model.getEnums(), exportKeyword, declareKeyword);
+    }
+
+    /**
+     * When <code>emittingThreads</code> is greater than 1 declarations are rendered concurrently into separate buffers
+     * (each buffer contains consecutive chunk of declarations) and buffers are written in original order
+     * so the output is the same as when declarations are rendered sequentially.
+     */
+    private void emitDeclarations(List<? extends TsDeclarationModel> declarations, boolean exportKeyword, boolean declareKeyword) {
+        final int threads = Math.min(emittingThreads, declarations.size() / MinDeclarationsPerChunk);
+        if (threads <= 1) {
+            for (TsDeclarationModel declaration : declarations) {
+                emitFullyQualifiedDeclaration(declaration, exportKeyword, declareKeyword);
+            }
+            return;
         }
+        // more chunks than threads so threads are evenly loaded even if declarations differ in size
+        final int chunkSize = Math.max(MinDeclarationsPerChunk, declarations.size() / (threads * 4));
+        final ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            final List<ForkJoinTask<String>> chunks = new ArrayList<>();
+            for (int from = 0; from < declarations.size(); from += chunkSize) {
+                final List<? extends TsDeclarationModel> chunk = declarations.subList(from, Math.min(from + chunkSize, declarations.size()));
+                chunks.add(pool.submit(() -> renderDeclarations(chunk, exportKeyword, declareKeyword)));
+            }
+            for (ForkJoinTask<String> chunk : chunks) {
+                writer.write(chunk.join());
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static final int MinDeclarationsPerChunk = 16;
+
+    private String renderDeclarations(List<? extends TsDeclarationModel> declarations, boolean exportKeyword, boolean declareKeyword) {
+        final StringWriter buffer = new StringWriter();
+        final Emitter emitter = new Emitter(settings);
+        emitter.writer = buffer;
+        emitter.forceExportKeyword = forceExportKeyword;
+        emitter.indent = indent;
+        for (TsDeclarationModel declaration : declarations) {
+            emitter.emitFullyQualifiedDeclaration(declaration, exportKeyword, declareKeyword);
+        }
+        return buffer.toString();
     }
 
     private void emitFullyQualifiedDeclaration(TsDeclarationModel declaration, boolean exportKeyword, boolean declareKeyword) {
@@ -455,21 +552,40 @@ public class Emitter implements EmitterExtension.Writer {
     @Override
     public void writeIndentedLine(String line) {
         try {
-            if (!line.isEmpty()) {
-                for (int i = 0; i < indent; i++) {
-                    writer.write(settings.indentString);
-                }
+            if (!line.isEmpty() && indent > 0) {
+                writer.write(getIndentPrefix(indent));
             }
             writer.write(line);
-            writeNewLine();
+            writer.write(settings.newline);
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
     }
 
+    private String getIndentPrefix(int level) {
+        if (level >= indentPrefixes.length) {
+            indentPrefixes = Arrays.copyOf(indentPrefixes, level + 1);
+        }
+        if (indentPrefixes[level] == null) {
+            final StringBuilder sb = new StringBuilder();
+            for (int i = 0; i < level; i++) {
+                sb.append(settings.indentString);
+            }
+            indentPrefixes[level] = sb.toString();
+        }
+        return indentPrefixes[level];
+    }
+
     private void writeNewLine() {
         try {
             writer.write(settings.newline);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private void flush() {
+        try {
             writer.flush();
         } catch (IOException e) {
             throw new RuntimeException(e);
@@ -0,0 +1,176 @@
+package cz.habarta.typescript.generator.emitter;
+
+import cz.habarta.typescript.generator.OutputSharding;
+import cz.habarta.typescript.generator.Settings;
+import cz.habarta.typescript.generator.TsParameter;
+import cz.habarta.typescript.generator.TsProperty;
+import cz.habarta.typescript.generator.TsType;
+import cz.habarta.typescript.generator.compiler.Symbol;
+import cz.habarta.typescript.generator.util.ClassNameMatcher;
+import cz.habarta.typescript.generator.util.Pair;
+import java.util.*;
+
+
+/**
+ * Splits {@link TsModel} into shards (one module file per shard) according to <code>outputSharding</code> setting
+ * and computes imports between shards from symbols referenced in declarations.
+ * Declarations are assigned to shards by Java package or by <code>outputShards</code> patterns
+ * (declarations without origin class like <code>RestResponse</code> go to {@link #CommonShard}).
+ * Order of declarations in each shard is the same as in original model.
+ */
+public class ShardedOutput {
+
+    public static final String CommonShard = "common";
+    public static final String DefaultPackageShard = "default";
+
+    private final List<Shard> shards;
+
+    private ShardedOutput(List<Shard> shards) {
+        this.shards = shards;
+    }
+
+    public List<Shard> getShards() {
+        return shards;
+    }
+
+    public static ShardedOutput split(Settings settings, TsModel model) {
+        final ShardNaming naming = new ShardNaming(settings);
+        final Map<String, Shard> shardsByName = new TreeMap<>();
+        final Map<Symbol, Shard> shardsBySymbol = new IdentityHashMap<>();
+        final List<Pair<Shard, TsDeclarationModel>> declarations = new ArrayList<>();
+        final List<TsDeclarationModel> allDeclarations = new ArrayList<>();
+        allDeclarations.addAll(model.getBeans());
+        allDeclarations.addAll(model.getTypeAliases());
+        allDeclarations.addAll(model.getEnums());
+        for (TsDeclarationModel declaration : allDeclarations) {
+            final Symbol symbol = declaration.getName();
+            if (symbol.getNamespace() != null || symbol.getModule() != null) {
+                throw new RuntimeException(String.format("Sharded output doesn't support namespaced type names, type '%s' has namespace.", symbol.getFullName()));
+            }
+            final Shard shard = shardsByName.computeIfAbsent(naming.getShardName(declaration), Shard::new);
+            shardsBySymbol.put(symbol, shard);
+            declarations.add(Pair.of(shard, declaration));
+        }
+        for (Pair<Shard, TsDeclarationModel> pair : declarations) {
+            final Shard shard = pair.getValue1();
+            final TsDeclarationModel declaration = pair.getValue2();
+            shard.add(declaration);
+            for (Symbol symbol : getReferencedSymbols(declaration)) {
+                final Shard declaringShard = shardsBySymbol.get(symbol);
+                if (declaringShard != null && declaringShard != shard) {
+                    shard.imports.computeIfAbsent(declaringShard.name, name -> new TreeSet<>()).add(symbol.getSimpleName());
+                }
+            }
+        }
+        return new ShardedOutput(new ArrayList<>(shardsByName.values()));
+    }
+
+    private static Set<Symbol> getReferencedSymbols(TsDeclarationModel declaration) {
+        final List<TsType> types = new ArrayList<>();
+        if (declaration instanceof TsBeanModel) {
+            final TsBeanModel bean = (TsBeanModel) declaration;
+            types.addAll(bean.getExtendsList());
+            types.addAll(bean.getImplementsList());
+            for (TsProperty property : bean.getProperties()) {
+                types.add(property.getTsType());
+            }
+            final List<TsCallableModel> callables = new ArrayList<>(bean.getMethods());
+            if (bean.getConstructor() != null) {
+                callables.add(bean.getConstructor());
+            }
+            for (TsCallableModel callable : callables) {
+                for (TsParameter parameter : callable.getParameters()) {
+                    types.add(parameter.getTsType());
+                }
+                if (callable.getReturnType() != null) {
+                    types.add(callable.getReturnType());
+                }
+            }
+        }
+        if (declaration instanceof TsAliasModel) {
+            types.add(((TsAliasModel) declaration).getDefinition());
+        }
+        final Set<Symbol> symbols = Collections.newSetFromMap(new IdentityHashMap<>());
+        final TsType.Context context = new TsType.Context();
+        for (TsType type : types) {
+            if (type != null) {
+                TsType.transformTsType(context, type, (ctx, tsType) -> {
+                    if (tsType instanceof TsType.ReferenceType) {
+                        symbols.add(((TsType.ReferenceType) tsType).symbol);
+                    }
+                    return tsType;
+                });
+            }
+        }
+        return symbols;
+    }
+
+    private static class ShardNaming {
+        private final OutputSharding sharding;
+        private final List<Pair<ClassNameMatcher, String>> patterns = new ArrayList<>();
+
+        public ShardNaming(Settings settings) {
+            this.sharding = settings.outputSharding;
+            for (Map.Entry<String, String> entry : settings.outputShards.entrySet()) {
+                patterns.add(Pair.of(new ClassNameMatcher(Collections.singletonList(entry.getKey())), entry.getValue()));
+            }
+        }
+
+        public String getShardName(TsDeclarationModel declaration) {
+            final Class<?> origin = declaration.getOrigin();
+            if (origin == null) {
+                return CommonShard;
+            }
+            for (Pair<ClassNameMatcher, String> pattern : patterns) {
+                if (pattern.getValue1().test(origin.getName())) {
+                    return pattern.getValue2();
+                }
+            }
+            if (sharding == OutputSharding.javaPackage) {
+                final String packageName = origin.getName().contains(".")
+                        ? origin.getName().substring(0, origin.getName().lastIndexOf('.'))
+                        : "";
+                return packageName.isEmpty() ? DefaultPackageShard : packageName;
+            }
+            return CommonShard;
+        }
+    }
+
+    public static class Shard {
+        private final String name;
+        private final List<TsBeanModel> beans = new ArrayList<>();
+        private final List<TsAliasModel> typeAliases = new ArrayList<>();
+        private final List<TsEnumModel> enums = new ArrayList<>();
+        private final Map<String, Set<String>> imports = new TreeMap<>();
+
+        private Shard(String name) {
+            this.name = name;
+        }
+
+        private void add(TsDeclarationModel declaration) {
+            if (declaration instanceof TsBeanModel) {
+                beans.add((TsBeanModel) declaration);
+            } else if (declaration instanceof TsAliasModel) {
+                typeAliases.add((TsAliasModel) declaration);
+            } else if (declaration instanceof TsEnumModel) {
+                enums.add((TsEnumModel) declaration);
+            }
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public TsModel getModel() {
+            return new TsModel(beans, enums, Collections.<TsEnumModel>emptyList(), typeAliases, Collections.<TsHelper>emptyList());
+        }
+
+        /**
+         * Names of symbols imported from other shards, keyed by shard name.
+         */
+        public Map<String, Set<String>> getImports() {
+            return imports;
+        }
+    }
+
+}
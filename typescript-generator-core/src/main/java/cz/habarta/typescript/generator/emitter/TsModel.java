@@ -9,10 +9,10 @@ import java.util.*;
 
 public class TsModel {
 
-    private final List<TsBeanModel> beans;
+    private final DeclarationList<TsBeanModel> beans;
     private final List<TsEnumModel> enums;
     private final List<TsEnumModel> originalStringEnums;
-    private final List<TsAliasModel> typeAliases;
+    private final DeclarationList<TsAliasModel> typeAliases;
     private final List<TsHelper> helpers;
 
     public TsModel() {
@@ -23,10 +23,10 @@ public class TsModel {
         if (beans == null) throw new NullPointerException();
         if (enums == null) throw new NullPointerException();
         if (typeAliases == null) throw new NullPointerException();
-        this.beans = beans;
+        this.beans = DeclarationList.of(beans);
         this.enums = enums;
         this.originalStringEnums = originalStringEnums;
-        this.typeAliases = typeAliases;
+        this.typeAliases = DeclarationList.of(typeAliases);
         this.helpers = helpers;
     }
 
@@ -35,25 +35,11 @@ public class TsModel {
     }
 
     public TsBeanModel getBean(Class<?> origin) {
-        if (origin != null) {
-            for (TsBeanModel bean : beans) {
-                if (Objects.equals(bean.getOrigin(), origin)) {
-                    return bean;
-                }
-            }
-        }
-        return null;
+        return origin != null ? beans.getIndex().byOrigin.get(origin) : null;
     }
 
     public TsBeanModel getBean(Symbol name) {
-        if (name != null) {
-            for (TsBeanModel bean : beans) {
-                if (Objects.equals(bean.getName(), name)) {
-                    return bean;
-                }
-            }
-        }
-        return null;
+        return name != null ? beans.getIndex().byName.get(name) : null;
     }
 
     public TsModel withBeans(List<TsBeanModel> beans) {
@@ -100,14 +86,7 @@ public class TsModel {
     }
 
     public TsAliasModel getTypeAlias(Class<?> origin) {
-        if (origin != null) {
-            for (TsAliasModel alias : typeAliases) {
-                if (Objects.equals(alias.getOrigin(), origin)) {
-                    return alias;
-                }
-            }
-        }
-        return null;
+        return origin != null ? typeAliases.getIndex().byOrigin.get(origin) : null;
     }
 
     public TsModel withTypeAliases(List<TsAliasModel> typeAliases) {
@@ -122,4 +101,88 @@ public class TsModel {
         return helpers;
     }
 
+    /**
+     * Mutable list of declarations with lazily built lookup index.
+     * Declarations are copied from the list passed to the model so the list cannot be modified other way than through this list
+     * and all modifications drop the index so it is rebuilt on next lookup.
+     * List is shared by copies of the model which contain it so the index is shared too.
+     */
+    private static class DeclarationList<T extends TsDeclarationModel> extends AbstractList<T> implements RandomAccess {
+        private final List<T> declarations;
+        private volatile DeclarationIndex<T> index;
+
+        private DeclarationList(List<T> declarations) {
+            this.declarations = new ArrayList<>(declarations);
+        }
+
+        public static <T extends TsDeclarationModel> DeclarationList<T> of(List<T> declarations) {
+            return declarations instanceof DeclarationList ? (DeclarationList<T>) declarations : new DeclarationList<>(declarations);
+        }
+
+        @Override
+        public T get(int index) {
+            return declarations.get(index);
+        }
+
+        @Override
+        public int size() {
+            return declarations.size();
+        }
+
+        @Override
+        public T set(int index, T element) {
+            final T previous = declarations.set(index, element);
+            this.index = null;
+            return previous;
+        }
+
+        @Override
+        public void add(int index, T element) {
+            declarations.add(index, element);
+            modCount++;
+            this.index = null;
+        }
+
+        @Override
+        public T remove(int index) {
+            final T removed = declarations.remove(index);
+            modCount++;
+            this.index = null;
+            return removed;
+        }
+
+        public DeclarationIndex<T> getIndex() {
+            DeclarationIndex<T> result = index;
+            if (result == null) {
+                result = new DeclarationIndex<>(declarations);
+                index = result;
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Immutable index of declarations by origin class and by symbol.
+     * When there are more declarations with the same key the first one wins (the same as linear search).
+     */
+    private static class DeclarationIndex<T extends TsDeclarationModel> {
+        private final Map<Class<?>, T> byOrigin;
+        private final Map<Symbol, T> byName;
+
+        public DeclarationIndex(List<T> declarations) {
+            final Map<Class<?>, T> byOrigin = new IdentityHashMap<>();
+            final Map<Symbol, T> byName = new IdentityHashMap<>();
+            for (T declaration : declarations) {
+                if (declaration.getOrigin() != null) {
+                    byOrigin.putIfAbsent(declaration.getOrigin(), declaration);
+                }
+                if (declaration.getName() != null) {
+                    byName.putIfAbsent(declaration.getName(), declaration);
+                }
+            }
+            this.byOrigin = byOrigin;
+            this.byName = byName;
+        }
+    }
+
 }
@@ -4,6 +4,7 @@ package cz.habarta.typescript.generator.ext;
 import cz.habarta.typescript.generator.Extension;
 import cz.habarta.typescript.generator.TsParameter;
 import cz.habarta.typescript.generator.TsType;
+import cz.habarta.typescript.generator.compiler.InheritanceIndex;
 import cz.habarta.typescript.generator.compiler.ModelCompiler;
 import cz.habarta.typescript.generator.compiler.ModelTransformer;
 import cz.habarta.typescript.generator.compiler.Symbol;
@@ -89,10 +90,11 @@ public class JsonDeserializationExtension extends Extension {
     private static TsModel createDeserializationMethods(SymbolTable symbolTable, TsModel tsModel) {
         tsModel.getHelpers().add(TsHelper.loadFromResource("/helpers/jsonDeserialization.ts"));
         final List<TsBeanModel> beans = new ArrayList<>();
+        final InheritanceIndex inheritanceIndex = new InheritanceIndex(symbolTable, tsModel);
         for (TsBeanModel bean : tsModel.getBeans()) {
             if (bean.isDataClass()) {
                 final List<TsMethodModel> methods = new ArrayList<>(bean.getMethods());
-                final TsMethodModel deserializationMethod = createDeserializationMethod(symbolTable, tsModel, bean);
+                final TsMethodModel deserializationMethod = createDeserializationMethod(symbolTable, tsModel, inheritanceIndex, bean);
                 methods.add(0, deserializationMethod);
                 if (!bean.getTypeParameters().isEmpty()) {
                     final TsMethodModel genericFunctionConstructor = createDeserializationGenericFunctionConstructor(symbolTable, tsModel, bean);
@@ -110,7 +112,7 @@ public class JsonDeserializationExtension extends Extension {
         return tsModel.withBeans(beans);
     }
 
-    private static TsMethodModel createDeserializationMethod(SymbolTable symbolTable, TsModel tsModel, TsBeanModel bean) {
+    private static TsMethodModel createDeserializationMethod(SymbolTable symbolTable, TsModel tsModel, InheritanceIndex inheritanceIndex, TsBeanModel bean) {
         final Symbol beanIdentifier = symbolTable.getSymbol(bean.getOrigin());
         List<TsType.GenericVariableType> typeParameters = getTypeParameters(bean.getOrigin());
 
@@ -143,8 +145,8 @@ public class JsonDeserializationExtension extends Extension {
                     )
             ));
         }
+        final Map<String, TsType> inheritedProperties = inheritanceIndex.getInheritedProperties(Utils.listFromNullable(bean.getParent()));
         for (TsPropertyModel property : bean.getProperties()) {
-            final Map<String, TsType> inheritedProperties = ModelCompiler.getInheritedProperties(symbolTable, tsModel, Utils.listFromNullable(bean.getParent()));
             if (!inheritedProperties.containsKey(property.getName())) {
                 body.add(new TsExpressionStatement(new TsAssignmentExpression(
                         new TsMemberExpression(new TsIdentifierReference("instance"), property.name),
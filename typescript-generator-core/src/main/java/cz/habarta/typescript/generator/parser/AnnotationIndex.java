@@ -0,0 +1,141 @@
+package cz.habarta.typescript.generator.parser;
+
+import cz.habarta.typescript.generator.Settings;
+import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+
+/**
+ * Records which of the annotations configured in <code>includePropertyAnnotations</code>, <code>excludePropertyAnnotations</code>
+ * and <code>optionalAnnotations</code> are present on classes and members.
+ * Each configured annotation has one bit so presence of all of them is resolved in one pass
+ * and include/exclude/optional checks are just bit set intersections.
+ * Index is created for each parsing run and can be used from multiple parsing threads.
+ */
+public class AnnotationIndex {
+
+    private static final BitSet NoAnnotations = new BitSet();
+
+    private final List<Class<? extends Annotation>> annotations = new ArrayList<>();
+    private final BitSet includeMask;
+    private final BitSet excludeMask;
+    private final BitSet optionalMask;
+    private final Map<Class<?>, BitSet> classAnnotations = new ConcurrentHashMap<>();
+    private final Map<Class<?>, Map<Class<? extends Annotation>, Optional<Annotation>>> inheritedAnnotations = new ConcurrentHashMap<>();
+
+    public AnnotationIndex(Settings settings) {
+        this.includeMask = register(settings.includePropertyAnnotations);
+        this.excludeMask = register(settings.excludePropertyAnnotations);
+        this.optionalMask = register(settings.optionalAnnotations);
+    }
+
+    private BitSet register(List<Class<? extends Annotation>> annotationClasses) {
+        final BitSet mask = new BitSet();
+        for (Class<? extends Annotation> annotationClass : annotationClasses) {
+            int index = annotations.indexOf(annotationClass);
+            if (index == -1) {
+                index = annotations.size();
+                annotations.add(annotationClass);
+            }
+            mask.set(index);
+        }
+        return mask;
+    }
+
+    /**
+     * Returns bits of configured annotations for which <code>hasAnnotation</code> predicate returns <code>true</code>.
+     */
+    public BitSet getAnnotations(Predicate<Class<? extends Annotation>> hasAnnotation) {
+        if (annotations.isEmpty()) {
+            return NoAnnotations;
+        }
+        final BitSet bits = new BitSet(annotations.size());
+        for (int i = 0; i < annotations.size(); i++) {
+            if (hasAnnotation.test(annotations.get(i))) {
+                bits.set(i);
+            }
+        }
+        return bits;
+    }
+
+    public BitSet getClassAnnotations(Class<?> cls) {
+        return getClassAnnotations(cls, cls::isAnnotationPresent);
+    }
+
+    /**
+     * Returns cached bits of configured annotations present on specified class,
+     * <code>hasAnnotation</code> predicate is only evaluated first time the class is requested.
+     */
+    public BitSet getClassAnnotations(Class<?> cls, Predicate<Class<? extends Annotation>> hasAnnotation) {
+        final BitSet cached = classAnnotations.get(cls);
+        if (cached != null) {
+            return cached;
+        }
+        final BitSet bits = getAnnotations(hasAnnotation);
+        final BitSet existing = classAnnotations.putIfAbsent(cls, bits);
+        return existing != null ? existing : bits;
+    }
+
+    public static BitSet union(BitSet annotations1, BitSet annotations2) {
+        if (annotations1.isEmpty()) {
+            return annotations2;
+        }
+        if (annotations2.isEmpty()) {
+            return annotations1;
+        }
+        final BitSet union = (BitSet) annotations1.clone();
+        union.or(annotations2);
+        return union;
+    }
+
+    public boolean isIncluded(BitSet annotations) {
+        return includeMask.isEmpty() || includeMask.intersects(annotations);
+    }
+
+    public boolean isExcluded(BitSet annotations) {
+        return excludeMask.intersects(annotations);
+    }
+
+    public boolean isOptional(BitSet annotations) {
+        return optionalMask.intersects(annotations);
+    }
+
+    /**
+     * Finds annotation on specified class, its interfaces or superclasses (in this order).
+     * Results are cached for each class in hierarchy so shared supertypes are only inspected once.
+     */
+    public <T extends Annotation> T getAnnotationRecursive(Class<?> cls, Class<T> annotationClass) {
+        if (cls == null) {
+            return null;
+        }
+        final Map<Class<? extends Annotation>, Optional<Annotation>> cache = inheritedAnnotations.computeIfAbsent(cls, c -> new ConcurrentHashMap<>());
+        final Optional<Annotation> cached = cache.get(annotationClass);
+        if (cached != null) {
+            return annotationClass.cast(cached.orElse(null));
+        }
+        final T annotation = findAnnotationRecursive(cls, annotationClass);
+        cache.putIfAbsent(annotationClass, Optional.ofNullable(annotation));
+        return annotation;
+    }
+
+    private <T extends Annotation> T findAnnotationRecursive(Class<?> cls, Class<T> annotationClass) {
+        final T annotation = cls.getAnnotation(annotationClass);
+        if (annotation != null) {
+            return annotation;
+        }
+        for (Class<?> aInterface : cls.getInterfaces()) {
+            final T interfaceAnnotation = getAnnotationRecursive(aInterface, annotationClass);
+            if (interfaceAnnotation != null) {
+                return interfaceAnnotation;
+            }
+        }
+        return getAnnotationRecursive(cls.getSuperclass(), annotationClass);
+    }
+
+}
@@ -6,7 +6,6 @@ import java.lang.annotation.Annotation;
 import java.lang.reflect.Member;
 import java.lang.reflect.Type;
 import java.util.*;
-import java.util.function.Function;
 
 import org.codehaus.jackson.JsonNode;
 import org.codehaus.jackson.annotate.JsonSubTypes;
@@ -75,19 +74,14 @@ public class Jackson1Parser extends ModelParser {
                 final Member propertyMember = beanPropertyWriter.getMember().getMember();
                 checkMember(propertyMember, beanPropertyWriter.getName(), sourceClass.type);
                 Type propertyType = beanPropertyWriter.getGenericPropertyType();
-                Function<Class<? extends Annotation>, Annotation> annotationFinder = annotationClass -> {
-                    Annotation annotation = beanPropertyWriter.getAnnotation(annotationClass);
-                    if (annotation == null) {
-                        // If not found, fallback to checking class level
-                        annotation = sourceClass.type.getAnnotation(annotationClass);
-                    }
-                    return annotation;
-                };
-                if (!isAnnotatedPropertyIncluded(
-                        annotationFinder, sourceClass.type.getName() + "." + beanPropertyWriter.getName())) {
+                final BitSet propertyAnnotations = annotationIndex.getAnnotations(annotationClass -> beanPropertyWriter.getAnnotation(annotationClass) != null);
+                // if not found on property, fallback to checking class level
+                final BitSet classAnnotations = annotationIndex.getClassAnnotations(sourceClass.type);
+                if (!isPropertyIncluded(
+                        AnnotationIndex.union(propertyAnnotations, classAnnotations), sourceClass.type.getName() + "." + beanPropertyWriter.getName())) {
                     continue;
                 }
-                final boolean optional = isAnnotatedPropertyOptional(beanPropertyWriter::getAnnotation);
+                final boolean optional = isPropertyOptional(propertyAnnotations);
                 properties.add(processTypeAndCreateProperty(beanPropertyWriter.getName(), propertyType, null, optional, sourceClass.type, propertyMember, null, null));
             }
         }
@@ -0,0 +1,1013 @@
+package cz.habarta.typescript.generator.parser;
+
+import com.fasterxml.jackson.annotation.JsonAnyGetter;
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonBackReference;
+import com.fasterxml.jackson.annotation.JsonClassDescription;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonGetter;
+import com.fasterxml.jackson.annotation.JsonIdentityInfo;
+import com.fasterxml.jackson.annotation.JsonIdentityReference;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonIgnoreType;
+import com.fasterxml.jackson.annotation.JsonManagedReference;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyDescription;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import com.fasterxml.jackson.annotation.JsonSubTypes;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.annotation.JsonTypeName;
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+import com.fasterxml.jackson.annotation.JsonValue;
+import com.fasterxml.jackson.annotation.JsonView;
+import com.fasterxml.jackson.databind.annotation.JsonAppend;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import cz.habarta.typescript.generator.Jackson2ConfigurationResolved;
+import cz.habarta.typescript.generator.OptionalProperties;
+import cz.habarta.typescript.generator.Settings;
+import cz.habarta.typescript.generator.TypeProcessor;
+import cz.habarta.typescript.generator.TypeScriptGenerator;
+import cz.habarta.typescript.generator.compiler.EnumKind;
+import cz.habarta.typescript.generator.compiler.EnumMemberModel;
+import cz.habarta.typescript.generator.util.Utils;
+import io.github.classgraph.AnnotationClassRef;
+import io.github.classgraph.AnnotationEnumValue;
+import io.github.classgraph.AnnotationInfo;
+import io.github.classgraph.AnnotationInfoList;
+import io.github.classgraph.ArrayTypeSignature;
+import io.github.classgraph.BaseTypeSignature;
+import io.github.classgraph.ClassGraph;
+import io.github.classgraph.ClassInfo;
+import io.github.classgraph.ClassRefTypeSignature;
+import io.github.classgraph.FieldInfo;
+import io.github.classgraph.MethodInfo;
+import io.github.classgraph.MethodParameterInfo;
+import io.github.classgraph.ReferenceTypeSignature;
+import io.github.classgraph.ScanResult;
+import io.github.classgraph.TypeArgument;
+import io.github.classgraph.TypeParameter;
+import io.github.classgraph.TypeSignature;
+import io.github.classgraph.TypeVariableSignature;
+import java.beans.ConstructorProperties;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+
+/**
+ * Jackson 2 parser which reads beans and enums from class files (using ClassGraph) instead of using Jackson introspection.
+ * Only classes which are part of the model are loaded (without initialization),
+ * reflection is only used to get the order of their members which Jackson uses as property order.
+ * Classes using Jackson features which cannot be evaluated from class files
+ * (for example custom serializers, <code>@JsonValue</code>, object identity, explicit property order, creators
+ * or annotations on overridden methods)
+ * are parsed by {@link Jackson2Parser}. This parser cannot be used together with Jackson modules.
+ */
+public class Jackson2ClassFileParser extends Jackson2Parser {
+
+    public static class Factory extends Jackson2Parser.Jackson2ParserFactory {
+
+        @Override
+        public Jackson2ClassFileParser create(Settings settings, TypeProcessor commonTypeProcessor, List<RestApplicationParser> restApplicationParsers) {
+            return new Jackson2ClassFileParser(settings, commonTypeProcessor, restApplicationParsers);
+        }
+
+    }
+
+    private static final int SyntheticModifier = 0x1000;
+    private static final int EnumModifier = 0x4000;
+
+    // annotations which change serialization in a way that is only handled by Jackson2Parser
+    private static final List<String> UnsupportedClassAnnotations = Arrays.asList(
+            JsonSerialize.class.getName(),
+            JsonAutoDetect.class.getName(),
+            JsonNaming.class.getName(),
+            JsonPropertyOrder.class.getName(),
+            JsonIdentityInfo.class.getName(),
+            JsonIdentityReference.class.getName(),
+            JsonAppend.class.getName(),
+            JsonFormat.class.getName()
+    );
+    private static final List<String> UnsupportedMemberAnnotations = Arrays.asList(
+            JsonSerialize.class.getName(),
+            JsonView.class.getName(),
+            JsonValue.class.getName(),
+            JsonAnyGetter.class.getName(),
+            JsonGetter.class.getName(),
+            JsonRawValue.class.getName(),
+            JsonIdentityInfo.class.getName(),
+            JsonIdentityReference.class.getName(),
+            JsonBackReference.class.getName(),
+            JsonManagedReference.class.getName(),
+            JsonCreator.class.getName()
+    );
+
+    private final ClassFiles classFiles;
+    private final AtomicInteger classesParsedFromClassFiles = new AtomicInteger();
+    private final AtomicInteger classesParsedUsingReflection = new AtomicInteger();
+
+    public Jackson2ClassFileParser(Settings settings, TypeProcessor commonTypeProcessor, List<RestApplicationParser> restApplicationParsers) {
+        super(settings, commonTypeProcessor, restApplicationParsers, false);
+        this.classFiles = new ClassFiles(settings.classLoader);
+    }
+
+    @Override
+    public Model parseModel(List<SourceType<Type>> types) {
+        classesParsedFromClassFiles.set(0);
+        classesParsedUsingReflection.set(0);
+        // input classes are usually in few packages so they are scanned at once
+        final Set<String> packages = new LinkedHashSet<>();
+        for (SourceType<Type> sourceType : types) {
+            if (sourceType.type instanceof Class<?>) {
+                packages.add(getPackageName((Class<?>) sourceType.type));
+            }
+        }
+        try {
+            classFiles.scanPackages(packages);
+            final Model model = super.parseModel(types);
+            TypeScriptGenerator.getLogger().info(String.format("Parsed %d classes from class files, %d classes using reflection.",
+                    classesParsedFromClassFiles.get(), classesParsedUsingReflection.get()));
+            return model;
+        } finally {
+            classFiles.close();
+        }
+    }
+
+    @Override
+    protected DeclarationModel parseClass(SourceType<Class<?>> sourceClass) {
+        final ClassInfo classInfo = classFiles.getClassInfo(sourceClass.type);
+        if (classInfo != null) {
+            try {
+                final DeclarationModel model = sourceClass.type.isEnum()
+                        ? parseEnumFromClassFile(sourceClass, classInfo)
+                        : parseBeanFromClassFile(sourceClass, classInfo);
+                classesParsedFromClassFiles.incrementAndGet();
+                return model;
+            } catch (UnsupportedClassFileException e) {
+                TypeScriptGenerator.getLogger().verbose(String.format("Parsing '%s' using reflection: %s", sourceClass.type.getName(), e.getMessage()));
+            }
+        } else {
+            TypeScriptGenerator.getLogger().verbose(String.format("Parsing '%s' using reflection: class file not found", sourceClass.type.getName()));
+        }
+        classesParsedUsingReflection.incrementAndGet();
+        return super.parseClass(sourceClass);
+    }
+
+    private DeclarationModel parseEnumFromClassFile(SourceType<Class<?>> sourceClass, ClassInfo classInfo) {
+        final Class<?> enumClass = sourceClass.type;
+        final Jackson2ConfigurationResolved config = settings.jackson2Configuration;
+        if (config != null && config.enumsUsingToString) {
+            throw new UnsupportedClassFileException("enums are serialized using toString()");
+        }
+        if (config != null && config.shapeConfigOverrides != null && config.shapeConfigOverrides.containsKey(enumClass)) {
+            throw new UnsupportedClassFileException("shape of enum is overridden");
+        }
+        checkClassAnnotations(classInfo);
+        for (MethodInfo methodInfo : classInfo.getDeclaredMethodInfo()) {
+            checkMemberAnnotations(methodInfo.getAnnotationInfo(), methodInfo.getName());
+        }
+        final List<EnumMemberModel> enumMembers = new ArrayList<>();
+        for (FieldInfo fieldInfo : classInfo.getDeclaredFieldInfo()) {
+            checkMemberAnnotations(fieldInfo.getAnnotationInfo(), fieldInfo.getName());
+            if ((fieldInfo.getModifiers() & EnumModifier) != 0) {
+                final String explicitName = getString(fieldInfo.getAnnotationInfo(JsonProperty.class.getName()), "value", "");
+                final String value = explicitName.isEmpty() ? fieldInfo.getName() : explicitName;
+                final List<String> constantComments = getComments(fieldInfo.getAnnotationInfo(JsonPropertyDescription.class.getName()));
+                enumMembers.add(new EnumMemberModel(fieldInfo.getName(), value, constantComments));
+            }
+        }
+        final List<String> classComments = getComments(classInfo.getAnnotationInfo(JsonClassDescription.class.getName()));
+        return new EnumModel(enumClass, EnumKind.StringBased, enumMembers, classComments);
+    }
+
+    private BeanModel parseBeanFromClassFile(SourceType<Class<?>> sourceClass, ClassInfo classInfo) {
+        final Class<?> cls = sourceClass.type;
+        if (settings.emitAbstractMethodsInBeans || settings.emitDefaultMethods || settings.emitStaticMethods || settings.emitOtherMethods) {
+            throw new UnsupportedClassFileException("methods are emitted");
+        }
+        final Jackson2ConfigurationResolved config = settings.jackson2Configuration;
+        if (config != null && config.shapeConfigOverrides != null && config.shapeConfigOverrides.containsKey(cls)) {
+            throw new UnsupportedClassFileException("shape of class is overridden");
+        }
+
+        // first everything is resolved and checked, discovered types are added to the queue only when class can be parsed
+        checkCreators(classInfo);
+        final Map<Class<?>, ClassInfo> hierarchy = getHierarchy(cls, classInfo);
+        final Set<String> ignoredProperties = new LinkedHashSet<>();
+        for (ClassInfo info : hierarchy.values()) {
+            checkClassAnnotations(info);
+            ignoredProperties.addAll(getStrings(info.getAnnotationInfo(JsonIgnoreProperties.class.getName()), "value"));
+        }
+        final List<ResolvedProperty> resolvedProperties = new ArrayList<>();
+        final List<ResolvedProperty> renamedProperties = new ArrayList<>();
+        for (PropertyAccessors property : collectPropertyAccessors(hierarchy)) {
+            final ResolvedProperty resolvedProperty = resolveProperty(cls, property, ignoredProperties);
+            if (resolvedProperty != null) {
+                (resolvedProperty.renamed ? renamedProperties : resolvedProperties).add(resolvedProperty);
+            }
+        }
+        // Jackson re-adds properties with explicit names after other properties
+        for (ResolvedProperty renamedProperty : renamedProperties) {
+            if (resolvedProperties.stream().anyMatch(p -> p.name.equals(renamedProperty.name))) {
+                throw new UnsupportedClassFileException(String.format("property '%s' is merged with renamed property", renamedProperty.name));
+            }
+            resolvedProperties.add(renamedProperty);
+        }
+        final List<String> classComments = getComments(classInfo.getAnnotationInfo(JsonClassDescription.class.getName()));
+
+        final String discriminantProperty;
+        final String discriminantLiteral;
+        final AnnotationInfo jsonTypeInfo = classInfo.getAnnotationInfo(JsonTypeInfo.class.getName());
+        final AnnotationInfo parentJsonTypeInfo;
+        if (isSupported(jsonTypeInfo)) {
+            // this is parent
+            discriminantProperty = getDiscriminantPropertyName(jsonTypeInfo);
+            discriminantLiteral = null;
+        } else if (isSupported(parentJsonTypeInfo = getAnnotationRecursive(cls, JsonTypeInfo.class.getName(), null))) {
+            // this is child class
+            discriminantProperty = getDiscriminantPropertyName(parentJsonTypeInfo);
+            discriminantLiteral = getTypeName(parentJsonTypeInfo, cls);
+        } else {
+            // not part of explicit hierarchy
+            discriminantProperty = null;
+            discriminantLiteral = null;
+        }
+
+        final AnnotationInfo jsonSubTypes = classInfo.getAnnotationInfo(JsonSubTypes.class.getName());
+        final List<Class<?>> taggedUnionClasses;
+        if (jsonSubTypes != null) {
+            taggedUnionClasses = new ArrayList<>();
+            for (AnnotationInfo type : getAnnotations(jsonSubTypes, "value")) {
+                taggedUnionClasses.add(loadClass(getClassName(type, "value"), cls));
+            }
+        } else {
+            taggedUnionClasses = null;
+        }
+
+        final List<PropertyModel> properties = new ArrayList<>();
+        for (ResolvedProperty property : resolvedProperties) {
+            properties.add(processTypeAndCreateProperty(property.name, property.type, null, property.optional, cls, property.originalMember, property.pullProperties, property.comments));
+        }
+        if (taggedUnionClasses != null) {
+            for (Class<?> subClass : taggedUnionClasses) {
+                addBeanToQueue(new SourceType<>(subClass, cls, "<subClass>"));
+            }
+        }
+        final Type superclass = cls.getGenericSuperclass() == Object.class ? null : cls.getGenericSuperclass();
+        if (superclass != null) {
+            addBeanToQueue(new SourceType<>(superclass, cls, "<superClass>"));
+        }
+        final List<Type> interfaces = Arrays.asList(cls.getGenericInterfaces());
+        for (Type aInterface : interfaces) {
+            addBeanToQueue(new SourceType<>(aInterface, cls, "<interface>"));
+        }
+        return new BeanModel(cls, superclass, taggedUnionClasses, discriminantProperty, discriminantLiteral, interfaces, properties, classComments, new ArrayList<>());
+    }
+
+    /**
+     * Returns class and all its supertypes (except Object) which are available as class files.
+     * Supertypes without class file are only allowed if they are JDK types without properties (like Serializable or Comparable).
+     */
+    private Map<Class<?>, ClassInfo> getHierarchy(Class<?> cls, ClassInfo classInfo) {
+        final Map<Class<?>, ClassInfo> hierarchy = new LinkedHashMap<>();
+        hierarchy.put(cls, classInfo);
+        addSupertypes(cls, hierarchy);
+        return hierarchy;
+    }
+
+    // interfaces before superclass, the same order as Jackson uses
+    private void addSupertypes(Class<?> cls, Map<Class<?>, ClassInfo> hierarchy) {
+        final List<Class<?>> supertypes = new ArrayList<>(Arrays.asList(cls.getInterfaces()));
+        if (cls.getSuperclass() != null && cls.getSuperclass() != Object.class) {
+            supertypes.add(cls.getSuperclass());
+        }
+        for (Class<?> supertype : supertypes) {
+            if (hierarchy.containsKey(supertype)) {
+                continue;
+            }
+            final ClassInfo supertypeInfo = classFiles.getClassInfo(supertype);
+            if (supertypeInfo != null) {
+                hierarchy.put(supertype, supertypeInfo);
+                addSupertypes(supertype, hierarchy);
+            } else if (supertype.getClassLoader() != null || hasBeanMembers(supertype)) {
+                throw new UnsupportedClassFileException(String.format("class file of supertype '%s' not found", supertype.getName()));
+            }
+        }
+    }
+
+    private static boolean hasBeanMembers(Class<?> jdkClass) {
+        for (java.lang.reflect.Field field : jdkClass.getFields()) {
+            if (!Modifier.isStatic(field.getModifiers())) {
+                return true;
+            }
+        }
+        for (Method method : jdkClass.getMethods()) {
+            if (!Modifier.isStatic(method.getModifiers()) && method.getParameterCount() == 0 && method.getDeclaringClass() != Object.class
+                    && (method.getName().startsWith("get") || method.getName().startsWith("is"))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static class Accessor {
+        public final Class<?> declaringClass;
+        public final String memberName;
+        public final boolean isField;
+        public final int modifiers;
+        public final AnnotationInfoList annotations;
+        public final TypeSignature type;
+        public final boolean visible;
+
+        public Accessor(Class<?> declaringClass, String memberName, boolean isField, int modifiers, AnnotationInfoList annotations, TypeSignature type, boolean visible) {
+            this.declaringClass = declaringClass;
+            this.memberName = memberName;
+            this.isField = isField;
+            this.modifiers = modifiers;
+            this.annotations = annotations;
+            this.type = type;
+            this.visible = visible;
+        }
+
+        public AnnotationInfo getAnnotation(String annotationName) {
+            return annotations.get(annotationName);
+        }
+
+        public boolean isIgnored() {
+            final AnnotationInfo jsonIgnore = getAnnotation(JsonIgnore.class.getName());
+            return jsonIgnore != null && getBoolean(jsonIgnore, "value", true);
+        }
+    }
+
+    private static class PropertyAccessors {
+        public final String internalName;
+        public Accessor getter;
+        public Accessor field;
+        public Accessor setter;
+
+        public PropertyAccessors(String internalName) {
+            this.internalName = internalName;
+        }
+
+        // the same order as Jackson uses when merging annotations for serialization
+        public List<Accessor> getAll() {
+            final List<Accessor> accessors = new ArrayList<>();
+            if (getter != null) {
+                accessors.add(getter);
+            }
+            if (field != null) {
+                accessors.add(field);
+            }
+            if (setter != null) {
+                accessors.add(setter);
+            }
+            return accessors;
+        }
+
+        public AnnotationInfo getAnnotation(String annotationName) {
+            for (Accessor accessor : getAll()) {
+                final AnnotationInfo annotation = accessor.getAnnotation(annotationName);
+                if (annotation != null) {
+                    return annotation;
+                }
+            }
+            return null;
+        }
+    }
+
+    private static class ResolvedProperty {
+        public String name;
+        public boolean renamed;
+        public Type type;
+        public boolean optional;
+        public Member originalMember;
+        public PropertyModel.PullProperties pullProperties;
+        public List<String> comments;
+    }
+
+    /**
+     * Jackson puts creator properties before other properties so classes with creators are parsed using reflection.
+     * Creator properties are parameters with <code>@JsonProperty</code> annotation
+     * or parameters of constructor with <code>@ConstructorProperties</code> annotation (for example generated by Lombok).
+     */
+    private static void checkCreators(ClassInfo classInfo) {
+        for (MethodInfo methodInfo : classInfo.getDeclaredMethodAndConstructorInfo()) {
+            if (!methodInfo.isConstructor() && !methodInfo.isStatic()) {
+                continue;
+            }
+            if (methodInfo.isConstructor() && methodInfo.hasAnnotation(ConstructorProperties.class.getName())) {
+                throw new UnsupportedClassFileException("constructor has @ConstructorProperties annotation");
+            }
+            for (MethodParameterInfo parameterInfo : methodInfo.getParameterInfo()) {
+                if (parameterInfo.hasAnnotation(JsonProperty.class.getName())) {
+                    throw new UnsupportedClassFileException(String.format("parameter of creator '%s' has @JsonProperty annotation", methodInfo.getName()));
+                }
+            }
+        }
+    }
+
+    /**
+     * Collects fields (from superclasses first) and then getters and setters (from subclasses first) like Jackson does.
+     * Members of each class are processed in reflection order which is what Jackson uses.
+     * Jackson merges annotations of overridden methods, this is not supported so such methods cause fallback to reflection.
+     */
+    private List<PropertyAccessors> collectPropertyAccessors(Map<Class<?>, ClassInfo> hierarchy) {
+        final Jackson2ConfigurationResolved config = settings.jackson2Configuration;
+        final JsonAutoDetect.Visibility fieldVisibility = config != null ? config.fieldVisibility : null;
+        final JsonAutoDetect.Visibility getterVisibility = config != null ? config.getterVisibility : null;
+        final JsonAutoDetect.Visibility isGetterVisibility = config != null ? config.isGetterVisibility : null;
+
+        final Map<String, PropertyAccessors> properties = new LinkedHashMap<>();
+        final List<Map.Entry<Class<?>, ClassInfo>> classes = new ArrayList<>(hierarchy.entrySet());
+        Collections.reverse(classes);
+        for (Map.Entry<Class<?>, ClassInfo> entry : classes) {
+            for (FieldInfo fieldInfo : getFieldsInReflectionOrder(entry.getKey(), entry.getValue())) {
+                if (fieldInfo.isStatic() || (fieldInfo.getModifiers() & SyntheticModifier) != 0) {
+                    continue;
+                }
+                checkMemberAnnotations(fieldInfo.getAnnotationInfo(), fieldInfo.getName());
+                final boolean explicit = fieldInfo.hasAnnotation(JsonProperty.class.getName());
+                if (fieldInfo.isTransient() && !explicit) {
+                    continue;
+                }
+                final boolean visible = explicit || isVisible(fieldVisibility, fieldInfo.getModifiers());
+                properties.computeIfAbsent(fieldInfo.getName(), PropertyAccessors::new).field = new Accessor(entry.getKey(), fieldInfo.getName(), true,
+                        fieldInfo.getModifiers(), fieldInfo.getAnnotationInfo(), fieldInfo.getTypeSignatureOrTypeDescriptor(), visible);
+            }
+        }
+        for (Map.Entry<Class<?>, ClassInfo> entry : hierarchy.entrySet()) {
+            for (MethodInfo methodInfo : getMethodsInReflectionOrder(entry.getKey(), entry.getValue())) {
+                checkMemberAnnotations(methodInfo.getAnnotationInfo(), methodInfo.getName());
+                if (methodInfo.isConstructor() || methodInfo.isStatic() || methodInfo.isSynthetic() || methodInfo.isBridge()) {
+                    continue;
+                }
+                final String name = methodInfo.getName();
+                final boolean explicit = methodInfo.hasAnnotation(JsonProperty.class.getName());
+                final int parameterCount = methodInfo.getParameterInfo().length;
+                final TypeSignature resultType = methodInfo.getTypeSignatureOrTypeDescriptor().getResultType();
+                final boolean isVoid = resultType instanceof BaseTypeSignature && ((BaseTypeSignature) resultType).getType() == void.class;
+                if (parameterCount == 0 && !isVoid) {
+                    final String internalName;
+                    final boolean visible;
+                    if (name.startsWith("is") && isBoolean(resultType) && manglePropertyName(name, 2) != null) {
+                        internalName = manglePropertyName(name, 2);
+                        visible = explicit || isVisible(isGetterVisibility, methodInfo.getModifiers());
+                    } else if (name.startsWith("get") && manglePropertyName(name, 3) != null) {
+                        internalName = manglePropertyName(name, 3);
+                        visible = explicit || isVisible(getterVisibility, methodInfo.getModifiers());
+                    } else if (explicit) {
+                        internalName = name;
+                        visible = true;
+                    } else {
+                        continue;
+                    }
+                    final PropertyAccessors property = properties.computeIfAbsent(internalName, PropertyAccessors::new);
+                    // overridden getter was already added from subclass
+                    if (property.getter == null) {
+                        property.getter = new Accessor(entry.getKey(), name, false, methodInfo.getModifiers(), methodInfo.getAnnotationInfo(), resultType, visible);
+                    } else {
+                        checkOverriddenMethod(entry.getKey(), methodInfo);
+                    }
+                } else if (parameterCount == 1 && (name.startsWith("set") || explicit)) {
+                    final String internalName = name.startsWith("set") && manglePropertyName(name, 3) != null ? manglePropertyName(name, 3) : name;
+                    final PropertyAccessors property = properties.computeIfAbsent(internalName, PropertyAccessors::new);
+                    if (property.setter == null) {
+                        property.setter = new Accessor(entry.getKey(), name, false, methodInfo.getModifiers(), methodInfo.getAnnotationInfo(), null, true);
+                    } else {
+                        checkOverriddenMethod(entry.getKey(), methodInfo);
+                    }
+                }
+            }
+        }
+        return new ArrayList<>(properties.values());
+    }
+
+    private static void checkOverriddenMethod(Class<?> declaringClass, MethodInfo methodInfo) {
+        for (AnnotationInfo annotation : methodInfo.getAnnotationInfo()) {
+            if (annotation.getName().startsWith("com.fasterxml.jackson.")) {
+                throw new UnsupportedClassFileException(String.format("overridden method '%s' in '%s' has @%s annotation",
+                        methodInfo.getName(), declaringClass.getName(), getSimpleName(annotation.getName())));
+            }
+        }
+    }
+
+    private static List<FieldInfo> getFieldsInReflectionOrder(Class<?> cls, ClassInfo classInfo) {
+        final List<String> order = new ArrayList<>();
+        for (Field field : cls.getDeclaredFields()) {
+            order.add(field.getName());
+        }
+        return sortByKeys(classInfo.getDeclaredFieldInfo(), FieldInfo::getName, order);
+    }
+
+    private static List<MethodInfo> getMethodsInReflectionOrder(Class<?> cls, ClassInfo classInfo) {
+        final List<String> order = new ArrayList<>();
+        for (Method method : cls.getDeclaredMethods()) {
+            order.add(method.getName() + "/" + method.getParameterCount());
+        }
+        return sortByKeys(classInfo.getDeclaredMethodAndConstructorInfo(), methodInfo -> methodInfo.getName() + "/" + methodInfo.getParameterInfo().length, order);
+    }
+
+    // stable sort, members with unknown key (like constructors) are moved to the end
+    private static <T> List<T> sortByKeys(List<T> members, Function<T, String> keyFunction, List<String> keys) {
+        final Map<String, Integer> positions = new HashMap<>();
+        for (String key : keys) {
+            positions.putIfAbsent(key, positions.size());
+        }
+        final List<T> sorted = new ArrayList<>(members);
+        sorted.sort(Comparator.comparing(member -> positions.getOrDefault(keyFunction.apply(member), Integer.MAX_VALUE)));
+        return sorted;
+    }
+
+    private ResolvedProperty resolveProperty(Class<?> cls, PropertyAccessors property, Set<String> ignoredProperties) {
+        final List<Accessor> accessors = property.getAll();
+        final boolean explicitlyIncluded = accessors.stream().anyMatch(accessor -> accessor.getAnnotation(JsonProperty.class.getName()) != null);
+        if (accessors.stream().anyMatch(Accessor::isIgnored)) {
+            if (!explicitlyIncluded) {
+                return null;
+            }
+            if (property.getter != null && property.getter.isIgnored()) {
+                property.getter = null;
+            }
+            if (property.field != null && property.field.isIgnored()) {
+                property.field = null;
+            }
+            if (property.setter != null && property.setter.isIgnored()) {
+                property.setter = null;
+            }
+        }
+        final Accessor accessor = property.getter != null && property.getter.visible
+                ? property.getter
+                : property.field != null && property.field.visible ? property.field : null;
+        if (accessor == null) {
+            return null;
+        }
+        final AnnotationInfo jsonProperty = property.getAnnotation(JsonProperty.class.getName());
+        if (jsonProperty != null && "WRITE_ONLY".equals(getEnumValueName(jsonProperty, "access", "AUTO"))) {
+            return null;
+        }
+        final Set<String> explicitNames = property.getAll().stream()
+                .map(a -> getString(a.getAnnotation(JsonProperty.class.getName()), "value", ""))
+                .filter(name -> !name.isEmpty())
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        if (explicitNames.size() > 1) {
+            throw new UnsupportedClassFileException(String.format("property '%s' has conflicting names %s", property.internalName, explicitNames));
+        }
+        final String name = explicitNames.isEmpty() ? property.internalName : explicitNames.iterator().next();
+        if (ignoredProperties.contains(name)) {
+            return null;
+        }
+
+        Type propertyType = toType(accessor.type, accessor.declaringClass);
+        final Class<?> propertyRawClass = Utils.getRawClassOrNull(propertyType);
+        if (propertyRawClass != null) {
+            final ClassInfo propertyClassInfo = propertyRawClass.isPrimitive() || propertyRawClass.isArray() ? null : classFiles.getClassInfo(propertyRawClass);
+            if (propertyClassInfo != null) {
+                if (propertyClassInfo.hasAnnotation(JsonIgnoreType.class.getName())) {
+                    return null;
+                }
+                if (propertyClassInfo.hasAnnotation(JsonIdentityInfo.class.getName()) || propertyClassInfo.hasAnnotation(JsonIdentityReference.class.getName())) {
+                    throw new UnsupportedClassFileException(String.format("type of property '%s' uses object identity", name));
+                }
+            }
+            // Map.Entry
+            if (Map.Entry.class.isAssignableFrom(propertyRawClass)) {
+                final Jackson2ConfigurationResolved config = settings.jackson2Configuration;
+                final JsonFormat.Shape shapeOverride = config != null && config.shapeConfigOverrides != null ? config.shapeConfigOverrides.get(Map.Entry.class) : null;
+                final AnnotationInfo jsonFormat = property.getAnnotation(JsonFormat.class.getName());
+                final String shape = jsonFormat != null ? getEnumValueName(jsonFormat, "shape", "ANY") : "ANY";
+                if (!"OBJECT".equals(shape) && shapeOverride != JsonFormat.Shape.OBJECT) {
+                    propertyType = Utils.replaceRawClassInType(propertyType, Map.class);
+                }
+            }
+        }
+
+        final BitSet propertyAnnotations = annotationIndex.getAnnotations(annotationClass -> property.getAnnotation(annotationClass.getName()) != null);
+        // if not found on property, fallback to checking class level
+        final BitSet classAnnotations = annotationIndex.getClassAnnotations(cls, annotationClass -> {
+            final ClassInfo classInfo = classFiles.getClassInfo(cls);
+            return classInfo != null && classInfo.hasAnnotation(annotationClass.getName());
+        });
+        if (!isPropertyIncluded(AnnotationIndex.union(propertyAnnotations, classAnnotations), cls.getName() + "." + name)) {
+            return null;
+        }
+        final ResolvedProperty resolvedProperty = new ResolvedProperty();
+        resolvedProperty.name = name;
+        resolvedProperty.renamed = !explicitNames.isEmpty();
+        resolvedProperty.type = propertyType;
+        resolvedProperty.optional = settings.optionalProperties == OptionalProperties.useLibraryDefinition
+                ? !(jsonProperty != null && getBoolean(jsonProperty, "required", false))
+                : isPropertyOptional(propertyAnnotations);
+        // @JsonUnwrapped
+        final AnnotationInfo jsonUnwrapped = property.getAnnotation(JsonUnwrapped.class.getName());
+        if (jsonUnwrapped != null && getBoolean(jsonUnwrapped, "enabled", true)) {
+            resolvedProperty.pullProperties = new PropertyModel.PullProperties(getString(jsonUnwrapped, "prefix", ""), getString(jsonUnwrapped, "suffix", ""));
+        }
+        resolvedProperty.comments = getComments(property.getAnnotation(JsonPropertyDescription.class.getName()));
+        resolvedProperty.originalMember = needsOriginalMember(property) ? getOriginalMember(accessor) : null;
+        return resolvedProperty;
+    }
+
+    /**
+     * Reflection member is only needed for Javadoc and Swagger processing.
+     */
+    private boolean needsOriginalMember(PropertyAccessors property) {
+        if (settings.javadocXmlFiles != null && !settings.javadocXmlFiles.isEmpty()) {
+            return true;
+        }
+        if (!settings.ignoreSwaggerAnnotations) {
+            for (Accessor accessor : property.getAll()) {
+                for (AnnotationInfo annotation : accessor.annotations) {
+                    if (annotation.getName().startsWith("io.swagger.annotations.")) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    private static Member getOriginalMember(Accessor accessor) {
+        try {
+            return accessor.isField
+                    ? accessor.declaringClass.getDeclaredField(accessor.memberName)
+                    : accessor.declaringClass.getDeclaredMethod(accessor.memberName);
+        } catch (ReflectiveOperationException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static void checkClassAnnotations(ClassInfo classInfo) {
+        for (String annotationName : UnsupportedClassAnnotations) {
+            if (classInfo.hasAnnotation(annotationName)) {
+                throw new UnsupportedClassFileException(String.format("class '%s' has @%s annotation", classInfo.getName(), getSimpleName(annotationName)));
+            }
+        }
+    }
+
+    private static void checkMemberAnnotations(AnnotationInfoList annotations, String memberName) {
+        for (String annotationName : UnsupportedMemberAnnotations) {
+            if (annotations.containsName(annotationName)) {
+                throw new UnsupportedClassFileException(String.format("member '%s' has @%s annotation", memberName, getSimpleName(annotationName)));
+            }
+        }
+    }
+
+    private static boolean isVisible(JsonAutoDetect.Visibility visibility, int modifiers) {
+        if (visibility == null) {
+            return Modifier.isPublic(modifiers);
+        }
+        switch (visibility) {
+            case ANY:
+                return true;
+            case NONE:
+                return false;
+            case NON_PRIVATE:
+                return !Modifier.isPrivate(modifiers);
+            case PROTECTED_AND_PUBLIC:
+                return Modifier.isProtected(modifiers) || Modifier.isPublic(modifiers);
+            default:
+                return Modifier.isPublic(modifiers);
+        }
+    }
+
+    private static boolean isBoolean(TypeSignature type) {
+        if (type instanceof BaseTypeSignature) {
+            return ((BaseTypeSignature) type).getType() == boolean.class;
+        }
+        return type instanceof ClassRefTypeSignature && ((ClassRefTypeSignature) type).getFullyQualifiedClassName().equals(Boolean.class.getName());
+    }
+
+    /**
+     * Lower-cases leading upper-case characters like Jackson does by default (<code>getURL</code> &rarr; <code>url</code>).
+     */
+    static String manglePropertyName(String methodName, int offset) {
+        if (methodName.length() == offset) {
+            return null;
+        }
+        final StringBuilder sb = new StringBuilder(methodName.length() - offset);
+        for (int i = offset; i < methodName.length(); i++) {
+            final char c = methodName.charAt(i);
+            final char lower = Character.toLowerCase(c);
+            if (c == lower) {
+                sb.append(methodName, i, methodName.length());
+                break;
+            }
+            sb.append(lower);
+        }
+        return sb.toString();
+    }
+
+    // Type signatures
+
+    private Type toType(TypeSignature signature, Class<?> context) {
+        if (signature instanceof BaseTypeSignature) {
+            return ((BaseTypeSignature) signature).getType();
+        }
+        if (signature instanceof ArrayTypeSignature) {
+            final ArrayTypeSignature arraySignature = (ArrayTypeSignature) signature;
+            Type type = toType(arraySignature.getElementTypeSignature(), context);
+            for (int i = 0; i < arraySignature.getNumDimensions(); i++) {
+                type = type instanceof Class<?>
+                        ? Array.newInstance((Class<?>) type, 0).getClass()
+                        : Utils.createGenericArrayType(type);
+            }
+            return type;
+        }
+        if (signature instanceof ClassRefTypeSignature) {
+            final ClassRefTypeSignature classSignature = (ClassRefTypeSignature) signature;
+            String className = classSignature.getBaseClassName();
+            Type type = null;
+            for (int level = 0; level <= classSignature.getSuffixes().size(); level++) {
+                if (level > 0) {
+                    className += "$" + classSignature.getSuffixes().get(level - 1);
+                }
+                final Class<?> cls = loadClass(className, context);
+                final List<TypeArgument> typeArguments = level == 0
+                        ? classSignature.getTypeArguments()
+                        : classSignature.getSuffixTypeArguments().get(level - 1);
+                if (typeArguments.isEmpty() && !(type instanceof java.lang.reflect.ParameterizedType)) {
+                    type = cls;
+                } else {
+                    final Type[] arguments = new Type[typeArguments.size()];
+                    for (int i = 0; i < arguments.length; i++) {
+                        arguments[i] = toType(typeArguments.get(i), context);
+                    }
+                    // the same owner type as in JDK's implementation
+                    final Type ownerType = type != null ? type : cls.getDeclaringClass();
+                    type = Utils.createParameterizedTypeWithOwner(ownerType, cls, arguments);
+                }
+            }
+            return type;
+        }
+        if (signature instanceof TypeVariableSignature) {
+            final TypeVariableSignature variableSignature = (TypeVariableSignature) signature;
+            for (Class<?> cls = context; cls != null; cls = Modifier.isStatic(cls.getModifiers()) ? null : cls.getEnclosingClass()) {
+                for (TypeVariable<?> typeVariable : cls.getTypeParameters()) {
+                    if (typeVariable.getName().equals(variableSignature.getName())) {
+                        return typeVariable;
+                    }
+                }
+            }
+            // type variable declared by method is processed as its bound (see DefaultTypeProcessor)
+            final TypeParameter typeParameter;
+            try {
+                typeParameter = variableSignature.resolve();
+            } catch (IllegalArgumentException e) {
+                throw new UnsupportedClassFileException(String.format("cannot resolve type variable '%s'", variableSignature.getName()));
+            }
+            if (typeParameter.getClassBound() != null) {
+                return toType(typeParameter.getClassBound(), context);
+            }
+            if (!typeParameter.getInterfaceBounds().isEmpty()) {
+                return toType(typeParameter.getInterfaceBounds().get(0), context);
+            }
+            return Object.class;
+        }
+        throw new UnsupportedClassFileException("unknown type signature " + signature);
+    }
+
+    private Type toType(TypeArgument typeArgument, Class<?> context) {
+        final ReferenceTypeSignature signature = typeArgument.getTypeSignature();
+        switch (typeArgument.getWildcard()) {
+            case ANY:
+                return Utils.createWildcardType(new Type[] {Object.class}, new Type[0]);
+            case EXTENDS:
+                return Utils.createWildcardType(new Type[] {toType(signature, context)}, new Type[0]);
+            case SUPER:
+                return Utils.createWildcardType(new Type[] {Object.class}, new Type[] {toType(signature, context)});
+            default:
+                return toType(signature, context);
+        }
+    }
+
+    private static Class<?> loadClass(String className, Class<?> context) {
+        try {
+            // resolved by the same class loader as JVM would use for class referenced from context class
+            return Class.forName(className, false, context.getClassLoader());
+        } catch (ClassNotFoundException e) {
+            throw new UnsupportedClassFileException(String.format("class '%s' not found", className));
+        }
+    }
+
+    // Tagged unions
+
+    private static boolean isSupported(AnnotationInfo jsonTypeInfo) {
+        if (jsonTypeInfo == null) {
+            return false;
+        }
+        final String use = getEnumValueName(jsonTypeInfo, "use", null);
+        final String include = getEnumValueName(jsonTypeInfo, "include", JsonTypeInfo.As.PROPERTY.name());
+        return JsonTypeInfo.As.PROPERTY.name().equals(include) &&
+                (JsonTypeInfo.Id.NAME.name().equals(use) || JsonTypeInfo.Id.CLASS.name().equals(use));
+    }
+
+    private static String getDiscriminantPropertyName(AnnotationInfo jsonTypeInfo) {
+        final String property = getString(jsonTypeInfo, "property", "");
+        return property.isEmpty()
+                ? JsonTypeInfo.Id.valueOf(getEnumValueName(jsonTypeInfo, "use", null)).getDefaultPropertyName()
+                : property;
+    }
+
+    private String getTypeName(AnnotationInfo parentJsonTypeInfo, Class<?> cls) {
+        // Id.CLASS
+        if (JsonTypeInfo.Id.CLASS.name().equals(getEnumValueName(parentJsonTypeInfo, "use", null))) {
+            return cls.getName();
+        }
+        // find @JsonTypeName recursively
+        final AnnotationInfo jsonTypeName = getAnnotationRecursive(cls, JsonTypeName.class.getName(), null);
+        if (jsonTypeName != null && !getString(jsonTypeName, "value", "").isEmpty()) {
+            return getString(jsonTypeName, "value", "");
+        }
+        // find @JsonSubTypes.Type recursively
+        final AnnotationInfo jsonSubTypes = getAnnotationRecursive(cls, JsonSubTypes.class.getName(), types -> getJsonSubTypeForClass(types, cls) != null);
+        if (jsonSubTypes != null) {
+            final String name = getString(getJsonSubTypeForClass(jsonSubTypes, cls), "name", "");
+            if (!name.isEmpty()) {
+                return name;
+            }
+        }
+        // use simplified class name if it's not an interface or abstract
+        if (!cls.isInterface() && !Modifier.isAbstract(cls.getModifiers())) {
+            return cls.getName().substring(cls.getName().lastIndexOf(".") + 1);
+        }
+        return null;
+    }
+
+    private static AnnotationInfo getJsonSubTypeForClass(AnnotationInfo jsonSubTypes, Class<?> cls) {
+        for (AnnotationInfo type : getAnnotations(jsonSubTypes, "value")) {
+            if (cls.getName().equals(getClassName(type, "value"))) {
+                return type;
+            }
+        }
+        return null;
+    }
+
+    private AnnotationInfo getAnnotationRecursive(Class<?> cls, String annotationName, Predicate<AnnotationInfo> annotationFilter) {
+        if (cls == null) {
+            return null;
+        }
+        final ClassInfo classInfo = classFiles.getClassInfo(cls);
+        final AnnotationInfo annotation = classInfo != null ? classInfo.getAnnotationInfo(annotationName) : null;
+        if (annotation != null && (annotationFilter == null || annotationFilter.test(annotation))) {
+            return annotation;
+        }
+        for (Class<?> aInterface : cls.getInterfaces()) {
+            final AnnotationInfo interfaceAnnotation = getAnnotationRecursive(aInterface, annotationName, annotationFilter);
+            if (interfaceAnnotation != null) {
+                return interfaceAnnotation;
+            }
+        }
+        return getAnnotationRecursive(cls.getSuperclass(), annotationName, annotationFilter);
+    }
+
+    // Annotation values (values equal to defaults are not present in class files)
+
+    private static Object getValue(AnnotationInfo annotation, String name) {
+        return annotation != null ? annotation.getParameterValues().getValue(name) : null;
+    }
+
+    private static String getString(AnnotationInfo annotation, String name, String defaultValue) {
+        final Object value = getValue(annotation, name);
+        return value instanceof String ? (String) value : defaultValue;
+    }
+
+    private static boolean getBoolean(AnnotationInfo annotation, String name, boolean defaultValue) {
+        final Object value = getValue(annotation, name);
+        return value instanceof Boolean ? (Boolean) value : defaultValue;
+    }
+
+    private static String getEnumValueName(AnnotationInfo annotation, String name, String defaultValue) {
+        final Object value = getValue(annotation, name);
+        return value instanceof AnnotationEnumValue ? ((AnnotationEnumValue) value).getValueName() : defaultValue;
+    }
+
+    private static String getClassName(AnnotationInfo annotation, String name) {
+        final Object value = getValue(annotation, name);
+        return value instanceof AnnotationClassRef ? ((AnnotationClassRef) value).getName() : null;
+    }
+
+    private static List<String> getStrings(AnnotationInfo annotation, String name) {
+        final Object value = getValue(annotation, name);
+        if (value instanceof Object[]) {
+            return Arrays.stream((Object[]) value).map(String.class::cast).collect(Collectors.toList());
+        }
+        return value instanceof String ? Collections.singletonList((String) value) : Collections.<String>emptyList();
+    }
+
+    private static List<AnnotationInfo> getAnnotations(AnnotationInfo annotation, String name) {
+        final Object value = getValue(annotation, name);
+        if (value instanceof Object[]) {
+            return Arrays.stream((Object[]) value).map(AnnotationInfo.class::cast).collect(Collectors.toList());
+        }
+        return value instanceof AnnotationInfo ? Collections.singletonList((AnnotationInfo) value) : Collections.<AnnotationInfo>emptyList();
+    }
+
+    private static List<String> getComments(AnnotationInfo descriptionAnnotation) {
+        return Utils.splitMultiline(getString(descriptionAnnotation, "value", null), false);
+    }
+
+    private static String getSimpleName(String className) {
+        return className.substring(className.lastIndexOf('.') + 1);
+    }
+
+    private static String getPackageName(Class<?> cls) {
+        final int index = cls.getName().lastIndexOf('.');
+        return index != -1 ? cls.getName().substring(0, index) : "";
+    }
+
+    private static class UnsupportedClassFileException extends RuntimeException {
+        private static final long serialVersionUID = 1;
+
+        public UnsupportedClassFileException(String message) {
+            super(message);
+        }
+    }
+
+    /**
+     * Class files are scanned lazily by packages, each package is scanned only once.
+     */
+    private static class ClassFiles implements AutoCloseable {
+
+        private final ClassLoader classLoader;
+        private final Map<String, ScanResult> scannedPackages = new HashMap<>();
+        private final List<ScanResult> scanResults = new ArrayList<>();
+
+        public ClassFiles(ClassLoader classLoader) {
+            this.classLoader = classLoader;
+        }
+
+        public synchronized ClassInfo getClassInfo(Class<?> cls) {
+            if (cls.getClassLoader() == null) {
+                return null;
+            }
+            final String packageName = getPackageName(cls);
+            if (!scannedPackages.containsKey(packageName)) {
+                scanPackages(Collections.singleton(packageName));
+            }
+            return scannedPackages.get(packageName).getClassInfo(cls.getName());
+        }
+
+        public synchronized void scanPackages(Set<String> packages) {
+            final List<String> packagesToScan = packages.stream()
+                    .filter(packageName -> !scannedPackages.containsKey(packageName))
+                    .collect(Collectors.toList());
+            if (packagesToScan.isEmpty()) {
+                return;
+            }
+            TypeScriptGenerator.getLogger().verbose("Scanning class files in packages: " + String.join(", ", packagesToScan));
+            ClassGraph classGraph = new ClassGraph()
+                    .enableClassInfo()
+                    .enableFieldInfo()
+                    .enableMethodInfo()
+                    .enableAnnotationInfo()
+                    .disableRuntimeInvisibleAnnotations()
+                    .ignoreClassVisibility()
+                    .ignoreFieldVisibility()
+                    .ignoreMethodVisibility()
+                    .whitelistPackagesNonRecursive(packagesToScan.toArray(new String[0]));
+            if (classLoader instanceof URLClassLoader) {
+                classGraph = classGraph.overrideClasspath((Object[]) ((URLClassLoader) classLoader).getURLs());
+            }
+            final ScanResult scanResult = classGraph.scan();
+            scanResults.add(scanResult);
+            for (String packageName : packagesToScan) {
+                scannedPackages.put(packageName, scanResult);
+            }
+        }
+
+        @Override
+        public synchronized void close() {
+            for (ScanResult scanResult : scanResults) {
+                scanResult.close();
+            }
+            scanResults.clear();
+            scannedPackages.clear();
+        }
+
+    }
+
+}
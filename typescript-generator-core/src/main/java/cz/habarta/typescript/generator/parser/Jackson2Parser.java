@@ -48,11 +48,13 @@ import java.lang.reflect.Modifier;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.function.Function;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -93,6 +95,14 @@ public class Jackson2Parser extends ModelParser {
     }
 
     private final ObjectMapper objectMapper = new ObjectMapper();
+    // bean serializers are created once per class, processIdentity asks repeatedly for referenced classes
+    private final Map<Class<?>, Optional<BeanHelper>> beanHelperCache = new ConcurrentHashMap<>();
+    private final AtomicInteger beanHelperRequests = new AtomicInteger();
+    // serializer providers are not thread-safe so each parsing thread reuses its own instance
+    private final ThreadLocal<DefaultSerializerProvider> serializerProvider = ThreadLocal.withInitial(() -> {
+        final DefaultSerializerProvider.Impl provider = (DefaultSerializerProvider.Impl) objectMapper.getSerializerProvider();
+        return provider.createInstance(objectMapper.getSerializationConfig(), objectMapper.getSerializerFactory());
+    });
 
     public Jackson2Parser(Settings settings, TypeProcessor typeProcessor) {
         this(settings, typeProcessor, Collections.emptyList(), false);
@@ -210,21 +220,16 @@ public class Jackson2Parser extends ModelParser {
 
                 final Jackson2TypeContext jackson2TypeContext = new Jackson2TypeContext(this, beanPropertyWriter);
 
-                Function<Class<? extends Annotation>, Annotation> annotationFinder = annotationClass -> {
-                    Annotation annotation = beanPropertyWriter.getAnnotation(annotationClass);
-                    if (annotation == null) {
-                        // If not found, fallback to checking class level
-                        annotation = sourceClass.type.getAnnotation(annotationClass);
-                    }
-                    return annotation;
-                };
-                if (!isAnnotatedPropertyIncluded(
-                        annotationFinder, sourceClass.type.getName() + "." + beanPropertyWriter.getName())) {
+                final BitSet propertyAnnotations = annotationIndex.getAnnotations(annotationClass -> beanPropertyWriter.getAnnotation(annotationClass) != null);
+                // if not found on property, fallback to checking class level
+                final BitSet classAnnotations = annotationIndex.getClassAnnotations(sourceClass.type);
+                if (!isPropertyIncluded(
+                        AnnotationIndex.union(propertyAnnotations, classAnnotations), sourceClass.type.getName() + "." + beanPropertyWriter.getName())) {
                     continue;
                 }
                 final boolean optional = settings.optionalProperties == OptionalProperties.useLibraryDefinition
                         ? !beanPropertyWriter.isRequired()
-                        : isAnnotatedPropertyOptional(beanPropertyWriter::getAnnotation);
+                        : isPropertyOptional(propertyAnnotations);
                 // @JsonUnwrapped
                 PropertyModel.PullProperties pullProperties = null;
                 final JsonUnwrapped annotation = beanPropertyWriter.getAnnotation(JsonUnwrapped.class);
@@ -400,8 +405,8 @@ public class Jackson2Parser extends ModelParser {
         return null;
     }
 
-    private static <T extends Annotation> T getAnnotationRecursive(Class<?> cls, Class<T> annotationClass) {
-        return getAnnotationRecursive(cls, annotationClass, null);
+    private <T extends Annotation> T getAnnotationRecursive(Class<?> cls, Class<T> annotationClass) {
+        return annotationIndex.getAnnotationRecursive(cls, annotationClass);
     }
 
     private static <T extends Annotation> T getAnnotationRecursive(Class<?> cls, Class<T> annotationClass, Predicate<T> annotationFilter) {
@@ -425,15 +430,34 @@ public class Jackson2Parser extends ModelParser {
         return null;
     }
 
+    @Override
+    public Model parseModel(List<SourceType<Type>> types) {
+        final Model model = super.parseModel(types);
+        final int requests = beanHelperRequests.get();
+        final int introspected = beanHelperCache.size();
+        TypeScriptGenerator.getLogger().debug(String.format("Jackson bean serializer cache: %d requests, %d hits, %d classes introspected",
+                requests, requests - introspected, introspected));
+        return model;
+    }
+
     private BeanHelper getBeanHelper(Class<?> beanClass) {
         if (beanClass == null) {
             return null;
         }
+        beanHelperRequests.incrementAndGet();
+        final Optional<BeanHelper> cachedBeanHelper = beanHelperCache.get(beanClass);
+        if (cachedBeanHelper != null) {
+            return cachedBeanHelper.orElse(null);
+        }
+        final Optional<BeanHelper> beanHelper = Optional.ofNullable(createBeanHelper(beanClass));
+        final Optional<BeanHelper> existingBeanHelper = beanHelperCache.putIfAbsent(beanClass, beanHelper);
+        return (existingBeanHelper != null ? existingBeanHelper : beanHelper).orElse(null);
+    }
+
+    private BeanHelper createBeanHelper(Class<?> beanClass) {
         try {
-            final DefaultSerializerProvider.Impl serializerProvider1 = (DefaultSerializerProvider.Impl) objectMapper.getSerializerProvider();
-            final DefaultSerializerProvider.Impl serializerProvider2 = serializerProvider1.createInstance(objectMapper.getSerializationConfig(), objectMapper.getSerializerFactory());
             final JavaType simpleType = objectMapper.constructType(beanClass);
-            final JsonSerializer<?> jsonSerializer = BeanSerializerFactory.instance.createSerializer(serializerProvider2, simpleType);
+            final JsonSerializer<?> jsonSerializer = BeanSerializerFactory.instance.createSerializer(serializerProvider.get(), simpleType);
             if (jsonSerializer == null) {
                 return null;
             }
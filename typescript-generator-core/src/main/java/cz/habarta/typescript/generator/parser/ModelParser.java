@@ -4,6 +4,8 @@ package cz.habarta.typescript.generator.parser;
 import cz.habarta.typescript.generator.*;
 import cz.habarta.typescript.generator.compiler.EnumKind;
 import cz.habarta.typescript.generator.compiler.EnumMemberModel;
+import cz.habarta.typescript.generator.util.FlightRecorderEvents;
+import cz.habarta.typescript.generator.util.TypeKey;
 import cz.habarta.typescript.generator.util.Utils;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Field;
@@ -12,7 +14,11 @@ import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.lang.reflect.Type;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
 import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -22,8 +28,11 @@ public abstract class ModelParser {
     protected final Settings settings;
     private final Javadoc javadoc;
     private final Queue<SourceType<? extends Type>> typeQueue;
+    private final Set<TypeKey> queuedTypes;  // every type is added to the queue (and parsed) only once
+    private final ThreadLocal<List<SourceType<? extends Type>>> discoveredTypesCollector = new ThreadLocal<>();
     private final TypeProcessor commonTypeProcessor;
     private final List<RestApplicationParser> restApplicationParsers;
+    protected AnnotationIndex annotationIndex;
         
     public static abstract class Factory {
 
@@ -38,9 +47,11 @@ public abstract class ModelParser {
     public ModelParser(Settings settings, TypeProcessor commonTypeProcessor, List<RestApplicationParser> restApplicationParsers) {
         this.settings = settings;
         this.javadoc = new Javadoc(settings);
-        this.typeQueue = new LinkedList<>();
+        this.typeQueue = new ArrayDeque<>();
+        this.queuedTypes = new HashSet<>();
         this.restApplicationParsers = restApplicationParsers;
         this.commonTypeProcessor = commonTypeProcessor;
+        this.annotationIndex = new AnnotationIndex(settings);
     }
 
     public Model parseModel(Type type) {
@@ -48,57 +59,60 @@ public abstract class ModelParser {
     }
 
     public Model parseModel(List<SourceType<Type>> types) {
-        typeQueue.addAll(types);
-        Model model = parseQueue();
+        queuedTypes.clear();
+        annotationIndex = new AnnotationIndex(settings);
+        for (SourceType<Type> type : types) {
+            addToQueue(type);
+        }
+        final GeneratorMetrics metrics = settings.getMetrics();
+        Model model = metrics.measure("parse.classes", () -> parseQueue());
         if (!settings.ignoreSwaggerAnnotations) {
-            model = Swagger.enrichModel(model);
+            model = metrics.measure("parse.swagger", model, Swagger::enrichModel);
         }
-        model = javadoc.enrichModel(model);
+        model = metrics.measure("parse.javadoc", model, javadoc::enrichModel);
         return model;
     }
 
     private Model parseQueue() {
-        final Collection<Type> parsedTypes = new ArrayList<>();  // do not use hashcodes, we can only count on `equals` since we use custom `ParameterizedType`s
         final List<BeanModel> beans = new ArrayList<>();
         final List<EnumModel> enums = new ArrayList<>();
-        SourceType<? extends Type> sourceType;
-        while ((sourceType = typeQueue.poll()) != null) {
-            if (parsedTypes.contains(sourceType.type)) {
-                continue;
-            }
-            parsedTypes.add(sourceType.type);
-
-            // REST resource
-            boolean parsedByRestApplicationParser = false;
-            for (RestApplicationParser restApplicationParser : restApplicationParsers) {
-                final JaxrsApplicationParser.Result jaxrsResult = restApplicationParser.tryParse(sourceType);
-                if (jaxrsResult != null) {
-                    typeQueue.addAll(jaxrsResult.discoveredTypes);
-                    parsedByRestApplicationParser = true;
-                }
-            }
-            if (parsedByRestApplicationParser) {
-                continue;
+        final int parsingThreads = settings.getParsingThreads();
+        if (parsingThreads == 1) {
+            SourceType<? extends Type> sourceType;
+            while ((sourceType = typeQueue.poll()) != null) {
+                final QueueItem item = prepareQueueItem(sourceType);
+                parseQueueItem(item);
+                finishQueueItem(item, beans, enums);
             }
-
-            final TypeProcessor.Result result = commonTypeProcessor.processTypeInTemporaryContext(sourceType.type, null, null, settings);
-            if (result != null) {
-                if (sourceType.type instanceof Class<?> && result.getTsType() instanceof TsType.ReferenceType) {
-                    final Class<?> cls = (Class<?>) sourceType.type;
-                    TypeScriptGenerator.getLogger().verbose("Parsing '" + cls.getName() + "'" +
-                            (sourceType.usedInClass != null ? " used in '" + sourceType.usedInClass.getSimpleName() + "." + sourceType.usedInMember + "'" : ""));
-                    final DeclarationModel model = parseClass(sourceType.asSourceClass());
-                    if (model instanceof EnumModel) {
-                        enums.add((EnumModel) model);
-                    } else if (model instanceof BeanModel) {
-                        beans.add((BeanModel) model);
-                    } else {
-                        throw new RuntimeException();
+        } else {
+            final ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+            final ForkJoinPool pool = new ForkJoinPool(parsingThreads, p -> {
+                final ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+                thread.setContextClassLoader(contextClassLoader);
+                return thread;
+            }, null, false);
+            try {
+                // breadth-first: classes from one "generation" are parsed concurrently,
+                // results are merged in queue order so the model is the same as when parsed sequentially
+                while (!typeQueue.isEmpty()) {
+                    final List<QueueItem> items = new ArrayList<>();
+                    SourceType<? extends Type> sourceType;
+                    while ((sourceType = typeQueue.poll()) != null) {
+                        items.add(prepareQueueItem(sourceType));
+                    }
+                    final List<ForkJoinTask<?>> tasks = items.stream()
+                            .filter(item -> item.parseClass)
+                            .map(item -> pool.submit(() -> parseQueueItem(item)))
+                            .collect(Collectors.toList());
+                    for (ForkJoinTask<?> task : tasks) {
+                        task.join();
+                    }
+                    for (QueueItem item : items) {
+                        finishQueueItem(item, beans, enums);
                     }
                 }
-                for (Class<?> cls : result.getDiscoveredClasses()) {
-                    typeQueue.add(new SourceType<>(cls, sourceType.usedInClass, sourceType.usedInMember));
-                }
+            } finally {
+                pool.shutdownNow();
             }
         }
         final List<RestApplicationModel> restModels = restApplicationParsers.stream()
@@ -107,6 +121,78 @@ public abstract class ModelParser {
         return new Model(beans, enums, restModels);
     }
 
+    private static class QueueItem {
+        public final SourceType<? extends Type> sourceType;
+        public final List<SourceType<? extends Type>> discoveredTypes = new ArrayList<>();
+        public boolean parseClass;
+        public List<Class<?>> discoveredClasses = Collections.emptyList();
+        public DeclarationModel model;
+
+        public QueueItem(SourceType<? extends Type> sourceType) {
+            this.sourceType = sourceType;
+        }
+    }
+
+    private QueueItem prepareQueueItem(SourceType<? extends Type> sourceType) {
+        final QueueItem item = new QueueItem(sourceType);
+
+        // REST resource
+        boolean parsedByRestApplicationParser = false;
+        for (RestApplicationParser restApplicationParser : restApplicationParsers) {
+            final JaxrsApplicationParser.Result jaxrsResult = restApplicationParser.tryParse(sourceType);
+            if (jaxrsResult != null) {
+                item.discoveredTypes.addAll(jaxrsResult.discoveredTypes);
+                parsedByRestApplicationParser = true;
+            }
+        }
+        if (parsedByRestApplicationParser) {
+            return item;
+        }
+
+        final TypeProcessor.Result result = commonTypeProcessor.processTypeInTemporaryContext(sourceType.type, null, null, settings);
+        if (result != null) {
+            if (sourceType.type instanceof Class<?> && result.getTsType() instanceof TsType.ReferenceType) {
+                final Class<?> cls = (Class<?>) sourceType.type;
+                TypeScriptGenerator.getLogger().verbose("Parsing '" + cls.getName() + "'" +
+                        (sourceType.usedInClass != null ? " used in '" + sourceType.usedInClass.getSimpleName() + "." + sourceType.usedInMember + "'" : ""));
+                item.parseClass = true;
+            }
+            item.discoveredClasses = result.getDiscoveredClasses();
+        }
+        return item;
+    }
+
+    private void parseQueueItem(QueueItem item) {
+        if (item.parseClass) {
+            discoveredTypesCollector.set(item.discoveredTypes);
+            final Object event = FlightRecorderEvents.beginParseClass(item.sourceType.asSourceClass().type);
+            try {
+                item.model = parseClass(item.sourceType.asSourceClass());
+            } finally {
+                FlightRecorderEvents.end(event);
+                discoveredTypesCollector.remove();
+            }
+        }
+    }
+
+    private void finishQueueItem(QueueItem item, List<BeanModel> beans, List<EnumModel> enums) {
+        if (item.parseClass) {
+            if (item.model instanceof EnumModel) {
+                enums.add((EnumModel) item.model);
+            } else if (item.model instanceof BeanModel) {
+                beans.add((BeanModel) item.model);
+            } else {
+                throw new RuntimeException();
+            }
+        }
+        for (SourceType<? extends Type> discoveredType : item.discoveredTypes) {
+            addToQueue(discoveredType);
+        }
+        for (Class<?> cls : item.discoveredClasses) {
+            addToQueue(new SourceType<>(cls, item.sourceType.usedInClass, item.sourceType.usedInMember));
+        }
+    }
+
     protected abstract DeclarationModel parseClass(SourceType<Class<?>> sourceClass);
 
     protected static void checkMember(Member propertyMember, String propertyName, Class<?> sourceClass) {
@@ -120,14 +206,22 @@ public abstract class ModelParser {
     }
 
     protected boolean isAnnotatedPropertyIncluded(Function<Class<? extends Annotation>, Annotation> getAnnotationFunction, String propertyDescription) {
-        boolean isIncluded = settings.includePropertyAnnotations.isEmpty()
-                || Utils.hasAnyAnnotation(getAnnotationFunction, settings.includePropertyAnnotations);
-        if (!isIncluded) {
+        return isPropertyIncluded(annotationClass -> getAnnotationFunction.apply(annotationClass) != null, propertyDescription);
+    }
+
+    protected boolean isPropertyIncluded(Predicate<Class<? extends Annotation>> hasAnnotation, String propertyDescription) {
+        return isPropertyIncluded(annotationIndex.getAnnotations(hasAnnotation), propertyDescription);
+    }
+
+    /**
+     * @param annotations configured annotations present on property (or its class) as returned by {@link AnnotationIndex}
+     */
+    protected boolean isPropertyIncluded(BitSet annotations, String propertyDescription) {
+        if (!annotationIndex.isIncluded(annotations)) {
             TypeScriptGenerator.getLogger().verbose("Skipping '" + propertyDescription + "' because it doesn't have any annotation from 'includePropertyAnnotations'");
             return false;
         }
-        boolean isExcluded = Utils.hasAnyAnnotation(getAnnotationFunction, settings.excludePropertyAnnotations);
-        if (isExcluded) {
+        if (annotationIndex.isExcluded(annotations)) {
             TypeScriptGenerator.getLogger().verbose("Skipping '" + propertyDescription + "' because it has some annotation from 'excludePropertyAnnotations'");
             return false;
         }
@@ -135,11 +229,22 @@ public abstract class ModelParser {
     }
 
     protected boolean isAnnotatedPropertyOptional(Function<Class<? extends Annotation>, Annotation> getAnnotationFunction) {
+        return isPropertyOptional(annotationClass -> getAnnotationFunction.apply(annotationClass) != null);
+    }
+
+    protected boolean isPropertyOptional(Predicate<Class<? extends Annotation>> hasAnnotation) {
+        if (settings.optionalProperties == OptionalProperties.all) {
+            return true;
+        }
+        return isPropertyOptional(annotationIndex.getAnnotations(hasAnnotation));
+    }
+
+    protected boolean isPropertyOptional(BitSet annotations) {
         if (settings.optionalProperties == OptionalProperties.all) {
             return true;
         }
         if (settings.optionalProperties == null || settings.optionalProperties == OptionalProperties.useSpecifiedAnnotations) {
-            return Utils.hasAnyAnnotation(getAnnotationFunction, settings.optionalAnnotations);
+            return annotationIndex.isOptional(annotations);
         }
         return false;
     }
@@ -157,13 +262,22 @@ public abstract class ModelParser {
     }
 
     protected void addBeanToQueue(SourceType<? extends Type> sourceType) {
-        typeQueue.add(sourceType);
+        addToQueue(sourceType);
+    }
+
+    private void addToQueue(SourceType<? extends Type> sourceType) {
+        final List<SourceType<? extends Type>> collector = discoveredTypesCollector.get();
+        if (collector != null) {
+            collector.add(sourceType);
+        } else if (queuedTypes.add(TypeKey.of(sourceType.type))) {
+            typeQueue.add(sourceType);
+        }
     }
 
     protected PropertyModel processTypeAndCreateProperty(String name, Type type, Object typeContext, boolean optional, Class<?> usedInClass, Member originalMember, PropertyModel.PullProperties pullProperties, List<String> comments) {
         final List<Class<?>> classes = commonTypeProcessor.discoverClassesUsedInType(type, originalMember, typeContext, settings);
         for (Class<?> cls : classes) {
-            typeQueue.add(new SourceType<>(cls, usedInClass, name));
+            addToQueue(new SourceType<>(cls, usedInClass, name));
         }
         return new PropertyModel(name, type, optional, originalMember, pullProperties, typeContext, comments);
     }
@@ -216,16 +330,11 @@ public abstract class ModelParser {
             }
 
             // todo: consider separate include/exclude or rename 'member' instead of 'property' annotations?
-            Function<Class<? extends Annotation>, Annotation> annotationFinder = annotationClass -> {
-                Annotation annotation = declaredMethod.getAnnotation(annotationClass);
-                if (annotation == null) {
-                    // If not found, fallback to checking class level
-                    annotation = declaredMethod.getDeclaringClass().getAnnotation(annotationClass);
-                }
-                return annotation;
-            };
-            if (!isAnnotatedPropertyIncluded(
-                    annotationFinder, sourceClass.type.getName() + "." + declaredMethod.getName())) {
+            final BitSet methodAnnotations = annotationIndex.getAnnotations(declaredMethod::isAnnotationPresent);
+            // if not found on method, fallback to checking class level
+            final BitSet classAnnotations = annotationIndex.getClassAnnotations(declaredMethod.getDeclaringClass());
+            if (!isPropertyIncluded(
+                    AnnotationIndex.union(methodAnnotations, classAnnotations), sourceClass.type.getName() + "." + declaredMethod.getName())) {
                 continue;
             }
 
@@ -0,0 +1,312 @@
+package cz.habarta.typescript.generator.util;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.*;
+import java.nio.file.*;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+
+
+/**
+ * Writer which collects characters in a reusable buffer and writes them to a temporary file using {@link FileChannel}.
+ * Buffer is written to the file when it is full (so buffer size is the flush threshold), when the writer is flushed or closed.
+ * When closed, temporary file atomically replaces target file so readers never see partially written output.
+ * Temporary file is created with default permissions (as limited by umask) or with permissions of existing target file.
+ * When {@link #writeOnlyIfChanged(String...)} is used target file is only replaced when its content hash differs
+ * from hash of new content, this keeps file modification time so file watchers are not triggered by unchanged output.
+ */
+public class AtomicFileWriter extends Writer {
+
+    public static final int DefaultBufferSize = 64 * 1024;
+    // ignored line (file comment) is only searched for in the header of the file
+    private static final int HeaderLineCount = 5;
+
+    private final Path target;
+    private final Path temporaryFile;
+    private final FileChannel channel;
+    private final CharsetEncoder encoder;
+    private final CharBuffer charBuffer;
+    private final ByteBuffer byteBuffer;
+    private boolean closed = false;
+    private List<byte[]> ignoredLinePrefixes = null;
+    private boolean targetUnchanged = false;
+
+    public AtomicFileWriter(File file) {
+        this(file, StandardCharsets.UTF_8, DefaultBufferSize);
+    }
+
+    /**
+     * @param bufferSize number of characters buffered before they are written to the file
+     */
+    public AtomicFileWriter(File file, Charset charset, int bufferSize) {
+        // at least two characters are needed to hold surrogate pair
+        if (bufferSize < 2) {
+            throw new IllegalArgumentException("Buffer size must be at least 2");
+        }
+        this.target = file.toPath().toAbsolutePath();
+        try {
+            Files.createDirectories(target.getParent());
+            // Files.createTempFile is not used because it creates file readable only by owner
+            Path path;
+            FileChannel fileChannel;
+            while (true) {
+                path = target.resolveSibling("." + target.getFileName() + "." + Long.toUnsignedString(ThreadLocalRandom.current().nextLong()) + ".tmp");
+                try {
+                    fileChannel = FileChannel.open(path, StandardOpenOption.WRITE, StandardOpenOption.CREATE_NEW);
+                    break;
+                } catch (FileAlreadyExistsException e) {
+                    // try another name
+                }
+            }
+            this.temporaryFile = path;
+            this.channel = fileChannel;
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        this.encoder = charset.newEncoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        this.charBuffer = CharBuffer.allocate(bufferSize);
+        this.byteBuffer = ByteBuffer.allocate((int) Math.ceil(bufferSize * (double) encoder.maxBytesPerChar()));
+    }
+
+    /**
+     * Target file will only be replaced when content is different.
+     * @param ignoredLinePrefixes first line in the header of the file (first 5 lines) starting with one of these prefixes
+     *                            (after leading whitespace) is not compared, for example file comment with timestamp
+     */
+    public AtomicFileWriter writeOnlyIfChanged(String... ignoredLinePrefixes) {
+        this.ignoredLinePrefixes = new ArrayList<>();
+        for (String prefix : ignoredLinePrefixes) {
+            this.ignoredLinePrefixes.add(prefix.getBytes(StandardCharsets.UTF_8));
+        }
+        return this;
+    }
+
+    /**
+     * Returns <code>true</code> if writer was closed without replacing target file because its content didn't change.
+     */
+    public boolean isTargetUnchanged() {
+        return targetUnchanged;
+    }
+
+    @Override
+    public void write(int c) throws IOException {
+        ensureOpen();
+        if (!charBuffer.hasRemaining()) {
+            writeBuffer(false);
+        }
+        charBuffer.put((char) c);
+    }
+
+    @Override
+    public void write(String str, int off, int len) throws IOException {
+        ensureOpen();
+        int offset = off;
+        int remaining = len;
+        while (remaining > 0) {
+            if (!charBuffer.hasRemaining()) {
+                writeBuffer(false);
+            }
+            final int count = Math.min(remaining, charBuffer.remaining());
+            charBuffer.put(str, offset, offset + count);
+            offset += count;
+            remaining -= count;
+        }
+    }
+
+    @Override
+    public void write(char[] cbuf, int off, int len) throws IOException {
+        ensureOpen();
+        int offset = off;
+        int remaining = len;
+        while (remaining > 0) {
+            if (!charBuffer.hasRemaining()) {
+                writeBuffer(false);
+            }
+            final int count = Math.min(remaining, charBuffer.remaining());
+            charBuffer.put(cbuf, offset, count);
+            offset += count;
+            remaining -= count;
+        }
+    }
+
+    /**
+     * Writes buffered characters to temporary file, target file is replaced only when writer is closed.
+     */
+    @Override
+    public void flush() throws IOException {
+        ensureOpen();
+        writeBuffer(false);
+    }
+
+    /**
+     * Writes remaining characters and atomically replaces target file.
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            writeBuffer(true);
+            channel.close();
+            if (ignoredLinePrefixes != null && Files.isRegularFile(target)
+                    && Arrays.equals(hashContent(temporaryFile), hashContent(target))) {
+                Files.delete(temporaryFile);
+                targetUnchanged = true;
+            } else {
+                moveToTarget();
+            }
+        } catch (IOException | RuntimeException | Error e) {
+            channel.close();
+            Files.deleteIfExists(temporaryFile);
+            throw e;
+        }
+    }
+
+    /**
+     * Discards written content and deletes temporary file, target file is not changed.
+     */
+    public void abort() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            channel.close();
+            Files.deleteIfExists(temporaryFile);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    public File getFile() {
+        return target.toFile();
+    }
+
+    private void writeBuffer(boolean endOfInput) throws IOException {
+        charBuffer.flip();
+        while (true) {
+            final CoderResult result = encoder.encode(charBuffer, byteBuffer, endOfInput);
+            writeBytes();
+            if (result.isUnderflow()) {
+                break;
+            }
+            if (result.isError()) {
+                result.throwException();
+            }
+        }
+        if (endOfInput) {
+            while (encoder.flush(byteBuffer).isOverflow()) {
+                writeBytes();
+            }
+            writeBytes();
+        }
+        // keeps unprocessed characters (for example high surrogate at the end of buffer)
+        charBuffer.compact();
+    }
+
+    private void writeBytes() throws IOException {
+        byteBuffer.flip();
+        while (byteBuffer.hasRemaining()) {
+            channel.write(byteBuffer);
+        }
+        byteBuffer.clear();
+    }
+
+    private void moveToTarget() throws IOException {
+        copyPermissionsFromTarget();
+        try {
+            Files.move(temporaryFile, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temporaryFile, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private void copyPermissionsFromTarget() throws IOException {
+        final PosixFileAttributeView targetView = Files.getFileAttributeView(target, PosixFileAttributeView.class);
+        final PosixFileAttributeView temporaryView = Files.getFileAttributeView(temporaryFile, PosixFileAttributeView.class);
+        if (targetView != null && temporaryView != null && Files.isRegularFile(target)) {
+            temporaryView.setPermissions(targetView.readAttributes().permissions());
+        }
+    }
+
+    private byte[] hashContent(Path file) throws IOException {
+        final MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException(e);
+        }
+        try (InputStream input = Files.newInputStream(file)) {
+            final ByteArrayOutputStream line = new ByteArrayOutputStream();
+            int remainingHeaderLines = HeaderLineCount;
+            final byte[] buffer = new byte[DefaultBufferSize];
+            int count;
+            while ((count = input.read(buffer)) != -1) {
+                int lineStart = 0;
+                for (int i = 0; i < count && remainingHeaderLines > 0; i++) {
+                    if (buffer[i] == '\n') {
+                        line.write(buffer, lineStart, i + 1 - lineStart);
+                        remainingHeaderLines = digestHeaderLine(digest, line.toByteArray()) ? 0 : remainingHeaderLines - 1;
+                        line.reset();
+                        lineStart = i + 1;
+                    }
+                }
+                if (remainingHeaderLines > 0) {
+                    line.write(buffer, lineStart, count - lineStart);
+                } else {
+                    digest.update(buffer, lineStart, count - lineStart);
+                }
+            }
+            if (remainingHeaderLines > 0) {
+                digestHeaderLine(digest, line.toByteArray());
+            }
+        }
+        return digest.digest();
+    }
+
+    /**
+     * Returns <code>true</code> if the line was ignored.
+     */
+    private boolean digestHeaderLine(MessageDigest digest, byte[] line) {
+        int start = 0;
+        while (start < line.length && (line[start] == ' ' || line[start] == '\t')) {
+            start++;
+        }
+        for (byte[] prefix : ignoredLinePrefixes) {
+            if (startsWith(line, start, prefix)) {
+                return true;
+            }
+        }
+        digest.update(line);
+        return false;
+    }
+
+    private static boolean startsWith(byte[] array, int offset, byte[] prefix) {
+        if (array.length - offset < prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if (array[offset + i] != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("Writer is closed");
+        }
+    }
+
+}
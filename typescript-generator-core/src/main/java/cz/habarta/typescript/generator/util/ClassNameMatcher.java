@@ -0,0 +1,98 @@
+package cz.habarta.typescript.generator.util;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+
+/**
+ * Tests class names against multiple glob patterns at once (see {@link Utils#globsToRegexps(List)} for glob syntax).
+ * Globs are indexed by their literal prefix in a trie so each class name is only tested against globs with matching prefix.
+ * Globs without wildcards are looked up in a set, globs like <code>com.example.**</code> match whole subtree of the trie
+ * and globs like <code>**Json</code> are tested using {@link String#endsWith(String)}.
+ * Results are cached because the same class names are usually tested repeatedly.
+ */
+public class ClassNameMatcher implements Predicate<String> {
+
+    private final Set<String> exactNames = new HashSet<>();
+    private final List<String> suffixes = new ArrayList<>();
+    private final Node root = new Node();
+    private final Map<String, Boolean> cache = new ConcurrentHashMap<>();
+
+    public ClassNameMatcher(List<String> globs) {
+        for (String glob : globs) {
+            final int wildcardIndex = glob.indexOf('*');
+            if (wildcardIndex == -1) {
+                exactNames.add(glob);
+                continue;
+            }
+            final String prefix = glob.substring(0, wildcardIndex);
+            final String rest = glob.substring(wildcardIndex);
+            if (prefix.isEmpty() && rest.startsWith("**") && rest.indexOf('*', 2) == -1) {
+                suffixes.add(rest.substring(2));
+                continue;
+            }
+            final Node node = root.getOrCreate(prefix);
+            if (rest.equals("**")) {
+                node.matchesAll = true;
+            } else {
+                node.patterns.addAll(Utils.globsToRegexps(Collections.singletonList(glob)));
+            }
+        }
+    }
+
+    @Override
+    public boolean test(String className) {
+        final Boolean cached = cache.get(className);
+        if (cached != null) {
+            return cached;
+        }
+        final boolean result = matches(className);
+        cache.put(className, result);
+        return result;
+    }
+
+    private boolean matches(String className) {
+        if (exactNames.contains(className)) {
+            return true;
+        }
+        for (String suffix : suffixes) {
+            if (className.endsWith(suffix)) {
+                return true;
+            }
+        }
+        Node node = root;
+        int index = 0;
+        while (node != null) {
+            if (node.matchesAll) {
+                return true;
+            }
+            for (Pattern pattern : node.patterns) {
+                if (pattern.matcher(className).matches()) {
+                    return true;
+                }
+            }
+            if (index == className.length()) {
+                break;
+            }
+            node = node.children.get(className.charAt(index++));
+        }
+        return false;
+    }
+
+    private static class Node {
+        private final Map<Character, Node> children = new HashMap<>();
+        private final List<Pattern> patterns = new ArrayList<>();
+        private boolean matchesAll = false;
+
+        public Node getOrCreate(String prefix) {
+            Node node = this;
+            for (int i = 0; i < prefix.length(); i++) {
+                node = node.children.computeIfAbsent(prefix.charAt(i), c -> new Node());
+            }
+            return node;
+        }
+    }
+
+}
@@ -0,0 +1,149 @@
+package cz.habarta.typescript.generator.util;
+
+import java.lang.reflect.Type;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+
+/**
+ * Java Flight Recorder events for main units of work of the generator (category "TypeScript Generator").
+ * Events are only created when JFR API is present (JDK 11+ or JDK 8u262+) and the event is enabled in running recording,
+ * otherwise <code>begin*</code> methods return <code>null</code> and {@link #end(Object)} does nothing.
+ * Types from <code>jdk.jfr</code> package are only referenced from nested {@link Jfr} class
+ * so this class can be used also on JVMs without JFR.
+ */
+public class FlightRecorderEvents {
+
+    public static final String ParseClassEventName = "cz.habarta.typescript.generator.ParseClass";
+    public static final String TypeProcessingEventName = "cz.habarta.typescript.generator.TypeProcessing";
+    public static final String PhaseEventName = "cz.habarta.typescript.generator.Phase";
+
+    private static final boolean Available = isAvailable();
+
+    private static boolean isAvailable() {
+        try {
+            Class.forName("jdk.jfr.Event");
+            return Jfr.initialize();
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    public static Object beginParseClass(Class<?> cls) {
+        return Available ? Jfr.beginParseClass(cls) : null;
+    }
+
+    public static Object beginTypeProcessing(Type javaType) {
+        return Available ? Jfr.beginTypeProcessing(javaType) : null;
+    }
+
+    public static void endTypeProcessing(Object event, Object typeProcessor) {
+        if (event != null) {
+            Jfr.endTypeProcessing(event, typeProcessor);
+        }
+    }
+
+    /**
+     * Phase can be compiler transformation, extension transformer or emitter section,
+     * name is the same as name used in {@link cz.habarta.typescript.generator.GeneratorMetrics}.
+     */
+    public static Object beginPhase(String name) {
+        return Available ? Jfr.beginPhase(name) : null;
+    }
+
+    public static void end(Object event) {
+        if (event != null) {
+            Jfr.end(event);
+        }
+    }
+
+    private static class Jfr {
+
+        private static EventType parseClassType;
+        private static EventType typeProcessingType;
+        private static EventType phaseType;
+
+        private static boolean initialize() {
+            parseClassType = EventType.getEventType(ParseClassEvent.class);
+            typeProcessingType = EventType.getEventType(TypeProcessingEvent.class);
+            phaseType = EventType.getEventType(PhaseEvent.class);
+            return true;
+        }
+
+        private static Object beginParseClass(Class<?> cls) {
+            if (!parseClassType.isEnabled()) {
+                return null;
+            }
+            final ParseClassEvent event = new ParseClassEvent();
+            event.className = cls.getName();
+            event.begin();
+            return event;
+        }
+
+        private static Object beginTypeProcessing(Type javaType) {
+            if (!typeProcessingType.isEnabled()) {
+                return null;
+            }
+            final TypeProcessingEvent event = new TypeProcessingEvent();
+            event.javaType = javaType.getTypeName();
+            event.begin();
+            return event;
+        }
+
+        private static void endTypeProcessing(Object event, Object typeProcessor) {
+            ((TypeProcessingEvent) event).typeProcessor = typeProcessor != null ? typeProcessor.getClass().getName() : null;
+            end(event);
+        }
+
+        private static Object beginPhase(String name) {
+            if (!phaseType.isEnabled()) {
+                return null;
+            }
+            final PhaseEvent event = new PhaseEvent();
+            event.phase = name;
+            event.begin();
+            return event;
+        }
+
+        private static void end(Object event) {
+            final Event jfrEvent = (Event) event;
+            jfrEvent.end();
+            jfrEvent.commit();
+        }
+
+    }
+
+    @Name(ParseClassEventName)
+    @Label("Parse Class")
+    @Category("TypeScript Generator")
+    @Description("Parsing of one Java class by model parser")
+    static class ParseClassEvent extends Event {
+        @Label("Class")
+        String className;
+    }
+
+    @Name(TypeProcessingEventName)
+    @Label("Type Processing")
+    @Category("TypeScript Generator")
+    @Description("Resolution of Java type to TypeScript type by type processor chain (cached results are not included)")
+    static class TypeProcessingEvent extends Event {
+        @Label("Java Type")
+        String javaType;
+        @Label("Type Processor")
+        String typeProcessor;
+    }
+
+    @Name(PhaseEventName)
+    @Label("Phase")
+    @Category("TypeScript Generator")
+    @Description("Model compiler transformation, extension transformer or emitter section")
+    static class PhaseEvent extends Event {
+        @Label("Phase")
+        String phase;
+    }
+
+}
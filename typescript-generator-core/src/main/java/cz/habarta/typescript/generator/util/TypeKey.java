@@ -0,0 +1,124 @@
+package cz.habarta.typescript.generator.util;
+
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
+import java.util.Objects;
+
+
+/**
+ * Hash key for java {@link Type}s with structural equality.
+ * {@link ParameterizedType}s created by {@link Utils#createParameterizedType} and JDK's own implementation
+ * are considered equal if they have the same raw type, owner type and type arguments
+ * so they can be safely used in hash based collections.
+ */
+public final class TypeKey {
+
+    private final Type type;
+    private final int hash;
+
+    private TypeKey(Type type) {
+        this.type = type;
+        this.hash = hash(type);
+    }
+
+    public static TypeKey of(Type type) {
+        return new TypeKey(type);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof TypeKey)) {
+            return false;
+        }
+        final TypeKey other = (TypeKey) obj;
+        return hash == other.hash && equal(type, other.type);
+    }
+
+    @Override
+    public String toString() {
+        return String.valueOf(type);
+    }
+
+    private static int hash(Type type) {
+        if (type == null) {
+            return 0;
+        }
+        if (type instanceof Class<?> || type instanceof TypeVariable<?>) {
+            return type.hashCode();
+        }
+        if (type instanceof ParameterizedType) {
+            final ParameterizedType parameterizedType = (ParameterizedType) type;
+            return hash(parameterizedType.getActualTypeArguments()) ^ hash(parameterizedType.getOwnerType()) ^ hash(parameterizedType.getRawType());
+        }
+        if (type instanceof GenericArrayType) {
+            return 31 * hash(((GenericArrayType) type).getGenericComponentType()) + 1;
+        }
+        if (type instanceof WildcardType) {
+            final WildcardType wildcardType = (WildcardType) type;
+            return hash(wildcardType.getLowerBounds()) ^ hash(wildcardType.getUpperBounds());
+        }
+        return type.hashCode();
+    }
+
+    private static int hash(Type[] types) {
+        int result = 1;
+        for (Type type : types) {
+            result = 31 * result + hash(type);
+        }
+        return result;
+    }
+
+    private static boolean equal(Type type1, Type type2) {
+        if (type1 == type2) {
+            return true;
+        }
+        if (type1 == null || type2 == null) {
+            return false;
+        }
+        if (type1 instanceof ParameterizedType && type2 instanceof ParameterizedType) {
+            final ParameterizedType parameterizedType1 = (ParameterizedType) type1;
+            final ParameterizedType parameterizedType2 = (ParameterizedType) type2;
+            return equal(parameterizedType1.getRawType(), parameterizedType2.getRawType())
+                    && equal(parameterizedType1.getOwnerType(), parameterizedType2.getOwnerType())
+                    && equal(parameterizedType1.getActualTypeArguments(), parameterizedType2.getActualTypeArguments());
+        }
+        if (type1 instanceof GenericArrayType && type2 instanceof GenericArrayType) {
+            return equal(((GenericArrayType) type1).getGenericComponentType(), ((GenericArrayType) type2).getGenericComponentType());
+        }
+        if (type1 instanceof WildcardType && type2 instanceof WildcardType) {
+            final WildcardType wildcardType1 = (WildcardType) type1;
+            final WildcardType wildcardType2 = (WildcardType) type2;
+            return equal(wildcardType1.getLowerBounds(), wildcardType2.getLowerBounds())
+                    && equal(wildcardType1.getUpperBounds(), wildcardType2.getUpperBounds());
+        }
+        return Objects.equals(type1, type2);
+    }
+
+    private static boolean equal(Type[] types1, Type[] types2) {
+        if (types1.length != types2.length) {
+            return false;
+        }
+        for (int i = 0; i < types1.length; i++) {
+            if (!equal(types1[i], types2[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+}
@@ -12,9 +12,11 @@ import java.io.StringWriter;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.AnnotatedElement;
 import java.lang.reflect.Field;
+import java.lang.reflect.GenericArrayType;
 import java.lang.reflect.Method;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.lang.reflect.WildcardType;
 import java.util.*;
 import java.util.function.Function;
 import java.util.function.Predicate;
@@ -194,7 +196,10 @@ public class Utils {
     }
 
     public static ParameterizedType createParameterizedType(final Type rawType, final Type... actualTypeArguments) {
-        final Type ownerType = null;
+        return createParameterizedTypeWithOwner(null, rawType, actualTypeArguments);
+    }
+
+    public static ParameterizedType createParameterizedTypeWithOwner(final Type ownerType, final Type rawType, final Type... actualTypeArguments) {
         return new ParameterizedType() {
             @Override
             public Type[] getActualTypeArguments() {
@@ -229,7 +234,68 @@ public class Utils {
 
             @Override
             public int hashCode() {
-                return Objects.hash(ownerType, rawType, actualTypeArguments);
+                return Arrays.hashCode(actualTypeArguments) ^ Objects.hashCode(ownerType) ^ Objects.hashCode(rawType);
+            }
+        };
+    }
+
+    public static WildcardType createWildcardType(final Type[] upperBounds, final Type[] lowerBounds) {
+        return new WildcardType() {
+            @Override
+            public Type[] getUpperBounds() {
+                return upperBounds;
+            }
+
+            @Override
+            public Type[] getLowerBounds() {
+                return lowerBounds;
+            }
+
+            @Override
+            public boolean equals(Object obj) {
+                if (this == obj) {
+                    return true;
+                }
+                if (obj instanceof WildcardType) {
+                    final WildcardType that = (WildcardType) obj;
+                    return
+                        Arrays.equals(upperBounds, that.getUpperBounds()) &&
+                        Arrays.equals(lowerBounds, that.getLowerBounds());
+                } else {
+                    return false;
+                }
+            }
+
+            @Override
+            public int hashCode() {
+                return Arrays.hashCode(lowerBounds) ^ Arrays.hashCode(upperBounds);
+            }
+        };
+    }
+
+    public static GenericArrayType createGenericArrayType(final Type genericComponentType) {
+        return new GenericArrayType() {
+            @Override
+            public Type getGenericComponentType() {
+                return genericComponentType;
+            }
+
+            @Override
+            public boolean equals(Object obj) {
+                if (this == obj) {
+                    return true;
+                }
+                if (obj instanceof GenericArrayType) {
+                    final GenericArrayType that = (GenericArrayType) obj;
+                    return Objects.equals(genericComponentType, that.getGenericComponentType());
+                } else {
+                    return false;
+                }
+            }
+
+            @Override
+            public int hashCode() {
+                return Objects.hashCode(genericComponentType);
             }
         };
     }
@@ -0,0 +1,147 @@
+package cz.habarta.typescript.generator;
+
+import cz.habarta.typescript.generator.util.AtomicFileWriter;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.Set;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+
+public class AtomicFileWriterTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void testReplacesFileOnClose() throws Exception {
+        final File file = new File(temporaryFolder.getRoot(), "out/test.d.ts");
+        file.getParentFile().mkdirs();
+        Files.write(file.toPath(), "old".getBytes(StandardCharsets.UTF_8));
+
+        // small buffer so content is written in several chunks, including split surrogate pair
+        final AtomicFileWriter writer = new AtomicFileWriter(file, StandardCharsets.UTF_8, 3);
+        final StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            final String line = "line " + i + " é😀\n";
+            writer.write(line);
+            expected.append(line);
+        }
+        writer.flush();
+        Assert.assertEquals("old", read(file));
+        writer.close();
+        writer.close();
+        Assert.assertEquals(expected.toString(), read(file));
+        Assert.assertArrayEquals(new String[] {"test.d.ts"}, file.getParentFile().list());
+    }
+
+    @Test
+    public void testAbort() throws Exception {
+        final File file = new File(temporaryFolder.getRoot(), "test.d.ts");
+        Files.write(file.toPath(), "old".getBytes(StandardCharsets.UTF_8));
+        final AtomicFileWriter writer = new AtomicFileWriter(file);
+        writer.write("new");
+        writer.abort();
+        Assert.assertEquals("old", read(file));
+        Assert.assertArrayEquals(new String[] {"test.d.ts"}, file.getParentFile().list());
+    }
+
+    @Test
+    public void testFlushWritesTemporaryFile() throws Exception {
+        final File file = new File(temporaryFolder.getRoot(), "test.d.ts");
+        final AtomicFileWriter writer = new AtomicFileWriter(file);
+        writer.write("content");
+        writer.flush();
+        Assert.assertFalse(file.exists());
+        final File[] temporaryFiles = temporaryFolder.getRoot().listFiles();
+        Assert.assertEquals(1, temporaryFiles.length);
+        Assert.assertEquals("content", read(temporaryFiles[0]));
+        writer.close();
+        Assert.assertEquals("content", read(file));
+    }
+
+    @Test
+    public void testPermissions() throws Exception {
+        Assume.assumeTrue(FileSystems.getDefault().supportedFileAttributeViews().contains("posix"));
+        final File reference = temporaryFolder.newFile("reference.txt");
+        final File file = new File(temporaryFolder.getRoot(), "test.d.ts");
+        try (AtomicFileWriter writer = new AtomicFileWriter(file)) {
+            writer.write("new");
+        }
+        // same permissions as file created by other means (default permissions limited by umask)
+        Assert.assertEquals(Files.getPosixFilePermissions(reference.toPath()), Files.getPosixFilePermissions(file.toPath()));
+
+        final Set<PosixFilePermission> permissions = PosixFilePermissions.fromString("rw-rw-r--");
+        Files.setPosixFilePermissions(file.toPath(), permissions);
+        try (AtomicFileWriter writer = new AtomicFileWriter(file)) {
+            writer.write("newer");
+        }
+        Assert.assertEquals(permissions, Files.getPosixFilePermissions(file.toPath()));
+    }
+
+    @Test
+    public void testGeneratorErrorKeepsFile() throws Exception {
+        final File file = new File(temporaryFolder.getRoot(), "test.d.ts");
+        Files.write(file.toPath(), "old".getBytes(StandardCharsets.UTF_8));
+        final Settings settings = TestUtils.settings();
+        settings.customTypeProcessor = (javaType, context) -> {
+            throw new NoClassDefFoundError("Missing");
+        };
+        try {
+            new TypeScriptGenerator(settings).generateTypeScript(Input.from(DummyBean.class), Output.to(file));
+            Assert.fail();
+        } catch (NoClassDefFoundError e) {
+            // expected
+        }
+        Assert.assertEquals("old", read(file));
+        Assert.assertArrayEquals(new String[] {"test.d.ts"}, file.getParentFile().list());
+    }
+
+    @Test
+    public void testWriteOnlyIfChanged() throws Exception {
+        final File file = new File(temporaryFolder.getRoot(), "test.d.ts");
+        Files.write(file.toPath(), "/* header */\n// Generated on 2019-01-01\ninterface A {\n}\n".getBytes(StandardCharsets.UTF_8));
+        Assert.assertTrue(file.setLastModified(1_000_000L));
+
+        final AtomicFileWriter unchanged = new AtomicFileWriter(file).writeOnlyIfChanged("// Generated on ");
+        unchanged.write("/* header */\n    // Generated on 2019-12-31\ninterface A {\n}\n");
+        unchanged.close();
+        Assert.assertTrue(unchanged.isTargetUnchanged());
+        Assert.assertEquals(1_000_000L, file.lastModified());
+        Assert.assertTrue(read(file).contains("2019-01-01"));
+        Assert.assertArrayEquals(new String[] {"test.d.ts"}, file.getParentFile().list());
+
+        final AtomicFileWriter changed = new AtomicFileWriter(file).writeOnlyIfChanged("// Generated on ");
+        changed.write("/* header */\n// Generated on 2019-12-31\ninterface B {\n}\n");
+        changed.close();
+        Assert.assertFalse(changed.isTargetUnchanged());
+        Assert.assertEquals("/* header */\n// Generated on 2019-12-31\ninterface B {\n}\n", read(file));
+        Assert.assertArrayEquals(new String[] {"test.d.ts"}, file.getParentFile().list());
+
+        // only line in the header is ignored
+        final AtomicFileWriter changedBody = new AtomicFileWriter(file).writeOnlyIfChanged("// Generated on ");
+        changedBody.write("/* header */\n// Generated on 2019-12-31\ninterface B {\n// Generated on 2020-01-01\n}\n");
+        changedBody.close();
+        Assert.assertFalse(changedBody.isTargetUnchanged());
+        Assert.assertTrue(read(file).contains("2020-01-01"));
+
+        final File newFile = new File(temporaryFolder.getRoot(), "new.d.ts");
+        final AtomicFileWriter created = new AtomicFileWriter(newFile).writeOnlyIfChanged();
+        created.write("interface C {\n}\n");
+        created.close();
+        Assert.assertFalse(created.isTargetUnchanged());
+        Assert.assertEquals("interface C {\n}\n", read(newFile));
+    }
+
+    private static String read(File file) throws Exception {
+        return new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+    }
+
+}
@@ -0,0 +1,100 @@
+package cz.habarta.typescript.generator;
+
+import io.github.classgraph.ClassGraph;
+import io.github.classgraph.ScanResult;
+import java.io.File;
+import java.io.InputStream;
+import java.io.Serializable;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.net.URL;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+
+public class ClasspathScanIndexTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void testSameResultsAsScan() throws Exception {
+        final File indexDirectory = temporaryFolder.newFolder("index");
+        final ClasspathScanIndex index = ClasspathScanIndex.load(new ClassGraph().getClasspathURLs(), indexDirectory, false);
+        Assert.assertEquals(0, index.getLoadedEntries());
+        Assert.assertTrue(index.getScannedEntries() > 0);
+        final ClasspathScanIndex loadedIndex = ClasspathScanIndex.load(new ClassGraph().getClasspathURLs(), indexDirectory, false);
+        Assert.assertEquals(index.getScannedEntries(), loadedIndex.getLoadedEntries());
+        Assert.assertEquals(0, loadedIndex.getScannedEntries());
+
+        try (ScanResult scanResult = new ClassGraph().enableClassInfo().enableAnnotationInfo().ignoreClassVisibility().scan()) {
+            for (ClasspathScanIndex idx : new ClasspathScanIndex[] {index, loadedIndex}) {
+                final List<String> allClassNames = new ArrayList<>();
+                allClassNames.addAll(scanResult.getAllStandardClasses().getNames());
+                allClassNames.addAll(scanResult.getAllInterfaces().getNames());
+                Collections.sort(allClassNames);
+                Assert.assertEquals(allClassNames, idx.getAllClassNames());
+                for (String name : new String[] {TsType.class.getName(), Exception.class.getName(), Object.class.getName(), InheritedBase.class.getName()}) {
+                    Assert.assertEquals(name, scanResult.getSubclasses(name).getNames(), idx.getSubclasses(name));
+                }
+                for (String name : new String[] {TypeProcessor.class.getName(), Serializable.class.getName(), "com.fasterxml.jackson.databind.Module$SetupContext"}) {
+                    Assert.assertEquals(name, scanResult.getClassesImplementing(name).getNames(), idx.getClassesImplementing(name));
+                }
+                for (String name : new String[] {"javax.ws.rs.Path", "com.fasterxml.jackson.annotation.JacksonAnnotation", InheritedMarker.class.getName()}) {
+                    Assert.assertEquals(name, scanResult.getClassesWithAnnotation(name).getNames(), idx.getClassesWithAnnotation(name));
+                }
+            }
+        }
+        Assert.assertTrue(index.getClassesWithAnnotation(InheritedMarker.class.getName()).contains(InheritedDerived.class.getName()));
+    }
+
+    @Test
+    public void testChangedDirectoryIsRescanned() throws Exception {
+        final File indexDirectory = temporaryFolder.newFolder("index");
+        final File classes = temporaryFolder.newFolder("classes");
+        copyClass(InheritedBase.class, classes);
+        final List<URL> classpath = Collections.singletonList(classes.toURI().toURL());
+
+        final ClasspathScanIndex index1 = ClasspathScanIndex.load(classpath, indexDirectory, false);
+        Assert.assertEquals(1, index1.getScannedEntries());
+        Assert.assertEquals(Collections.singletonList(InheritedBase.class.getName()), index1.getAllClassNames());
+
+        final ClasspathScanIndex index2 = ClasspathScanIndex.load(classpath, indexDirectory, false);
+        Assert.assertEquals(1, index2.getLoadedEntries());
+        Assert.assertEquals(index1.getAllClassNames(), index2.getAllClassNames());
+
+        copyClass(InheritedDerived.class, classes);
+        final ClasspathScanIndex index3 = ClasspathScanIndex.load(classpath, indexDirectory, false);
+        Assert.assertEquals(1, index3.getScannedEntries());
+        Assert.assertEquals(Collections.singletonList(InheritedDerived.class.getName()), index3.getSubclasses(InheritedBase.class.getName()));
+    }
+
+    private static void copyClass(Class<?> cls, File directory) throws Exception {
+        final String resource = cls.getName().replace('.', '/') + ".class";
+        final File target = new File(directory, resource);
+        target.getParentFile().mkdirs();
+        try (InputStream inputStream = cls.getClassLoader().getResourceAsStream(resource)) {
+            Files.copy(inputStream, target.toPath());
+        }
+    }
+
+    @Inherited
+    @Retention(RetentionPolicy.RUNTIME)
+    private @interface InheritedMarker {
+    }
+
+    @InheritedMarker
+    private static class InheritedBase {
+    }
+
+    private static class InheritedDerived extends InheritedBase {
+    }
+
+}
@@ -1,9 +1,11 @@
 package cz.habarta.typescript.generator;
 
 import cz.habarta.typescript.generator.compiler.SymbolTable;
+import java.lang.reflect.Type;
 import java.math.BigDecimal;
 import java.util.*;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 import org.junit.Test;
 
 public class DefaultTypeProcessorTest {
@@ -31,6 +33,35 @@ public class DefaultTypeProcessorTest {
         assertEquals("any[]", converter.processType(C.class.getDeclaredField("z").getGenericType(), context).getTsType().toString());
     }
 
+    @Test
+    public void testChainCache() throws NoSuchFieldException {
+        final List<Type> processedTypes = new ArrayList<>();
+        final TypeProcessor.Chain chain = new TypeProcessor.Chain(
+                (javaType, context) -> {
+                    processedTypes.add(javaType);
+                    return null;
+                },
+                new DefaultTypeProcessor()
+        );
+        final Settings settings = TestUtils.settings();
+        final Type listType = C.class.getDeclaredField("x").getGenericType();
+        try (TypeProcessor.Chain.CacheScope cacheScope = chain.openCacheScope()) {
+            final TypeProcessor.Result result1 = chain.processTypeInTemporaryContext(listType, null, null, settings);
+            final TypeProcessor.Result result2 = chain.processTypeInTemporaryContext(listType, null, null, settings);
+            assertSame(result1, result2);
+            assertEquals(1, cacheScope.getHits());
+            // List<? extends String>, ? extends String, String
+            assertEquals(3, cacheScope.getMisses());
+            assertEquals(3, processedTypes.size());
+            // different type context
+            chain.processTypeInTemporaryContext(listType, null, new Object(), settings);
+            assertEquals(6, cacheScope.getMisses());
+        }
+        processedTypes.clear();
+        chain.processTypeInTemporaryContext(listType, null, null, settings);
+        assertEquals(3, processedTypes.size());
+    }
+
     private static class A {
         B x;
     }
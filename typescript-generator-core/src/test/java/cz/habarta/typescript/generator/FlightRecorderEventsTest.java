@@ -0,0 +1,66 @@
+package cz.habarta.typescript.generator;
+
+import cz.habarta.typescript.generator.util.FlightRecorderEvents;
+import java.io.File;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+
+public class FlightRecorderEventsTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void testEventsAreRecorded() throws Exception {
+        Assume.assumeTrue(FlightRecorder.isAvailable());
+        final File recordingFile = new File(temporaryFolder.getRoot(), "generator.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(FlightRecorderEvents.ParseClassEventName).withoutThreshold();
+            recording.enable(FlightRecorderEvents.TypeProcessingEventName).withoutThreshold();
+            recording.enable(FlightRecorderEvents.PhaseEventName).withoutThreshold();
+            recording.start();
+            new TypeScriptGenerator(TestUtils.settings()).generateTypeScript(Input.from(DummyBean.class));
+            recording.stop();
+            recording.dump(recordingFile.toPath());
+        }
+        final List<RecordedEvent> events = RecordingFile.readAllEvents(recordingFile.toPath());
+        final Set<String> parsedClasses = new HashSet<>();
+        final Set<String> processedTypes = new HashSet<>();
+        final Set<String> phases = new HashSet<>();
+        for (RecordedEvent event : events) {
+            final String name = event.getEventType().getName();
+            if (name.equals(FlightRecorderEvents.ParseClassEventName)) {
+                parsedClasses.add(event.getString("className"));
+            } else if (name.equals(FlightRecorderEvents.TypeProcessingEventName)) {
+                processedTypes.add(event.getString("javaType"));
+            } else if (name.equals(FlightRecorderEvents.PhaseEventName)) {
+                phases.add(event.getString("phase"));
+            }
+            Assert.assertFalse(event.getDuration().isNegative());
+        }
+        Assert.assertTrue(parsedClasses.toString(), parsedClasses.contains(DummyBean.class.getName()));
+        Assert.assertTrue(processedTypes.toString(), processedTypes.contains(String.class.getName()));
+        Assert.assertTrue(phases.toString(), phases.contains("compile.processModel"));
+        Assert.assertTrue(phases.toString(), phases.contains("compile.sortDeclarations"));
+        Assert.assertTrue(phases.toString(), phases.contains("emit.beans"));
+    }
+
+    @Test
+    public void testNoEventsWithoutRecording() {
+        Assert.assertNull(FlightRecorderEvents.beginParseClass(DummyBean.class));
+        Assert.assertNull(FlightRecorderEvents.beginPhase("test"));
+        FlightRecorderEvents.end(null);
+    }
+
+}
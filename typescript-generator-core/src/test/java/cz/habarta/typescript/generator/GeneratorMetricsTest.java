@@ -0,0 +1,61 @@
+package cz.habarta.typescript.generator;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+
+public class GeneratorMetricsTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void testReport() throws Exception {
+        final GeneratorMetrics metrics = new GeneratorMetrics();
+        final Settings settings = TestUtils.settings();
+        settings.metrics = metrics;
+        settings.outputKind = TypeScriptOutputKind.module;
+        settings.generateInfoJson = true;
+        final File outputFile = new File(temporaryFolder.getRoot(), "test.d.ts");
+        final Input.Parameters parameters = new Input.Parameters();
+        parameters.classNames = Arrays.asList(DummyBean.class.getName(), DummyEnum.class.getName());
+        parameters.metrics = metrics;
+        new TypeScriptGenerator(settings).generateTypeScript(Input.from(parameters), Output.to(outputFile));
+
+        final File reportFile = new File(temporaryFolder.getRoot(), "reports/metrics.json");
+        metrics.writeReport(reportFile);
+        final JsonNode report = new ObjectMapper().readTree(reportFile);
+        final List<String> phases = new ArrayList<>();
+        for (JsonNode phase : report.get("phases")) {
+            phases.add(phase.get("name").asText());
+            Assert.assertEquals(1, phase.get("count").asInt());
+            Assert.assertTrue(phase.get("wallMillis").asDouble() >= 0);
+        }
+        Assert.assertTrue(phases.toString(), phases.containsAll(Arrays.asList(
+                "classLoading", "parse", "parse.classes", "parse.javadoc", "compile", "compile.processModel", "compile.sortDeclarations", "emit", "emitInfoJson")));
+        final JsonNode counters = report.get("counters");
+        Assert.assertEquals(2, counters.get("inputClasses").asInt());
+        Assert.assertEquals(1, counters.get("parsedBeans").asInt());
+        Assert.assertTrue(counters.get("parsedEnums").asInt() >= 1);
+        Assert.assertTrue(counters.get("symbols").asInt() >= 2);
+        final long expectedBytes = outputFile.length() + new File(temporaryFolder.getRoot(), "typescript-generator-info.json").length();
+        Assert.assertEquals(expectedBytes, counters.get("bytesWritten").asLong());
+    }
+
+    @Test
+    public void testDisabled() {
+        final String output = new TypeScriptGenerator(TestUtils.settings()).generateTypeScript(Input.from(DummyBean.class));
+        Assert.assertTrue(output.contains("interface DummyBean"));
+        Assert.assertTrue(GeneratorMetrics.None.getReport().phases.isEmpty());
+        Assert.assertTrue(GeneratorMetrics.None.getReport().counters.isEmpty());
+    }
+
+}
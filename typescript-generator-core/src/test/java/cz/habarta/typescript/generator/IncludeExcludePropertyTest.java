@@ -44,6 +44,19 @@ public class IncludeExcludePropertyTest {
         Assert.assertTrue(!output.contains("property4"));
     }
 
+    @Test
+    public void testClassLevelIncludeAndOptional() {
+        for (boolean parseClassFiles : new boolean[] {false, true}) {
+            final Settings settings = TestUtils.settings();
+            settings.includePropertyAnnotations = Arrays.asList(MyInclude.class);
+            settings.optionalAnnotations = Arrays.asList(MyInclude.class);
+            settings.parseClassFiles = parseClassFiles;
+            final String output = new TypeScriptGenerator(settings).generateTypeScript(Input.from(IncludedClass.class));
+            Assert.assertTrue(output.contains("property5: string;"));
+            Assert.assertTrue(output.contains("property6?: string;"));
+        }
+    }
+
     @Retention(RetentionPolicy.RUNTIME)
     private static @interface MyInclude {
     }
@@ -68,4 +81,14 @@ public class IncludeExcludePropertyTest {
 
     }
 
+    @MyInclude
+    private static class IncludedClass {
+
+        public String property5;
+
+        @MyInclude
+        public String property6;
+
+    }
+
 }
@@ -0,0 +1,188 @@
+package cz.habarta.typescript.generator;
+
+import java.io.File;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+
+public class IncrementalCacheTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void testFingerprint() throws Exception {
+        final File classes = temporaryFolder.newFolder("classes");
+        final File classFile = new File(classes, "a/A.class");
+        classFile.getParentFile().mkdirs();
+        write(classFile, "v1");
+        final List<URL> classpath = Collections.singletonList(classes.toURI().toURL());
+
+        final Configuration configuration = new Configuration();
+        final String fingerprint = IncrementalCache.computeFingerprint(configuration, Configuration.class, classpath);
+        Assert.assertEquals(fingerprint, IncrementalCache.computeFingerprint(configuration, Configuration.class, classpath));
+
+        // configuration change
+        configuration.classPatterns = Arrays.asList("a.**");
+        final String fingerprint2 = IncrementalCache.computeFingerprint(configuration, Configuration.class, classpath);
+        Assert.assertNotEquals(fingerprint, fingerprint2);
+
+        // class change
+        write(classFile, "v2");
+        final String fingerprint3 = IncrementalCache.computeFingerprint(configuration, Configuration.class, classpath);
+        Assert.assertNotEquals(fingerprint2, fingerprint3);
+
+        // new class
+        write(new File(classes, "a/B.class"), "v1");
+        Assert.assertNotEquals(fingerprint3, IncrementalCache.computeFingerprint(configuration, Configuration.class, classpath));
+    }
+
+    @Test
+    public void testFileContentInFingerprint() throws Exception {
+        final File javadocFile = new File(temporaryFolder.getRoot(), "javadoc.xml");
+        final File outputFile = new File(temporaryFolder.getRoot(), "out/test.d.ts");
+        write(javadocFile, "<javadoc/>");
+        write(outputFile, "interface A {}");
+        final Configuration configuration = new Configuration();
+        configuration.javadocXmlFiles = Collections.singletonList(javadocFile);
+        configuration.outputFile = outputFile;
+        final List<URL> classpath = Collections.emptyList();
+        final List<File> outputFiles = Collections.singletonList(outputFile);
+        final String fingerprint = IncrementalCache.computeFingerprint(configuration, Configuration.class, classpath, outputFiles);
+
+        // output file is fingerprinted by path only
+        write(outputFile, "interface B {}");
+        Assert.assertEquals(fingerprint, IncrementalCache.computeFingerprint(configuration, Configuration.class, classpath, outputFiles));
+
+        // input file content change
+        write(javadocFile, "<javadoc><class/></javadoc>");
+        Assert.assertNotEquals(fingerprint, IncrementalCache.computeFingerprint(configuration, Configuration.class, classpath, outputFiles));
+    }
+
+    @Test
+    public void testConfigurationObjectsInFingerprint() throws Exception {
+        final File infoJson = new File(temporaryFolder.getRoot(), "dependency/typescript-generator-info.json");
+        write(infoJson, "{\"classes\":[]}");
+        final Configuration configuration = new Configuration();
+        configuration.jackson2Configuration = new Jackson2Configuration();
+        configuration.moduleDependencies = Collections.singletonList(new ModuleDependency("dependency", "dep", infoJson, null, null));
+        final Settings.ConfiguredExtension extension = new Settings.ConfiguredExtension();
+        extension.className = "com.example.Extension";
+        extension.configuration = new LinkedHashMap<>();
+        configuration.extensionsWithConfiguration = Collections.singletonList(extension);
+        final List<URL> classpath = Collections.emptyList();
+        final String fingerprint = IncrementalCache.computeFingerprint(configuration, Configuration.class, classpath);
+        Assert.assertNotNull(fingerprint);
+        Assert.assertEquals(fingerprint, IncrementalCache.computeFingerprint(configuration, Configuration.class, classpath));
+
+        configuration.jackson2Configuration.enumsUsingToString = true;
+        final String fingerprint2 = IncrementalCache.computeFingerprint(configuration, Configuration.class, classpath);
+        Assert.assertNotEquals(fingerprint, fingerprint2);
+
+        extension.configuration.put("key", "value");
+        final String fingerprint3 = IncrementalCache.computeFingerprint(configuration, Configuration.class, classpath);
+        Assert.assertNotEquals(fingerprint2, fingerprint3);
+
+        write(infoJson, "{\"classes\":[{\"javaClass\":\"A\",\"typeName\":\"A\"}]}");
+        Assert.assertNotEquals(fingerprint3, IncrementalCache.computeFingerprint(configuration, Configuration.class, classpath));
+    }
+
+    @Test
+    public void testValueWhichCannotBeFingerprinted() throws Exception {
+        final File output = new File(temporaryFolder.getRoot(), "out/test.d.ts");
+        write(output, "interface A {}");
+        final Configuration configuration = new Configuration();
+        configuration.other = new Object();
+        final String fingerprint = IncrementalCache.computeFingerprint(configuration, Configuration.class, Collections.<URL>emptyList());
+        Assert.assertNull(fingerprint);
+        final IncrementalCache cache = IncrementalCache.forOutput(temporaryFolder.newFolder("cache"), output);
+        cache.store(fingerprint, Collections.singletonList(output));
+        Assert.assertFalse(cache.isUpToDate(fingerprint));
+    }
+
+    @Test
+    public void testUpToDate() throws Exception {
+        final File output = new File(temporaryFolder.getRoot(), "out/test.d.ts");
+        final File infoJson = new File(temporaryFolder.getRoot(), "out/typescript-generator-info.json");
+        final List<File> outputFiles = Arrays.asList(output, infoJson);
+        final IncrementalCache cache = IncrementalCache.forOutput(temporaryFolder.newFolder("cache"), output);
+        Assert.assertFalse(cache.isUpToDate("f1"));
+
+        write(output, "interface A {}");
+        write(infoJson, "{}");
+        Assert.assertFalse(cache.isUpToDate("f1"));
+        cache.store("f1", outputFiles);
+        Assert.assertTrue(cache.isUpToDate("f1"));
+        Assert.assertFalse(cache.isUpToDate("f2"));
+
+        // output modified
+        write(output, "interface B {}");
+        Assert.assertFalse(cache.isUpToDate("f1"));
+        cache.store("f1", outputFiles);
+        Assert.assertTrue(cache.isUpToDate("f1"));
+
+        // other generated file modified
+        write(infoJson, "{\"classes\":[]}");
+        Assert.assertFalse(cache.isUpToDate("f1"));
+        cache.store("f1", outputFiles);
+        Assert.assertTrue(cache.isUpToDate("f1"));
+
+        // other generated file deleted
+        infoJson.delete();
+        Assert.assertFalse(cache.isUpToDate("f1"));
+        write(infoJson, "{\"classes\":[]}");
+        Assert.assertTrue(cache.isUpToDate("f1"));
+
+        // output deleted
+        output.delete();
+        Assert.assertFalse(cache.isUpToDate("f1"));
+
+        write(output, "interface B {}");
+        cache.invalidate();
+        Assert.assertFalse(cache.isUpToDate("f1"));
+    }
+
+    @Test
+    public void testGeneratorOutputFiles() {
+        final File output = new File(temporaryFolder.getRoot(), "out/test.d.ts");
+        final Settings settings = TestUtils.settings();
+        settings.outputKind = TypeScriptOutputKind.module;
+        settings.generateInfoJson = true;
+        settings.generateNpmPackageJson = true;
+        settings.npmName = "test";
+        settings.npmVersion = "1.0.0";
+        final TypeScriptGenerator generator = new TypeScriptGenerator(settings);
+        generator.generateTypeScript(Input.from(DummyBean.class), Output.to(output));
+        Assert.assertEquals(
+                Arrays.asList(output, new File(output.getParentFile(), "typescript-generator-info.json"), new File(output.getParentFile(), "package.json")),
+                generator.getOutputFiles());
+    }
+
+    private static void write(File file, String content) throws Exception {
+        file.getParentFile().mkdirs();
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @SuppressWarnings("unused")
+    private static class Configuration {
+        public List<String> classPatterns;
+        public TypeScriptOutputKind outputKind = TypeScriptOutputKind.module;
+        public transient Object project = new Object();
+        public List<File> javadocXmlFiles;
+        public File outputFile;
+        public Jackson2Configuration jackson2Configuration;
+        public List<ModuleDependency> moduleDependencies;
+        public List<Settings.ConfiguredExtension> extensionsWithConfiguration;
+        public Object other;
+    }
+
+}
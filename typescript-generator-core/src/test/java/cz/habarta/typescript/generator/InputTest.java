@@ -87,6 +87,57 @@ public class InputTest {
         Assert.assertTrue(output.contains("lastName: string;"));
     }
 
+    @Test
+    public void testScanScope() {
+        final Input.ScanScope scope = Input.ScanScope.fromGlobs(
+                Arrays.asList("com.acme.api.**", "com.acme.api.dto.*Dto", "com.acme.model.*", "com.acme.other.Foo", "com.acme.web.*.dto.*"),
+                Arrays.asList("com.acme.api.internal.**", "org.springframework.**", "com.acme.model.**", "com.acme.web.**Impl"));
+        Assert.assertEquals(Arrays.asList("com.acme.api", "com.acme.web"), scope.recursivePackages);
+        Assert.assertEquals(Arrays.asList("com.acme.model", "com.acme.other"), scope.nonRecursivePackages);
+        Assert.assertEquals(Arrays.asList("com.acme.api.internal"), scope.rejectedPackages);
+
+        Assert.assertNull(Input.ScanScope.fromGlobs(Arrays.asList("com.acme.**", "**Dto"), null));
+        Assert.assertNull(Input.ScanScope.fromGlobs(Arrays.asList("Dto*"), null));
+    }
+
+    @Test
+    public void testClassNamePatternsWithScanScope() {
+        final Input.Parameters parameters = new Input.Parameters();
+        parameters.classNamePatterns = Arrays.asList("cz.habarta.typescript.generator.InputTest$MyJson*");
+        parameters.excludedClassPatterns = Arrays.asList("cz.habarta.typescript.generator.emitter.**");
+        final Settings settings = TestUtils.settings();
+        final String output = new TypeScriptGenerator(settings).generateTypeScript(Input.from(parameters));
+        Assert.assertTrue(output.contains("interface MyJsonInterfaceImpl"));
+        Assert.assertTrue(output.contains("interface MyJsonInterfaceSubclass"));
+        Assert.assertTrue(!output.contains("interface MyData"));
+    }
+
+    @Test
+    public void testLoadClasses() {
+        final List<String> classNames = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            classNames.add(MyData.class.getName());
+            classNames.add("cz.habarta.typescript.generator.NonExisting" + i);
+            classNames.add(StaticInitializer.class.getName());
+            classNames.addAll(Arrays.asList(String.class.getName(), Integer.class.getName(), InputTest.class.getName()));
+        }
+        final List<Class<?>> sequential = Input.loadClasses(classNames, 1);
+        final List<Class<?>> parallel = Input.loadClasses(classNames, 4);
+        Assert.assertEquals(50, sequential.size());
+        Assert.assertEquals(sequential, parallel);
+        Assert.assertEquals(MyData.class, parallel.get(0));
+        Assert.assertEquals(StaticInitializer.class.getName(), parallel.get(1).getName());
+        Assert.assertFalse("Classes must not be initialized", staticInitializerRun);
+    }
+
+    private static boolean staticInitializerRun = false;
+
+    private static class StaticInitializer {
+        static {
+            staticInitializerRun = true;
+        }
+    }
+
     @Retention(RetentionPolicy.RUNTIME)
     private static @interface MyJsonClass {
     }
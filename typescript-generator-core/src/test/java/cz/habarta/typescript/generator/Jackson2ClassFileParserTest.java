@@ -0,0 +1,230 @@
+package cz.habarta.typescript.generator;
+
+import com.fasterxml.jackson.annotation.JsonClassDescription;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonIgnoreType;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyDescription;
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+import com.fasterxml.jackson.annotation.JsonValue;
+import cz.habarta.typescript.generator.parser.Jackson2ClassFileParser;
+import java.beans.ConstructorProperties;
+import java.io.Serializable;
+import java.util.List;
+import java.util.Map;
+import org.junit.Assert;
+import org.junit.Test;
+
+
+public class Jackson2ClassFileParserTest {
+
+    @Test
+    public void testSameOutputAsJackson2Parser() throws Exception {
+        assertSameOutput(TestUtils.settings(), DummyBean.class, Person.class, Bean.class, SubBean.class, Implementation.class, Outer.class, Color.class);
+        assertSameOutput(TestUtils.settings(),
+                Class.forName("cz.habarta.typescript.generator.TaggedUnionsTest$Geometry"),
+                Class.forName("cz.habarta.typescript.generator.TaggedUnionsTest$IShape2"),
+                Class.forName("cz.habarta.typescript.generator.TaggedUnionsTest$IShape3"));
+    }
+
+    @Test
+    public void testOptionalPropertiesFromLibrary() {
+        final Settings settings = TestUtils.settings();
+        settings.optionalProperties = OptionalProperties.useLibraryDefinition;
+        assertSameOutput(settings, Bean.class);
+    }
+
+    @Test
+    public void testFallbackToReflection() {
+        assertSameOutput(TestUtils.settings(), BeanWithJsonValue.class);
+    }
+
+    @Test
+    public void testAnnotationsOfOverriddenMethods() {
+        assertSameOutput(TestUtils.settings(), AnnotatedBase.class, AnnotatedImplementation.class);
+    }
+
+    @Test
+    public void testCreatorPropertiesOrder() {
+        assertSameOutput(TestUtils.settings(), ConstructorPropertiesBean.class, JsonPropertyCreatorBean.class);
+    }
+
+    @Test
+    public void testEnumIsNotInitialized() {
+        final Settings settings = TestUtils.settings();
+        settings.parseClassFiles = true;
+        final TypeScriptGenerator generator = new TypeScriptGenerator(settings);
+        Assert.assertTrue(generator.getModelParser() instanceof Jackson2ClassFileParser);
+        final String output = generator.generateTypeScript(Input.from(InitializationTrackingEnum.class));
+        Assert.assertTrue(output.contains("type InitializationTrackingEnum = \"ONE\" | \"TWO\";"));
+        Assert.assertFalse(enumInitialized);
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void testJackson2ModulesAreRejected() {
+        final Settings settings = TestUtils.settings();
+        settings.parseClassFiles = true;
+        settings.jackson2ModuleDiscovery = true;
+        new TypeScriptGenerator(settings);
+    }
+
+    private static void assertSameOutput(Settings settings, Class<?>... classes) {
+        settings.parseClassFiles = false;
+        final String expected = new TypeScriptGenerator(settings).generateTypeScript(Input.from(classes));
+        settings.parseClassFiles = true;
+        final String actual = new TypeScriptGenerator(settings).generateTypeScript(Input.from(classes));
+        Assert.assertEquals(expected, actual);
+    }
+
+    @SuppressWarnings("unused")
+    private static class Bean {
+        public static String staticField;
+        public String publicField;
+        private String privateField;
+        @JsonPropertyDescription("Property with description on private field")
+        private String described;
+        public transient String transientField;
+        @JsonProperty("renamed")
+        private int renamedField;
+        @JsonIgnore
+        public String ignoredField;
+        @JsonProperty(required = true)
+        public String requiredField;
+        @JsonUnwrapped(prefix = "address_")
+        public Address address;
+        public IgnoredType ignoredType;
+        public String getDescribed() { return described; }
+        public boolean isActive() { return false; }
+        public Boolean isWrapped() { return null; }
+        public String isNotGetter() { return null; }
+        public String getURL() { return null; }
+        public List<? extends Number> getNumbers() { return null; }
+        public Map<String, ? super Integer> getSuperMap() { return null; }
+        public List<String>[] getGenericArray() { return null; }
+        public int[][] getMatrix() { return null; }
+        public <T extends Number> T getGenericMethodValue() { return null; }
+        public Map.Entry<String, Integer> getEntry() { return null; }
+        @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
+        public String getPassword() { return null; }
+        public void setSetterOnly(String value) {}
+        public String getIgnoredBySetter() { return null; }
+        @JsonIgnore
+        public void setIgnoredBySetter(String value) {}
+        protected String getProtected() { return null; }
+    }
+
+    private static class Address {
+        public String street;
+    }
+
+    @JsonIgnoreType
+    private static class IgnoredType {
+        public String value;
+    }
+
+    private static class Generic<T> {
+        public T value;
+        public List<T> values;
+    }
+
+    @JsonIgnoreProperties({"hidden"})
+    @JsonClassDescription("Sub bean")
+    private static class SubBean extends Generic<String> implements Serializable {
+        private static final long serialVersionUID = 1;
+        public String hidden;
+        public String own;
+    }
+
+    private interface WithGetters {
+        String getName();
+        default int getSize() { return 0; }
+    }
+
+    private static class Implementation implements WithGetters, Comparable<Implementation> {
+        @Override
+        public String getName() { return null; }
+        @Override
+        public int compareTo(Implementation o) { return 0; }
+    }
+
+    private interface AnnotatedBase {
+        @JsonIgnore
+        String getSecret();
+        @JsonProperty("renamed")
+        String getName();
+    }
+
+    private static class AnnotatedImplementation implements AnnotatedBase {
+        @Override
+        public String getSecret() { return null; }
+        @Override
+        public String getName() { return null; }
+        public String getOwn() { return null; }
+    }
+
+    private static class ConstructorPropertiesBean {
+        private final String b;
+        private final String a;
+        @ConstructorProperties({"a", "b"})
+        public ConstructorPropertiesBean(String a, String b) {
+            this.a = a;
+            this.b = b;
+        }
+        public String getB() { return b; }
+        public String getA() { return a; }
+    }
+
+    private static class JsonPropertyCreatorBean {
+        public String first;
+        public String second;
+        public JsonPropertyCreatorBean(@JsonProperty("second") String second) {
+            this.second = second;
+        }
+    }
+
+    private static class Outer<T> {
+        public Outer<T>.Inner inner;
+        public class Inner {
+            public T innerValue;
+        }
+    }
+
+    private enum Color {
+        RED,
+        @JsonProperty("green")
+        GREEN,
+        @JsonPropertyDescription("Blue color")
+        BLUE
+    }
+
+    private static class BeanWithJsonValue {
+        public Code code;
+        public String name;
+    }
+
+    private enum Code {
+        A("a"), B("b");
+
+        private final String value;
+
+        Code(String value) {
+            this.value = value;
+        }
+
+        @JsonValue
+        public String getValue() {
+            return value;
+        }
+    }
+
+    private static boolean enumInitialized = false;
+
+    private enum InitializationTrackingEnum {
+        ONE, TWO;
+        static {
+            enumInitialized = true;
+        }
+    }
+
+}
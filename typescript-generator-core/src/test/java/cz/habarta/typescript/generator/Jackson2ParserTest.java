@@ -7,6 +7,7 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import cz.habarta.typescript.generator.parser.*;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -362,4 +363,36 @@ public class Jackson2ParserTest {
         Empty
     }
 
+    @Test
+    public void testBeanHelperCache() {
+        final List<String> messages = new ArrayList<>();
+        final Logger originalLogger = TypeScriptGenerator.getLogger();
+        TypeScriptGenerator.setLogger(new Logger(Logger.Level.Debug) {
+            @Override
+            protected void write(Logger.Level level, String message) {
+                messages.add(message);
+            }
+        });
+        try {
+            final String output = new TypeScriptGenerator(TestUtils.settings()).generateTypeScript(Input.from(ClassWithIdentityReferences.class));
+            Assert.assertTrue(output.contains("first: IdentifiedEntity | string;"));
+            Assert.assertTrue(output.contains("third: (IdentifiedEntity | string)[];"));
+        } finally {
+            TypeScriptGenerator.setLogger(originalLogger);
+        }
+        // ClassWithIdentityReferences + IdentifiedEntity parsed, identity of IdentifiedEntity resolved for 3 properties
+        Assert.assertTrue(messages.toString(), messages.contains("Jackson bean serializer cache: 5 requests, 3 hits, 2 classes introspected"));
+    }
+
+    private static class ClassWithIdentityReferences {
+        public IdentifiedEntity first;
+        public IdentifiedEntity second;
+        public List<IdentifiedEntity> third;
+    }
+
+    @JsonIdentityInfo(generator = ObjectIdGenerators.PropertyGenerator.class, property = "id")
+    private static class IdentifiedEntity {
+        public String id;
+    }
+
 }
@@ -0,0 +1,105 @@
+package cz.habarta.typescript.generator;
+
+import com.fasterxml.jackson.annotation.JsonSubTypes;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import cz.habarta.typescript.generator.emitter.TsModel;
+import cz.habarta.typescript.generator.parser.Model;
+import java.io.File;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+
+public class LargeModelTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void testParseBeanGraph() {
+        // bean graph with cycles and the same parameterized types (Base<BeanN>) discovered from many classes
+        final List<Class<?>> classes = SyntheticClasses.beanGraph("cz.habarta.typescript.generator.syntheticgraph", 200);
+        final Model model = new TypeScriptGenerator(TestUtils.settings()).getModelParser().parseModel(classes.get(0));
+        // beans + generic Base class, each parsed once
+        Assert.assertEquals(201, model.getBeans().size());
+        Assert.assertEquals(201, model.getBeans().stream().map(bean -> bean.getOrigin()).distinct().count());
+    }
+
+    @Test
+    public void testBufferedFileOutput() throws Exception {
+        final Settings settings = TestUtils.settings();
+        settings.noFileComment = true;
+        final TypeScriptGenerator generator = new TypeScriptGenerator(settings);
+        final List<Class<?>> classes = SyntheticClasses.beanGraph("cz.habarta.typescript.generator.syntheticemit", 200);
+        final TsModel tsModel = generator.getModelCompiler().javaToTypeScript(generator.getModelParser().parseModel(classes.get(0)));
+        final StringWriter expected = new StringWriter();
+        generator.getEmitter().emit(tsModel, expected, null, true, false, 0);
+        // buffer is much smaller than output so it is written in many chunks
+        final File file = new File(temporaryFolder.getRoot(), "buffered.d.ts");
+        final Output output = Output.to(file, 100);
+        generator.getEmitter().emit(tsModel, output.getWriter(), output.getName(), output.shouldCloseWriter(), false, 0);
+        Assert.assertTrue(file.length() > 10_000);
+        Assert.assertEquals(expected.toString(), new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8));
+        Assert.assertArrayEquals(new String[] {"buffered.d.ts"}, temporaryFolder.getRoot().list());
+    }
+
+    @Test
+    public void testParallelParsingProducesSameOutput() {
+        final List<Class<?>> classes = new ArrayList<>(SyntheticClasses.beanGraph("cz.habarta.typescript.generator.syntheticparallel", 500));
+        classes.add(Shape.class);
+        final Settings sequentialSettings = TestUtils.settings();
+        final String sequentialOutput = new TypeScriptGenerator(sequentialSettings).generateTypeScript(Input.from(classes.toArray(new Class<?>[0])));
+        final Settings parallelSettings = TestUtils.settings();
+        parallelSettings.parsingThreads = 4;
+        final String parallelOutput = new TypeScriptGenerator(parallelSettings).generateTypeScript(Input.from(classes.toArray(new Class<?>[0])));
+        Assert.assertTrue(sequentialOutput.contains("interface Circle extends Shape"));
+        Assert.assertEquals(sequentialOutput, parallelOutput);
+    }
+
+    @Test
+    public void testTaggedUnionHierarchyModel() {
+        final List<Class<?>> classes = SyntheticClasses.hierarchyModel("cz.habarta.typescript.generator.synthetichierarchy", 60);
+        final Settings settings = TestUtils.settings();
+        settings.outputKind = TypeScriptOutputKind.module;
+        final String output = new TypeScriptGenerator(settings).generateTypeScript(Input.from(classes.get(0)));
+        // 10 families of 6 classes, Wrapper is not included
+        Assert.assertEquals(60, classes.size());
+        Assert.assertTrue(output.contains("interface Wrapper<T>"));
+        Assert.assertTrue(output.contains("interface Family0Level5 extends Family0Level4"));
+        Assert.assertTrue(output.contains("kind: \"Family0Level5\""));
+        Assert.assertTrue(output.contains("next0: Wrapper<Family1Union>"));
+        Assert.assertTrue(output.contains("type Family9Union ="));
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void testNegativeParsingThreads() {
+        final Settings settings = TestUtils.settings();
+        settings.parsingThreads = -1;
+        new TypeScriptGenerator(settings).generateTypeScript(Input.from(Shape.class));
+    }
+
+    @JsonTypeInfo(use = JsonTypeInfo.Id.NAME, property = "kind")
+    @JsonSubTypes({
+        @JsonSubTypes.Type(value = Square.class, name = "square"),
+        @JsonSubTypes.Type(value = Circle.class, name = "circle"),
+    })
+    private static class Shape {
+        public String color;
+    }
+
+    private static class Square extends Shape {
+        public double size;
+    }
+
+    private static class Circle extends Shape {
+        public double radius;
+        public List<Shape> children;
+    }
+
+}
@@ -2,7 +2,12 @@
 package cz.habarta.typescript.generator;
 
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import cz.habarta.typescript.generator.compiler.InheritanceIndex;
 import cz.habarta.typescript.generator.compiler.ModelCompiler;
+import cz.habarta.typescript.generator.compiler.Symbol;
+import cz.habarta.typescript.generator.emitter.EmitterExtensionFeatures;
+import cz.habarta.typescript.generator.emitter.TsBeanCategory;
+import cz.habarta.typescript.generator.emitter.TsBeanModel;
 import cz.habarta.typescript.generator.emitter.TsModel;
 import cz.habarta.typescript.generator.parser.Jackson2Parser;
 import cz.habarta.typescript.generator.parser.Model;
@@ -75,6 +80,87 @@ public class ModelCompilerTest {
         );
     }
 
+    @Test
+    public void testBeanLookup() throws Exception {
+        final Settings settings = TestUtils.settings();
+
+        final Jackson2Parser jacksonParser = new Jackson2Parser(settings, new DefaultTypeProcessor());
+        final Model model = jacksonParser.parseModel(Implementation.class);
+        final ModelCompiler modelCompiler = new TypeScriptGenerator(settings).getModelCompiler();
+
+        final TsModel result = modelCompiler.javaToTypeScript(model);
+        final TsBeanModel bean = result.getBean(Implementation.class);
+        Assert.assertNotNull(bean);
+        Assert.assertSame(bean, result.getBean(bean.getName()));
+        Assert.assertNull(result.getBean(A.class));
+        Assert.assertNull(result.getBean((Class<?>) null));
+
+        // index is shared with copy and updated when bean is added
+        final TsModel copy = result.withEnums(new ArrayList<>());
+        Assert.assertSame(bean, copy.getBean(Implementation.class));
+        final TsBeanModel added = new TsBeanModel(A.class, TsBeanCategory.Data, false, new Symbol("A"), null, null, null, null, null, null, null, null);
+        copy.getBeans().add(added);
+        Assert.assertSame(added, copy.getBean(A.class));
+        Assert.assertSame(added, result.getBean(A.class));
+
+        // index is updated when list size does not change
+        final TsBeanModel replacement = new TsBeanModel(Direction.class, TsBeanCategory.Data, false, new Symbol("B"), null, null, null, null, null, null, null, null);
+        copy.getBeans().set(copy.getBeans().indexOf(added), replacement);
+        Assert.assertNull(copy.getBean(A.class));
+        Assert.assertSame(replacement, copy.getBean(Direction.class));
+        copy.getBeans().remove(replacement);
+        copy.getBeans().add(added);
+        Assert.assertNull(result.getBean(Direction.class));
+        Assert.assertSame(added, result.getBean(A.class));
+        Assert.assertNull(copy.withBeans(new ArrayList<>()).getBean(Implementation.class));
+
+        // list passed to the model is copied so its later modification doesn't affect the model
+        final List<TsBeanModel> beans = new ArrayList<>();
+        final TsModel wrapped = result.withBeans(beans);
+        Assert.assertNull(wrapped.getBean(A.class));
+        beans.add(added);
+        Assert.assertNull(wrapped.getBean(A.class));
+        Assert.assertTrue(wrapped.getBeans().isEmpty());
+    }
+
+    @Test
+    public void testInheritanceIndex() throws Exception {
+        final Settings settings = TestUtils.settings();
+        settings.extensions.add(new Extension() {
+            @Override
+            public EmitterExtensionFeatures getFeatures() {
+                return new EmitterExtensionFeatures();
+            }
+
+            @Override
+            public List<Extension.TransformerDefinition> getTransformers() {
+                return Arrays.asList(new Extension.TransformerDefinition(ModelCompiler.TransformationPhase.BeforeSymbolResolution, (symbolTable, model) -> {
+                    final InheritanceIndex inheritanceIndex = new InheritanceIndex(symbolTable, model);
+                    final TsBeanModel bean = model.getBean(Derived.class);
+                    Assert.assertSame(model.getBean(Middle.class), inheritanceIndex.getBean(bean.getParent()));
+                    Assert.assertEquals(Arrays.asList("id", "name", "middle"), new ArrayList<>(inheritanceIndex.getInheritedProperties(bean.getAllParents()).keySet()));
+                    Assert.assertEquals(Arrays.asList("id", "name"), new ArrayList<>(inheritanceIndex.getInheritedProperties(Arrays.asList(model.getBean(Middle.class).getParent())).keySet()));
+                    return model;
+                }));
+            }
+        });
+        final String output = new TypeScriptGenerator(settings).generateTypeScript(Input.from(Derived.class));
+        Assert.assertTrue(output.contains("interface Derived extends Middle"));
+    }
+
+    private static class Base {
+        public String id;
+        public String name;
+    }
+
+    private static class Middle extends Base {
+        public String middle;
+    }
+
+    private static class Derived extends Middle {
+        public String derived;
+    }
+
     @JsonTypeInfo(use = JsonTypeInfo.Id.NAME, include = JsonTypeInfo.As.PROPERTY)
     private static interface WithoutTypeParam {}
 
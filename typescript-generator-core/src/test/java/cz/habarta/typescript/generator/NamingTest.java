@@ -1,10 +1,14 @@
 
 package cz.habarta.typescript.generator;
 
+import cz.habarta.typescript.generator.compiler.Symbol;
 import cz.habarta.typescript.generator.compiler.SymbolTable;
 import cz.habarta.typescript.generator.yield.KeywordInPackage;
 import java.util.Collections;
 import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -98,6 +102,32 @@ public class NamingTest {
         Assert.assertTrue(output.contains("objectC: NS.C"));
     }
 
+    @Test
+    public void testSymbolTableLookups() {
+        final SymbolTable symbolTable = new SymbolTable(TestUtils.settings());
+        final Symbol symbolC = symbolTable.getSymbol(C.class);
+        Assert.assertSame(symbolC, symbolTable.getSymbol(C.class, ""));
+        Assert.assertEquals(C.class, symbolTable.getSymbolClass(symbolC));
+        final Symbol symbolCUnion = symbolTable.addSuffixToSymbol(symbolC, "Union");
+        Assert.assertSame(symbolCUnion, symbolTable.hasSymbol(C.class, "Union"));
+        Assert.assertEquals(C.class, symbolTable.getSymbolClass(symbolCUnion));
+        final Symbol synthetic = symbolTable.getSyntheticSymbol("Synthetic");
+        Assert.assertNull(symbolTable.getSymbolClass(synthetic));
+        Assert.assertSame(symbolTable.getSyntheticSymbol("SyntheticClient"), symbolTable.addSuffixToSymbol(synthetic, "Client"));
+    }
+
+    @Test
+    public void testSymbolTableConcurrentRegistration() {
+        final SymbolTable symbolTable = new SymbolTable(TestUtils.settings());
+        final List<Symbol> symbols = IntStream.range(0, 10_000).parallel()
+                .mapToObj(i -> symbolTable.getSymbol(i % 2 == 0 ? C.class : D.class, String.valueOf(i % 100)))
+                .collect(Collectors.toList());
+        Assert.assertEquals(100, symbols.stream().distinct().count());
+        symbolTable.resolveSymbolNames();
+        Assert.assertEquals("C0", symbolTable.getSymbol(C.class, "0").getFullName());
+        Assert.assertEquals("D1", symbolTable.getSymbol(D.class, "1").getFullName());
+    }
+
     private static class C {
         public String c;
     }
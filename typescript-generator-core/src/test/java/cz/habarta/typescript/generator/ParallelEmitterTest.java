@@ -0,0 +1,56 @@
+package cz.habarta.typescript.generator;
+
+import cz.habarta.typescript.generator.ext.EnumConstantsExtension;
+import java.util.Collections;
+import org.junit.Assert;
+import org.junit.Test;
+
+
+public class ParallelEmitterTest {
+
+    @Test
+    public void testParallelOutputIsSameAsSequential() {
+        final SyntheticModel model = new SyntheticModel("cz.habarta.typescript.generator.syntheticparallel");
+        model.beans = 300;
+        model.enums = 40;
+        final Input input = model.generate().toInput();
+
+        final Settings settings = TestUtils.settings();
+        settings.noFileComment = true;
+        final String sequential = new TypeScriptGenerator(settings).generateTypeScript(input);
+        settings.emittingThreads = 4;
+        final String parallel = new TypeScriptGenerator(settings).generateTypeScript(input);
+        Assert.assertTrue(sequential.contains("interface Family0Level3 extends Family0Level2 {"));
+        Assert.assertEquals(sequential, parallel);
+    }
+
+    @Test
+    public void testParallelOutputWithNamespaceAndExtension() {
+        final SyntheticModel model = new SyntheticModel("cz.habarta.typescript.generator.syntheticparallelext");
+        model.beans = 100;
+        model.enums = 40;
+        final Input input = model.generate().toInput();
+
+        final Settings settings = TestUtils.settings();
+        settings.noFileComment = true;
+        settings.outputKind = TypeScriptOutputKind.module;
+        settings.outputFileType = TypeScriptFileType.implementationFile;
+        settings.namespace = "Synthetic";
+        settings.mapEnum = EnumMapping.asEnum;
+        settings.extensions = Collections.singletonList(new EnumConstantsExtension());
+        final String sequential = new TypeScriptGenerator(settings).generateTypeScript(input);
+        settings.emittingThreads = 4;
+        final String parallel = new TypeScriptGenerator(settings).generateTypeScript(input);
+        Assert.assertTrue(sequential.contains("// Added by 'EnumConstantsExtension' extension"));
+        Assert.assertTrue(sequential.contains("export namespace Synthetic {"));
+        Assert.assertEquals(sequential, parallel);
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void testNegativeEmittingThreads() {
+        final Settings settings = TestUtils.settings();
+        settings.emittingThreads = -1;
+        new TypeScriptGenerator(settings);
+    }
+
+}
@@ -0,0 +1,201 @@
+package cz.habarta.typescript.generator;
+
+import cz.habarta.typescript.generator.p1.E;
+import cz.habarta.typescript.generator.p2.D;
+import java.io.File;
+import java.util.Arrays;
+import java.util.Collections;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+
+public class ShardedOutputTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private static final String P1 = "cz.habarta.typescript.generator.p1";
+    private static final String P2 = "cz.habarta.typescript.generator.p2";
+
+    @Test
+    public void testShardsByJavaPackage() {
+        final Settings settings = settings();
+        settings.outputSharding = OutputSharding.javaPackage;
+        final File outputFile = new File(temporaryFolder.getRoot(), "index.d.ts");
+        new TypeScriptGenerator(settings).generateTypeScript(Input.from(D.class), Output.to(outputFile));
+
+        final String index = TestUtils.readFile(outputFile.getPath());
+        Assert.assertEquals(
+                "\n" +
+                "export * from \"./" + P1 + "\";\n" +
+                "export * from \"./" + P2 + "\";",
+                index);
+        final String p1 = readShard(P1);
+        Assert.assertTrue(p1, p1.contains("import { B } from \"./" + P2 + "\";"));
+        Assert.assertTrue(p1, p1.contains("export interface A {"));
+        Assert.assertTrue(p1, p1.contains("export interface C extends B {"));
+        Assert.assertTrue(p1, p1.contains("export type E = \"Left\" | \"Right\";"));
+        final String p2 = readShard(P2);
+        Assert.assertTrue(p2, p2.contains("import { A, C, E } from \"./" + P1 + "\";"));
+        Assert.assertTrue(p2, p2.contains("export interface B extends A {"));
+        Assert.assertTrue(p2, p2.contains("export interface D {"));
+
+        // every declaration from single file output is in one of the shards
+        final String singleOutput = new TypeScriptGenerator(settings()).generateTypeScript(Input.from(D.class));
+        for (String declaration : singleOutput.trim().split("\n\n")) {
+            Assert.assertTrue(declaration, p1.contains(declaration) ^ p2.contains(declaration));
+        }
+    }
+
+    @Test
+    public void testCustomShards() {
+        final Settings settings = settings();
+        settings.outputSharding = OutputSharding.custom;
+        settings.outputShards = Settings.convertToMap(Arrays.asList("**.p1.E:enums", P2 + ".*:model"));
+        final File outputFile = new File(temporaryFolder.getRoot(), "index.d.ts");
+        new TypeScriptGenerator(settings).generateTypeScript(Input.from(D.class), Output.to(outputFile));
+
+        Assert.assertTrue(TestUtils.readFile(outputFile.getPath()).contains(
+                "export * from \"./common\";\n" +
+                "export * from \"./enums\";\n" +
+                "export * from \"./model\";"));
+        Assert.assertTrue(readShard("enums").contains("export type E ="));
+        final String common = readShard("common");
+        Assert.assertTrue(common, common.contains("import { B } from \"./model\";"));
+        Assert.assertTrue(common, common.contains("export interface C extends B {"));
+        final String model = readShard("model");
+        Assert.assertTrue(model, model.contains("import { A, C } from \"./common\";\nimport { E } from \"./enums\";"));
+    }
+
+    @Test
+    public void testParallelEmitProducesSameOutput() {
+        final Settings sequentialSettings = settings();
+        sequentialSettings.outputSharding = OutputSharding.javaPackage;
+        final SyntheticModel model = new SyntheticModel("cz.habarta.typescript.generator.syntheticshards");
+        model.beans = 200;
+        model.enums = 5;
+        final SyntheticModel.Result result = model.generate();
+        final File sequentialDirectory = new File(temporaryFolder.getRoot(), "sequential");
+        new TypeScriptGenerator(sequentialSettings).generateTypeScript(result.toInput(), Output.to(new File(sequentialDirectory, "index.d.ts")));
+
+        final Settings parallelSettings = settings();
+        parallelSettings.outputSharding = OutputSharding.custom;
+        parallelSettings.outputShards = Settings.convertToMap(Arrays.asList(
+                "**.Enum*:enums", "**.Family1*:family1", "**.Family2*:family2", "**.Family3*:family3", "**:" + "cz.habarta.typescript.generator.syntheticshards"));
+        parallelSettings.emittingThreads = 4;
+        final File parallelDirectory = new File(temporaryFolder.getRoot(), "parallel");
+        new TypeScriptGenerator(parallelSettings).generateTypeScript(result.toInput(), Output.to(new File(parallelDirectory, "index.d.ts")));
+
+        final String[] parallelFiles = parallelDirectory.list();
+        Arrays.sort(parallelFiles);
+        Assert.assertEquals(Arrays.asList(
+                "cz.habarta.typescript.generator.syntheticshards.d.ts", "enums.d.ts", "family1.d.ts", "family2.d.ts", "family3.d.ts", "index.d.ts"),
+                Arrays.asList(parallelFiles));
+        final String family2 = TestUtils.readFile(new File(parallelDirectory, "family2.d.ts").getPath());
+        Assert.assertTrue(family2, family2.contains("export interface Family2 {"));
+        Assert.assertTrue(family2, family2.contains("export interface Family29Level3 extends Family29Level2 {"));
+        Assert.assertTrue(family2, family2.contains("import { Enum0, Enum1, Enum2, Enum3, Enum4 } from \"./enums\";"));
+        // same declarations as sequential single shard
+        final String sequential = TestUtils.readFile(new File(sequentialDirectory, "cz.habarta.typescript.generator.syntheticshards.d.ts").getPath());
+        for (String file : parallelFiles) {
+            if (!file.equals("index.d.ts")) {
+                final String shard = TestUtils.readFile(new File(parallelDirectory, file).getPath());
+                for (String declaration : shard.trim().split("\n\n")) {
+                    Assert.assertTrue(declaration, declaration.startsWith("import") || sequential.contains(declaration));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testFailedShardKeepsPreviousOutput() throws Exception {
+        final Settings settings = settings();
+        settings.outputSharding = OutputSharding.custom;
+        settings.outputShards = Settings.convertToMap(Arrays.asList("**.D:z", "**:a"));
+        final File outputFile = new File(temporaryFolder.getRoot(), "index.d.ts");
+        final TypeScriptGenerator generator = new TypeScriptGenerator(settings);
+        generator.generateTypeScript(Input.from(D.class), Output.to(outputFile));
+        Assert.assertEquals(Arrays.asList(new File(temporaryFolder.getRoot(), "a.d.ts"), new File(temporaryFolder.getRoot(), "z.d.ts"), outputFile),
+                generator.getOutputFiles());
+        final long oldTimestamp = 1_000_000L;
+        for (File file : temporaryFolder.getRoot().listFiles()) {
+            Assert.assertTrue(file.setLastModified(oldTimestamp));
+        }
+
+        // shard 'a' is rendered successfully before shard 'z' fails
+        settings.customTypeProcessor = (javaType, context) -> javaType == E.class
+                ? new TypeProcessor.Result(new TsType.VerbatimType("E") {
+                    @Override
+                    public String format(Settings settings) {
+                        throw new RuntimeException("Test failure");
+                    }
+                })
+                : null;
+        try {
+            new TypeScriptGenerator(settings).generateTypeScript(Input.from(D.class), Output.to(outputFile));
+            Assert.fail();
+        } catch (RuntimeException e) {
+            Assert.assertEquals("Test failure", e.getMessage());
+        }
+        final String[] files = temporaryFolder.getRoot().list();
+        Arrays.sort(files);
+        Assert.assertEquals(Arrays.asList("a.d.ts", "index.d.ts", "z.d.ts"), Arrays.asList(files));
+        for (File file : temporaryFolder.getRoot().listFiles()) {
+            Assert.assertEquals(file.getName(), oldTimestamp, file.lastModified());
+        }
+    }
+
+    @Test
+    public void testObsoleteShardsAreDeleted() throws Exception {
+        final File outputFile = new File(temporaryFolder.getRoot(), "index.d.ts");
+        final File otherFile = temporaryFolder.newFile("other.d.ts");
+        final Settings customSettings = settings();
+        customSettings.outputSharding = OutputSharding.custom;
+        customSettings.outputShards = Settings.convertToMap(Arrays.asList("**.D:z", "**:a"));
+        new TypeScriptGenerator(customSettings).generateTypeScript(Input.from(D.class), Output.to(outputFile));
+        Assert.assertTrue(new File(temporaryFolder.getRoot(), "a.d.ts").isFile());
+
+        final Settings packageSettings = settings();
+        packageSettings.outputSharding = OutputSharding.javaPackage;
+        new TypeScriptGenerator(packageSettings).generateTypeScript(Input.from(D.class), Output.to(outputFile));
+        final String[] files = temporaryFolder.getRoot().list();
+        Arrays.sort(files);
+        Assert.assertEquals(Arrays.asList(P1 + ".d.ts", P2 + ".d.ts", "index.d.ts", "other.d.ts"), Arrays.asList(files));
+        Assert.assertTrue(otherFile.isFile());
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void testShardingRequiresModule() {
+        final Settings settings = TestUtils.settings();
+        settings.outputSharding = OutputSharding.javaPackage;
+        new TypeScriptGenerator(settings);
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void testShardingRequiresOutputFile() {
+        final Settings settings = settings();
+        settings.outputSharding = OutputSharding.javaPackage;
+        new TypeScriptGenerator(settings).generateTypeScript(Input.from(D.class));
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void testInvalidShardName() {
+        final Settings settings = settings();
+        settings.outputSharding = OutputSharding.custom;
+        settings.outputShards = Collections.singletonMap("**", "../model");
+        new TypeScriptGenerator(settings);
+    }
+
+    private static Settings settings() {
+        final Settings settings = TestUtils.settings();
+        settings.outputKind = TypeScriptOutputKind.module;
+        return settings;
+    }
+
+    private String readShard(String shardName) {
+        return TestUtils.readFile(new File(temporaryFolder.getRoot(), shardName + ".d.ts").getPath());
+    }
+
+}
@@ -0,0 +1,142 @@
+package cz.habarta.typescript.generator;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.FieldVisitor;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+
+
+/**
+ * Generates classes at test time so the generator can be tested with large models.
+ */
+public class SyntheticClasses {
+
+    private SyntheticClasses() {
+    }
+
+    /**
+     * Creates graph of beans where each bean references two other beans using <code>next</code> and <code>items</code> properties.
+     * Beans with even index extend generic <code>Base&lt;BeanN+1&gt;</code> class.
+     * All beans are reachable from the first returned class.
+     */
+    public static List<Class<?>> beanGraph(String packageName, int count) {
+        final String pkg = packageName.replace('.', '/') + "/";
+        final String base = pkg + "Base";
+        final Map<String, byte[]> classes = new LinkedHashMap<>();
+        classes.put(base, generateBean(base, "<T:Ljava/lang/Object;>Ljava/lang/Object;", "java/lang/Object",
+                new String[][] {{"value", "Ljava/lang/Object;", "TT;"}}));
+        for (int i = 0; i < count; i++) {
+            final String next = pkg + "Bean" + ((i + 1) % count);
+            final String item = pkg + "Bean" + ((i * 7 + 3) % count);
+            final boolean extendsBase = i % 2 == 0;
+            classes.put(pkg + "Bean" + i, generateBean(pkg + "Bean" + i,
+                    extendsBase ? "L" + base + "<L" + next + ";>;" : null,
+                    extendsBase ? base : "java/lang/Object",
+                    new String[][] {
+                        {"name", "Ljava/lang/String;", null},
+                        {"next", "L" + next + ";", null},
+                        {"items", "Ljava/util/List;", "Ljava/util/List<L" + item + ";>;"},
+                    }));
+        }
+        final List<Class<?>> result = new ArrayList<>();
+        final GeneratedClassLoader classLoader = new GeneratedClassLoader(classes);
+        for (String name : classes.keySet()) {
+            if (!name.equals(base)) {
+                result.add(classLoader.load(name));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Creates tagged union hierarchies with deep inheritance and generic properties
+     * (see {@link SyntheticModel} for description of generated classes).
+     * Family root has <code>@JsonTypeInfo</code> and <code>@JsonSubTypes</code> annotations and inheritance depth is {@link #HierarchyDepth}.
+     * Returned list contains <code>count</code> classes (rounded up to whole families), all reachable from the first one.
+     */
+    public static List<Class<?>> hierarchyModel(String packageName, int count) {
+        final SyntheticModel model = new SyntheticModel(packageName);
+        model.beans = count;
+        model.inheritanceDepth = HierarchyDepth;
+        model.collectionProperties = false;
+        return model.generate().beans;
+    }
+
+    public static final int HierarchyDepth = 5;
+
+    static byte[] generateBean(String internalName, String signature, String superName, String[][] fields) {
+        return generateBean(internalName, signature, superName, fields, null);
+    }
+
+    /**
+     * @param fields array of {name, descriptor, signature} triples
+     * @param classAnnotations adds annotations to generated class, can be <code>null</code>
+     */
+    static byte[] generateBean(String internalName, String signature, String superName, String[][] fields, Consumer<ClassWriter> classAnnotations) {
+        final ClassWriter classWriter = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+        classWriter.visit(Opcodes.V1_8, Opcodes.ACC_PUBLIC | Opcodes.ACC_SUPER, internalName, signature, superName, null);
+        if (classAnnotations != null) {
+            classAnnotations.accept(classWriter);
+        }
+        for (String[] field : fields) {
+            final FieldVisitor fieldVisitor = classWriter.visitField(Opcodes.ACC_PUBLIC, field[0], field[1], field[2], null);
+            fieldVisitor.visitEnd();
+        }
+        final MethodVisitor constructor = classWriter.visitMethod(Opcodes.ACC_PUBLIC, "<init>", "()V", null, null);
+        constructor.visitCode();
+        constructor.visitVarInsn(Opcodes.ALOAD, 0);
+        constructor.visitMethodInsn(Opcodes.INVOKESPECIAL, superName, "<init>", "()V", false);
+        constructor.visitInsn(Opcodes.RETURN);
+        constructor.visitMaxs(0, 0);
+        constructor.visitEnd();
+        classWriter.visitEnd();
+        return classWriter.toByteArray();
+    }
+
+    /**
+     * Extends <code>URLClassLoader</code> so it can be used in {@link Input.Parameters#classLoader}.
+     */
+    static class GeneratedClassLoader extends URLClassLoader {
+
+        private final Map<String, byte[]> classes;
+
+        public GeneratedClassLoader(Map<String, byte[]> classes) {
+            super(new URL[0], SyntheticClasses.class.getClassLoader());
+            this.classes = classes;
+        }
+
+        public List<Class<?>> loadAll(List<String> internalNames) {
+            final List<Class<?>> result = new ArrayList<>();
+            for (String internalName : internalNames) {
+                result.add(load(internalName));
+            }
+            return result;
+        }
+
+        public Class<?> load(String internalName) {
+            try {
+                return loadClass(internalName.replace('/', '.'));
+            } catch (ClassNotFoundException e) {
+                throw new RuntimeException(e);
+            }
+        }
+
+        @Override
+        protected Class<?> findClass(String name) throws ClassNotFoundException {
+            final byte[] bytes = classes.get(name.replace('.', '/'));
+            if (bytes == null) {
+                throw new ClassNotFoundException(name);
+            }
+            return defineClass(name, bytes, 0, bytes.length);
+        }
+
+    }
+
+}
@@ -0,0 +1,359 @@
+package cz.habarta.typescript.generator;
+
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.objectweb.asm.AnnotationVisitor;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.FieldVisitor;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+
+
+/**
+ * Configurable generator of large class graphs for scale tests and benchmarks.
+ * Classes are generated as bytecode at test time so tests don't depend on real (possibly proprietary) models.
+ * <p>
+ * Beans are organized in families of <code>inheritanceDepth</code> + 1 classes where each descendant extends previous class in the family.
+ * Family root can be tagged union (<code>@JsonTypeInfo</code> and <code>@JsonSubTypes</code> listing all descendants).
+ * Each bean on level <i>L</i> has properties <code>idL</code>, <code>countL</code>, <code>nextL</code> (referencing next family),
+ * <code>itemsL</code> (<code>List</code> of another family) and optionally
+ * <code>byKeyL</code> (<code>Map</code>), <code>maybeL</code> (<code>Optional</code>) and <code>statusL</code> (enum).
+ * REST resources have endpoints alternating between GET returning family root and POST accepting family root and returning <code>List</code>.
+ */
+public class SyntheticModel {
+
+    public String packageName;
+    /** Number of beans, rounded up to whole families. */
+    public int beans = 100;
+    public int inheritanceDepth = 3;
+    public boolean taggedUnions = true;
+    /** <code>nextL</code> property has type <code>Wrapper&lt;FamilyRoot&gt;</code> instead of <code>FamilyRoot</code>. */
+    public boolean genericWrappers = true;
+    /** Adds <code>Map</code> and <code>Optional</code> properties. */
+    public boolean collectionProperties = true;
+    public int enums = 0;
+    public int enumConstants = 5;
+    /** Number of JAX-RS resources (classes annotated with <code>@Path</code>). */
+    public int jaxrsResources = 0;
+    /** Number of Spring <code>@RestController</code> classes, Spring annotations must be on classpath when they are parsed. */
+    public int springControllers = 0;
+    public int endpointsPerResource = 10;
+
+    public SyntheticModel(String packageName) {
+        this.packageName = packageName;
+    }
+
+    public Result generate() {
+        final String pkg = packageName.replace('.', '/') + "/";
+        final String wrapper = pkg + "Wrapper";
+        final int familySize = inheritanceDepth + 1;
+        final int families = Math.max(1, (beans + familySize - 1) / familySize);
+        final Map<String, byte[]> classes = new LinkedHashMap<>();
+        final List<String> beanNames = new ArrayList<>();
+        final List<String> enumNames = new ArrayList<>();
+        final List<String> resourceNames = new ArrayList<>();
+        final List<String> controllerNames = new ArrayList<>();
+        for (int i = 0; i < enums; i++) {
+            final String name = pkg + "Enum" + i;
+            enumNames.add(name);
+            classes.put(name, generateEnum(name, enumConstants));
+        }
+        if (genericWrappers) {
+            classes.put(wrapper, SyntheticClasses.generateBean(wrapper, "<T:Ljava/lang/Object;>Ljava/lang/Object;", "java/lang/Object",
+                    new String[][] {
+                        {"value", "Ljava/lang/Object;", "TT;"},
+                        {"values", "Ljava/util/List;", "Ljava/util/List<TT;>;"},
+                    }));
+        }
+        for (int family = 0; family < families; family++) {
+            final String root = familyRoot(pkg, family);
+            final String nextRoot = familyRoot(pkg, (family + 1) % families);
+            final String itemRoot = familyRoot(pkg, (family * 7 + 3) % families);
+            final List<String> descendants = new ArrayList<>();
+            for (int level = 1; level <= inheritanceDepth; level++) {
+                descendants.add(root + "Level" + level);
+            }
+            for (int level = 0; level <= inheritanceDepth; level++) {
+                final String name = level == 0 ? root : root + "Level" + level;
+                final String superName = level == 0 ? "java/lang/Object" : level == 1 ? root : root + "Level" + (level - 1);
+                final String suffix = String.valueOf(level);
+                final List<String[]> fields = new ArrayList<>();
+                fields.add(new String[] {"id" + suffix, "Ljava/lang/String;", null});
+                fields.add(new String[] {"count" + suffix, "I", null});
+                fields.add(genericWrappers
+                        ? new String[] {"next" + suffix, "L" + wrapper + ";", "L" + wrapper + "<L" + nextRoot + ";>;"}
+                        : new String[] {"next" + suffix, "L" + nextRoot + ";", null});
+                fields.add(new String[] {"items" + suffix, "Ljava/util/List;", "Ljava/util/List<L" + itemRoot + ";>;"});
+                if (collectionProperties) {
+                    fields.add(new String[] {"byKey" + suffix, "Ljava/util/Map;", "Ljava/util/Map<Ljava/lang/String;L" + itemRoot + ";>;"});
+                    fields.add(new String[] {"maybe" + suffix, "Ljava/util/Optional;", "Ljava/util/Optional<L" + nextRoot + ";>;"});
+                }
+                if (enums > 0) {
+                    fields.add(new String[] {"status" + suffix, "L" + enumNames.get(family % enums) + ";", null});
+                }
+                final boolean taggedUnionRoot = taggedUnions && level == 0 && !descendants.isEmpty();
+                beanNames.add(name);
+                classes.put(name, SyntheticClasses.generateBean(name, null, superName, fields.toArray(new String[0][]),
+                        taggedUnionRoot ? classWriter -> addTaggedUnionAnnotations(classWriter, descendants) : null));
+            }
+        }
+        for (int i = 0; i < jaxrsResources; i++) {
+            final String name = pkg + "Resource" + i;
+            resourceNames.add(name);
+            classes.put(name, generateResource(name, pkg, families, i, JaxrsAnnotations));
+        }
+        for (int i = 0; i < springControllers; i++) {
+            final String name = pkg + "Controller" + i;
+            controllerNames.add(name);
+            classes.put(name, generateResource(name, pkg, families, i, SpringAnnotations));
+        }
+        final SyntheticClasses.GeneratedClassLoader classLoader = new SyntheticClasses.GeneratedClassLoader(classes);
+        return new Result(classLoader,
+                classLoader.loadAll(beanNames),
+                classLoader.loadAll(enumNames),
+                classLoader.loadAll(resourceNames),
+                classLoader.loadAll(controllerNames));
+    }
+
+    private static String familyRoot(String pkg, int family) {
+        return pkg + "Family" + family;
+    }
+
+    private static void addTaggedUnionAnnotations(ClassWriter classWriter, List<String> subTypes) {
+        final AnnotationVisitor typeInfo = classWriter.visitAnnotation("Lcom/fasterxml/jackson/annotation/JsonTypeInfo;", true);
+        typeInfo.visitEnum("use", "Lcom/fasterxml/jackson/annotation/JsonTypeInfo$Id;", "NAME");
+        typeInfo.visit("property", "kind");
+        typeInfo.visitEnd();
+        final AnnotationVisitor subTypesAnnotation = classWriter.visitAnnotation("Lcom/fasterxml/jackson/annotation/JsonSubTypes;", true);
+        final AnnotationVisitor array = subTypesAnnotation.visitArray("value");
+        for (String subType : subTypes) {
+            final AnnotationVisitor type = array.visitAnnotation(null, "Lcom/fasterxml/jackson/annotation/JsonSubTypes$Type;");
+            type.visit("value", Type.getObjectType(subType));
+            type.visit("name", subType.substring(subType.lastIndexOf('/') + 1));
+            type.visitEnd();
+        }
+        array.visitEnd();
+        subTypesAnnotation.visitEnd();
+    }
+
+    private static byte[] generateEnum(String internalName, int constants) {
+        final String descriptor = "L" + internalName + ";";
+        final String arrayDescriptor = "[" + descriptor;
+        final ClassWriter classWriter = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+        classWriter.visit(Opcodes.V1_8, Opcodes.ACC_PUBLIC | Opcodes.ACC_FINAL | Opcodes.ACC_SUPER | Opcodes.ACC_ENUM,
+                internalName, "Ljava/lang/Enum<" + descriptor + ">;", "java/lang/Enum", null);
+        for (int i = 0; i < constants; i++) {
+            final FieldVisitor fieldVisitor = classWriter.visitField(Opcodes.ACC_PUBLIC | Opcodes.ACC_STATIC | Opcodes.ACC_FINAL | Opcodes.ACC_ENUM,
+                    enumConstant(i), descriptor, null, null);
+            fieldVisitor.visitEnd();
+        }
+        classWriter.visitField(Opcodes.ACC_PRIVATE | Opcodes.ACC_STATIC | Opcodes.ACC_FINAL | Opcodes.ACC_SYNTHETIC, "$VALUES", arrayDescriptor, null, null).visitEnd();
+        // private constructor
+        final MethodVisitor constructor = classWriter.visitMethod(Opcodes.ACC_PRIVATE, "<init>", "(Ljava/lang/String;I)V", null, null);
+        constructor.visitCode();
+        constructor.visitVarInsn(Opcodes.ALOAD, 0);
+        constructor.visitVarInsn(Opcodes.ALOAD, 1);
+        constructor.visitVarInsn(Opcodes.ILOAD, 2);
+        constructor.visitMethodInsn(Opcodes.INVOKESPECIAL, "java/lang/Enum", "<init>", "(Ljava/lang/String;I)V", false);
+        constructor.visitInsn(Opcodes.RETURN);
+        constructor.visitMaxs(0, 0);
+        constructor.visitEnd();
+        // values()
+        final MethodVisitor values = classWriter.visitMethod(Opcodes.ACC_PUBLIC | Opcodes.ACC_STATIC, "values", "()" + arrayDescriptor, null, null);
+        values.visitCode();
+        values.visitFieldInsn(Opcodes.GETSTATIC, internalName, "$VALUES", arrayDescriptor);
+        values.visitMethodInsn(Opcodes.INVOKEVIRTUAL, arrayDescriptor, "clone", "()Ljava/lang/Object;", false);
+        values.visitTypeInsn(Opcodes.CHECKCAST, arrayDescriptor);
+        values.visitInsn(Opcodes.ARETURN);
+        values.visitMaxs(0, 0);
+        values.visitEnd();
+        // valueOf(String)
+        final MethodVisitor valueOf = classWriter.visitMethod(Opcodes.ACC_PUBLIC | Opcodes.ACC_STATIC, "valueOf", "(Ljava/lang/String;)" + descriptor, null, null);
+        valueOf.visitCode();
+        valueOf.visitLdcInsn(Type.getObjectType(internalName));
+        valueOf.visitVarInsn(Opcodes.ALOAD, 0);
+        valueOf.visitMethodInsn(Opcodes.INVOKESTATIC, "java/lang/Enum", "valueOf", "(Ljava/lang/Class;Ljava/lang/String;)Ljava/lang/Enum;", false);
+        valueOf.visitTypeInsn(Opcodes.CHECKCAST, internalName);
+        valueOf.visitInsn(Opcodes.ARETURN);
+        valueOf.visitMaxs(0, 0);
+        valueOf.visitEnd();
+        // static initializer
+        final MethodVisitor clinit = classWriter.visitMethod(Opcodes.ACC_STATIC, "<clinit>", "()V", null, null);
+        clinit.visitCode();
+        for (int i = 0; i < constants; i++) {
+            clinit.visitTypeInsn(Opcodes.NEW, internalName);
+            clinit.visitInsn(Opcodes.DUP);
+            clinit.visitLdcInsn(enumConstant(i));
+            clinit.visitLdcInsn(i);
+            clinit.visitMethodInsn(Opcodes.INVOKESPECIAL, internalName, "<init>", "(Ljava/lang/String;I)V", false);
+            clinit.visitFieldInsn(Opcodes.PUTSTATIC, internalName, enumConstant(i), descriptor);
+        }
+        clinit.visitLdcInsn(constants);
+        clinit.visitTypeInsn(Opcodes.ANEWARRAY, internalName);
+        for (int i = 0; i < constants; i++) {
+            clinit.visitInsn(Opcodes.DUP);
+            clinit.visitLdcInsn(i);
+            clinit.visitFieldInsn(Opcodes.GETSTATIC, internalName, enumConstant(i), descriptor);
+            clinit.visitInsn(Opcodes.AASTORE);
+        }
+        clinit.visitFieldInsn(Opcodes.PUTSTATIC, internalName, "$VALUES", arrayDescriptor);
+        clinit.visitInsn(Opcodes.RETURN);
+        clinit.visitMaxs(0, 0);
+        clinit.visitEnd();
+        classWriter.visitEnd();
+        return classWriter.toByteArray();
+    }
+
+    private static String enumConstant(int index) {
+        return "VALUE_" + index;
+    }
+
+    private byte[] generateResource(String internalName, String pkg, int families, int resourceIndex, RestAnnotations annotations) {
+        final ClassWriter classWriter = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+        classWriter.visit(Opcodes.V1_8, Opcodes.ACC_PUBLIC | Opcodes.ACC_SUPER, internalName, null, "java/lang/Object", null);
+        final String simpleName = internalName.substring(internalName.lastIndexOf('/') + 1);
+        if (annotations.controller != null) {
+            classWriter.visitAnnotation(annotations.controller, true).visitEnd();
+        }
+        final AnnotationVisitor classPath = classWriter.visitAnnotation(annotations.classPath, true);
+        visitPath(classPath, annotations, annotations.classPathPrefix + simpleName.toLowerCase());
+        classPath.visitEnd();
+        final MethodVisitor constructor = classWriter.visitMethod(Opcodes.ACC_PUBLIC, "<init>", "()V", null, null);
+        constructor.visitCode();
+        constructor.visitVarInsn(Opcodes.ALOAD, 0);
+        constructor.visitMethodInsn(Opcodes.INVOKESPECIAL, "java/lang/Object", "<init>", "()V", false);
+        constructor.visitInsn(Opcodes.RETURN);
+        constructor.visitMaxs(0, 0);
+        constructor.visitEnd();
+        for (int endpoint = 0; endpoint < endpointsPerResource; endpoint++) {
+            // endpoint index is unique in whole model so generated client methods don't conflict
+            final int index = resourceIndex * endpointsPerResource + endpoint;
+            final String root = "L" + familyRoot(pkg, index % families) + ";";
+            final boolean get = endpoint % 2 == 0;
+            final MethodVisitor method;
+            final AnnotationVisitor methodPath;
+            if (get) {
+                // Root getN(String id)
+                method = classWriter.visitMethod(Opcodes.ACC_PUBLIC, "get" + index, "(Ljava/lang/String;)" + root, null, null);
+                methodPath = visitMethodAnnotations(method, annotations.get, annotations.methodPath);
+                visitPath(methodPath, annotations, annotations.classPathPrefix + "items" + index + "/{id}");
+                methodPath.visitEnd();
+                final AnnotationVisitor pathParam = method.visitParameterAnnotation(0, annotations.pathParam, true);
+                pathParam.visit("value", "id");
+                pathParam.visitEnd();
+            } else {
+                // List<Root> createN(Root body)
+                method = classWriter.visitMethod(Opcodes.ACC_PUBLIC, "create" + index, "(" + root + ")Ljava/util/List;", "(" + root + ")Ljava/util/List<" + root + ">;", null);
+                methodPath = visitMethodAnnotations(method, annotations.post, annotations.methodPath);
+                visitPath(methodPath, annotations, annotations.classPathPrefix + "items" + index);
+                methodPath.visitEnd();
+                if (annotations.body != null) {
+                    method.visitParameterAnnotation(0, annotations.body, true).visitEnd();
+                }
+            }
+            method.visitCode();
+            method.visitInsn(Opcodes.ACONST_NULL);
+            method.visitInsn(Opcodes.ARETURN);
+            method.visitMaxs(0, 0);
+            method.visitEnd();
+        }
+        classWriter.visitEnd();
+        return classWriter.toByteArray();
+    }
+
+    /**
+     * Adds HTTP method annotation and returns visitor of path annotation.
+     * For Spring the path is specified directly in HTTP method annotation (like <code>@GetMapping</code>).
+     */
+    private static AnnotationVisitor visitMethodAnnotations(MethodVisitor method, String httpMethod, String methodPath) {
+        if (methodPath == null) {
+            return method.visitAnnotation(httpMethod, true);
+        }
+        method.visitAnnotation(httpMethod, true).visitEnd();
+        return method.visitAnnotation(methodPath, true);
+    }
+
+    private static void visitPath(AnnotationVisitor annotation, RestAnnotations annotations, String path) {
+        if (annotations.pathArray) {
+            final AnnotationVisitor array = annotation.visitArray("value");
+            array.visit(null, path);
+            array.visitEnd();
+        } else {
+            annotation.visit("value", path);
+        }
+    }
+
+    private static class RestAnnotations {
+        public String controller;
+        public String classPath;
+        public String classPathPrefix;
+        public boolean pathArray;
+        public String get;
+        public String post;
+        public String methodPath;
+        public String pathParam;
+        public String body;
+    }
+
+    private static final RestAnnotations JaxrsAnnotations = new RestAnnotations();
+    private static final RestAnnotations SpringAnnotations = new RestAnnotations();
+    static {
+        JaxrsAnnotations.classPath = "Ljavax/ws/rs/Path;";
+        JaxrsAnnotations.classPathPrefix = "";
+        JaxrsAnnotations.get = "Ljavax/ws/rs/GET;";
+        JaxrsAnnotations.post = "Ljavax/ws/rs/POST;";
+        JaxrsAnnotations.methodPath = "Ljavax/ws/rs/Path;";
+        JaxrsAnnotations.pathParam = "Ljavax/ws/rs/PathParam;";
+
+        SpringAnnotations.controller = "Lorg/springframework/web/bind/annotation/RestController;";
+        SpringAnnotations.classPath = "Lorg/springframework/web/bind/annotation/RequestMapping;";
+        SpringAnnotations.classPathPrefix = "/";
+        SpringAnnotations.pathArray = true;
+        SpringAnnotations.get = "Lorg/springframework/web/bind/annotation/GetMapping;";
+        SpringAnnotations.post = "Lorg/springframework/web/bind/annotation/PostMapping;";
+        SpringAnnotations.pathParam = "Lorg/springframework/web/bind/annotation/PathVariable;";
+        SpringAnnotations.body = "Lorg/springframework/web/bind/annotation/RequestBody;";
+    }
+
+    public static class Result {
+        public final URLClassLoader classLoader;
+        public final List<Class<?>> beans;
+        public final List<Class<?>> enums;
+        public final List<Class<?>> jaxrsResources;
+        public final List<Class<?>> springControllers;
+
+        private Result(URLClassLoader classLoader, List<Class<?>> beans, List<Class<?>> enums, List<Class<?>> jaxrsResources, List<Class<?>> springControllers) {
+            this.classLoader = classLoader;
+            this.beans = beans;
+            this.enums = enums;
+            this.jaxrsResources = jaxrsResources;
+            this.springControllers = springControllers;
+        }
+
+        public List<Class<?>> getAllClasses() {
+            final List<Class<?>> all = new ArrayList<>();
+            all.addAll(beans);
+            all.addAll(enums);
+            all.addAll(jaxrsResources);
+            all.addAll(springControllers);
+            return all;
+        }
+
+        public List<String> getAllClassNames() {
+            final List<String> names = new ArrayList<>();
+            for (Class<?> cls : getAllClasses()) {
+                names.add(cls.getName());
+            }
+            return names;
+        }
+
+        public Input toInput() {
+            return Input.from(getAllClasses().toArray(new Class<?>[0]));
+        }
+    }
+
+}
@@ -0,0 +1,95 @@
+package cz.habarta.typescript.generator;
+
+import java.util.Arrays;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Test;
+
+
+public class SyntheticModelTest {
+
+    @Test
+    public void testSmallModelOutput() {
+        final SyntheticModel model = new SyntheticModel("cz.habarta.typescript.generator.syntheticsmall");
+        model.beans = 12;
+        model.inheritanceDepth = 2;
+        model.enums = 2;
+        model.enumConstants = 3;
+        model.jaxrsResources = 1;
+        model.endpointsPerResource = 2;
+        final SyntheticModel.Result result = model.generate();
+        Assert.assertEquals(12, result.beans.size());
+        Assert.assertEquals(2, result.enums.size());
+        Assert.assertArrayEquals(new Object[] {"VALUE_0", "VALUE_1", "VALUE_2"},
+                Arrays.stream(result.enums.get(1).getEnumConstants()).map(Object::toString).toArray());
+
+        final Settings settings = TestUtils.settings();
+        settings.outputKind = TypeScriptOutputKind.module;
+        settings.generateJaxrsApplicationInterface = true;
+        final String output = new TypeScriptGenerator(settings).generateTypeScript(result.toInput());
+        Assert.assertTrue(output, output.contains("interface Family0 {"));
+        Assert.assertTrue(output, output.contains("kind: \"Family0Level1\" | \"Family0Level2\";"));
+        Assert.assertTrue(output, output.contains("interface Family0Level2 extends Family0Level1 {"));
+        Assert.assertTrue(output, output.contains("next0: Wrapper<Family1Union>;"));
+        Assert.assertTrue(output, output.contains("items0: Family3Union[];"));
+        Assert.assertTrue(output, output.contains("byKey0: { [index: string]: Family3Union };"));
+        Assert.assertTrue(output, output.contains("maybe0?: Family1Union;"));
+        Assert.assertTrue(output, output.contains("status0: Enum0;"));
+        Assert.assertTrue(output, output.contains("interface Wrapper<T> {"));
+        Assert.assertTrue(output, output.contains("type Enum1 = \"VALUE_0\" | \"VALUE_1\" | \"VALUE_2\";"));
+        Assert.assertTrue(output, output.contains("type Family3Union = Family3Level1 | Family3Level2;"));
+        Assert.assertTrue(output, output.contains("interface RestApplication {"));
+        Assert.assertTrue(output, output.contains("get0(id: string): RestResponse<Family0Union>;"));
+        Assert.assertTrue(output, output.contains("create1(arg0: Family1Union): RestResponse<Family1Union[]>;"));
+    }
+
+    /**
+     * Wall-clock budget check, it is slow and depends on the machine so it only runs when enabled
+     * using <code>-Dtypescript.generator.budgetTests=true</code>.
+     */
+    @Test
+    public void testLargeModelWithinBudget() {
+        Assume.assumeTrue("Budget tests are disabled", Boolean.getBoolean(BudgetTestsProperty));
+        final SyntheticModel model = new SyntheticModel("cz.habarta.typescript.generator.syntheticlarge");
+        model.beans = 5_000;
+        model.inheritanceDepth = 4;
+        model.enums = 20;
+        model.jaxrsResources = 20;
+        model.endpointsPerResource = 25;
+        final SyntheticModel.Result result = model.generate();
+
+        final GeneratorMetrics metrics = new GeneratorMetrics();
+        final Settings settings = TestUtils.settings();
+        settings.outputKind = TypeScriptOutputKind.module;
+        settings.generateJaxrsApplicationInterface = true;
+        settings.metrics = metrics;
+        final Input.Parameters parameters = new Input.Parameters();
+        parameters.classNames = result.getAllClassNames();
+        parameters.classLoader = result.classLoader;
+        parameters.metrics = metrics;
+        final String output = new TypeScriptGenerator(settings).generateTypeScript(Input.from(parameters));
+
+        final GeneratorMetrics.Report report = metrics.getReport();
+        // beans + Wrapper
+        Assert.assertEquals(5_001, report.counters.get("parsedBeans").longValue());
+        Assert.assertEquals(20, report.counters.get("parsedEnums").longValue());
+        Assert.assertTrue(output.contains("get499(id: string): RestResponse<Family499Union>;"));
+        Assert.assertTrue(output.contains("interface Family999Level4 extends Family999Level3 {"));
+        double parseAndCompileMillis = 0;
+        for (GeneratorMetrics.PhaseReport phase : report.phases) {
+            if (phase.name.equals("parse") || phase.name.equals("compile")) {
+                parseAndCompileMillis += phase.wallMillis;
+            }
+        }
+        TypeScriptGenerator.getLogger().info(String.format("Parsing and compiling %d classes took %.0f ms", parameters.classNames.size(), parseAndCompileMillis));
+        Assert.assertTrue("Parse and compile took " + parseAndCompileMillis + " ms", parseAndCompileMillis < ParseAndCompileBudgetMillis);
+    }
+
+    private static final String BudgetTestsProperty = "typescript.generator.budgetTests";
+
+    /**
+     * Generous budget (usual duration is around 10 seconds) so the test only fails on significant regressions, not on slow machines.
+     */
+    private static final long ParseAndCompileBudgetMillis = 30_000;
+
+}
@@ -23,6 +23,24 @@ public class TsTypeTest {
         assertNotEquals(new TsType.ReferenceType(new Symbol("Foo")), null);
     }
 
+    @Test
+    public void testStructuralEquals() {
+        final Symbol foo = new Symbol("Foo");
+        final TsType type1 = new UnionType(Arrays.asList(new BasicArrayType(String), new GenericReferenceType(foo, Number), new StringLiteralType("a")));
+        final TsType type2 = new UnionType(Arrays.asList(new BasicArrayType(String), new GenericReferenceType(new Symbol("Foo"), Number), new StringLiteralType("a")));
+        assertEquals(type1, type2);
+        assertEquals(type1.hashCode(), type2.hashCode());
+        assertNotEquals(new BasicArrayType(String), new BasicArrayType(Number));
+        assertNotEquals(new BasicType("T"), new GenericVariableType("T"));
+        assertNotEquals(String, String.optional());
+        assertEquals(String.optional(), String.optional());
+
+        // hash code of type with reference follows symbol name
+        foo.setFullName(null, "Bar");
+        assertNotEquals(type1, type2);
+        assertEquals(new ReferenceType(new Symbol("Bar")).hashCode(), new ReferenceType(foo).hashCode());
+    }
+
     @Test
     public void testTypeParentheses() {
         final Settings settings = TestUtils.settings();
@@ -46,4 +64,23 @@ public class TsTypeTest {
         )).format(settings));
     }
 
+    @Test
+    public void testTransformTsType() {
+        final Settings settings = TestUtils.settings();
+        final TsType type = new ObjectType(Arrays.asList(
+                new TsProperty("a", new BasicArrayType(String)),
+                new TsProperty("b", new UnionType(Arrays.asList(Number, Boolean)))
+        ));
+        final Transformer identity = (context, tsType) -> tsType;
+        assertSame(type, transformTsType(new Context(), type, identity));
+
+        final Transformer numberToString = (context, tsType) -> tsType == Number ? String : tsType;
+        final Transformer stringToDate = (context, tsType) -> tsType == String ? Date : tsType;
+        final TsType transformed = transformTsType(new Context(), type, Transformer.compose(Arrays.asList(numberToString, stringToDate)));
+        assertEquals("{ a: Date[]; b: Date | boolean; }", transformed.format(settings));
+        // unchanged subtree is reused
+        final TsType transformed2 = transformTsType(new Context(), type, numberToString);
+        assertSame(((ObjectType) type).properties.get(0), ((ObjectType) transformed2).properties.get(0));
+    }
+
 }
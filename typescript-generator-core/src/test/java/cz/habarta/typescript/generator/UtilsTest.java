@@ -1,9 +1,14 @@
 
 package cz.habarta.typescript.generator;
 
+import com.fasterxml.jackson.core.type.TypeReference;
+import cz.habarta.typescript.generator.util.ClassNameMatcher;
+import cz.habarta.typescript.generator.util.TypeKey;
 import cz.habarta.typescript.generator.util.Utils;
 import java.io.File;
+import java.lang.reflect.Type;
 import java.util.*;
+import java.util.regex.Pattern;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -22,4 +27,60 @@ public class UtilsTest {
         Assert.assertEquals("\\Qcz.habarta.test.\\E[^.\\$]*\\Q\\E", Utils.globsToRegexps(Arrays.asList("cz.habarta.test.*")).get(0).toString());
     }
 
+    @Test
+    public void testClassNameMatcher() {
+        final List<String> globs = Arrays.asList("**Json", "cz.habarta.test.*", "cz.habarta.*.*$*", "com.example.Exact", "org.acme.**", "org.acme2.**.impl.*Impl", "**");
+        final List<String> classNames = Arrays.asList("com.example.Json", "com.example.Exact", "com.example.Exact2", "cz.habarta.test.A", "cz.habarta.test.a.B",
+                "cz.habarta.ddd.CCC$Json", "cz.habarta.CCC$Inner", "org.acme.X", "org.acmeX.Y", "org.acme2.a.b.impl.FooImpl", "org.acme2.impl.Foo", "");
+        for (int i = 0; i < globs.size(); i++) {
+            final List<String> subset = globs.subList(0, i);
+            final ClassNameMatcher matcher = new ClassNameMatcher(subset);
+            final List<Pattern> regexps = Utils.globsToRegexps(subset);
+            for (String className : classNames) {
+                Assert.assertEquals(subset + " " + className, Utils.classNameMatches(className, regexps), matcher.test(className));
+                Assert.assertEquals(subset + " " + className, Utils.classNameMatches(className, regexps), matcher.test(className));
+            }
+        }
+    }
+
+    @Test
+    public void testClassNameMatcherManyGlobs() {
+        final List<String> globs = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            globs.add("com.vendor" + i + ".**");
+            globs.add("com.acme.module" + i + ".internal.*");
+            globs.add("com.acme.module" + i + ".**.*Impl");
+        }
+        final ClassNameMatcher matcher = new ClassNameMatcher(globs);
+        Assert.assertTrue(matcher.test("com.vendor7.lib.Class"));
+        Assert.assertTrue(matcher.test("com.vendor7.Class"));
+        Assert.assertFalse(matcher.test("com.vendor77.Class"));
+        Assert.assertTrue(matcher.test("com.acme.module3.internal.Class"));
+        Assert.assertFalse(matcher.test("com.acme.module3.internal.sub.Class"));
+        Assert.assertTrue(matcher.test("com.acme.module3.api.ServiceImpl"));
+        Assert.assertFalse(matcher.test("com.acme.module3.ServiceImpl"));
+        Assert.assertFalse(matcher.test("com.acme.module3.api.Service"));
+        Assert.assertFalse(matcher.test("com.acme.module30.internal.Class"));
+        Assert.assertFalse(matcher.test("org.other.ServiceImpl"));
+        final List<Pattern> regexps = Utils.globsToRegexps(globs);
+        for (int i = 0; i < 25; i++) {
+            for (String className : Arrays.asList("com.acme.module" + i + ".internal.Class", "com.acme.module" + i + ".api.ClassImpl",
+                    "com.vendor" + i + ".lib.Class", "org.other" + i + ".Class", "com.acme.module" + i + "x.internal.Class")) {
+                Assert.assertEquals(className, Utils.classNameMatches(className, regexps), matcher.test(className));
+            }
+        }
+    }
+
+    @Test
+    public void testTypeKey() {
+        final Type jdkType = new TypeReference<Map<String, List<Integer>>>() {}.getType();
+        final Type customType = Utils.createParameterizedType(Map.class, String.class, Utils.createParameterizedType(List.class, Integer.class));
+        Assert.assertEquals(TypeKey.of(jdkType), TypeKey.of(customType));
+        Assert.assertEquals(TypeKey.of(jdkType).hashCode(), TypeKey.of(customType).hashCode());
+        Assert.assertEquals(jdkType.hashCode(), customType.hashCode());
+        Assert.assertNotEquals(TypeKey.of(jdkType), TypeKey.of(Utils.createParameterizedType(Map.class, String.class, Integer.class)));
+        final Set<TypeKey> keys = new HashSet<>(Arrays.asList(TypeKey.of(jdkType), TypeKey.of(customType), TypeKey.of(Map.class)));
+        Assert.assertEquals(2, keys.size());
+    }
+
 }
@@ -0,0 +1,75 @@
+package cz.habarta.typescript.generator;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+
+public class WriteOnlyChangedFilesTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private static final long OldTimestamp = 1_000_000L;
+
+    @Test
+    public void testUnchangedFilesAreKept() throws Exception {
+        final File outputFile = new File(temporaryFolder.getRoot(), "test.d.ts");
+        final File infoJsonFile = new File(temporaryFolder.getRoot(), "typescript-generator-info.json");
+        final File packageJsonFile = new File(temporaryFolder.getRoot(), "package.json");
+        final List<File> files = Arrays.asList(outputFile, infoJsonFile, packageJsonFile);
+
+        generate(DummyBean.class, outputFile);
+        for (File file : files) {
+            Assert.assertTrue(file.getName(), file.setLastModified(OldTimestamp));
+        }
+        // timestamp in file comment is different but it is ignored
+        Thread.sleep(1100);
+        final Map<String, Long> counters = generate(DummyBean.class, outputFile);
+        for (File file : files) {
+            Assert.assertEquals(file.getName(), OldTimestamp, file.lastModified());
+        }
+        Assert.assertEquals(Long.valueOf(3), counters.get("filesUnchanged"));
+        Assert.assertNull(counters.get("filesWritten"));
+
+        final Map<String, Long> changedCounters = generate(DummyEnum.class, outputFile);
+        Assert.assertNotEquals(OldTimestamp, outputFile.lastModified());
+        Assert.assertNotEquals(OldTimestamp, infoJsonFile.lastModified());
+        Assert.assertEquals(OldTimestamp, packageJsonFile.lastModified());
+        Assert.assertTrue(TestUtils.readFile(outputFile.getPath()).contains("DummyEnum"));
+        Assert.assertEquals(Long.valueOf(1), changedCounters.get("filesUnchanged"));
+        Assert.assertEquals(Long.valueOf(2), changedCounters.get("filesWritten"));
+    }
+
+    @Test
+    public void testFilesAreReplacedByDefault() {
+        final File outputFile = new File(temporaryFolder.getRoot(), "test.d.ts");
+        final Settings settings = TestUtils.settings();
+        settings.noFileComment = true;
+        new TypeScriptGenerator(settings).generateTypeScript(Input.from(DummyBean.class), Output.to(outputFile));
+        Assert.assertTrue(outputFile.setLastModified(OldTimestamp));
+        final Output output = Output.to(outputFile);
+        new TypeScriptGenerator(settings).generateTypeScript(Input.from(DummyBean.class), output);
+        Assert.assertFalse(output.isUnchanged());
+        Assert.assertNotEquals(OldTimestamp, outputFile.lastModified());
+    }
+
+    private static Map<String, Long> generate(Class<?> cls, File outputFile) {
+        final Settings settings = TestUtils.settings();
+        settings.outputKind = TypeScriptOutputKind.module;
+        settings.generateInfoJson = true;
+        settings.generateNpmPackageJson = true;
+        settings.npmName = "test";
+        settings.npmVersion = "1.0.0";
+        settings.writeOnlyChangedFiles = true;
+        settings.metrics = new GeneratorMetrics();
+        new TypeScriptGenerator(settings).generateTypeScript(Input.from(cls), Output.to(outputFile));
+        return settings.metrics.getReport().counters;
+    }
+
+}
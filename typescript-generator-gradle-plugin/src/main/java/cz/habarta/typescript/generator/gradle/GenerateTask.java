@@ -61,6 +61,7 @@ public class GenerateTask extends DefaultTask {
     public boolean generateSpringApplicationInterface;
     public boolean generateSpringApplicationClient;
     public boolean scanSpringApplication;
+    public SpringApplicationScanMode springApplicationScanMode;
     @Deprecated public RestNamespacing jaxrsNamespacing;
     @Deprecated public String jaxrsNamespacingAnnotation;
     public RestNamespacing restNamespacing;
@@ -71,6 +72,7 @@ public class GenerateTask extends DefaultTask {
     public boolean sortDeclarations;
     public boolean sortTypeDeclarations;
     public boolean noFileComment;
+    public boolean writeOnlyChangedFiles;
     public boolean noTslintDisable;
     public boolean noEslintDisable;
     public List<File> javadocXmlFiles;
@@ -94,6 +96,14 @@ public class GenerateTask extends DefaultTask {
     public boolean emitStaticMethods;
     public boolean emitOtherMethods;
     public EmitSAMStrictness emitSAMSs;
+    public int parsingThreads = 1;
+    public int emittingThreads = 1;
+    public boolean parseClassFiles;
+    public OutputSharding outputSharding;
+    public List<String> outputShards;
+    public boolean incrementalCache;
+    public File scanIndexDirectory;
+    public File metricsReportFile;
     @Deprecated public boolean debug;
     public Logger.Level loggingLevel;
 
@@ -165,6 +175,7 @@ public class GenerateTask extends DefaultTask {
             settings.generateSpringApplicationInterface = generateSpringApplicationInterface;
             settings.generateSpringApplicationClient = generateSpringApplicationClient;
             settings.scanSpringApplication = scanSpringApplication;
+            settings.springApplicationScanMode = springApplicationScanMode != null ? springApplicationScanMode : SpringApplicationScanMode.applicationContext;
             settings.jaxrsNamespacing = jaxrsNamespacing;
             settings.setJaxrsNamespacingAnnotation(classLoader, jaxrsNamespacingAnnotation);
             settings.restNamespacing = restNamespacing;
@@ -175,6 +186,7 @@ public class GenerateTask extends DefaultTask {
             settings.sortDeclarations = sortDeclarations;
             settings.sortTypeDeclarations = sortTypeDeclarations;
             settings.noFileComment = noFileComment;
+            settings.writeOnlyChangedFiles = writeOnlyChangedFiles;
             settings.noTslintDisable = noTslintDisable;
             settings.noEslintDisable = noEslintDisable;
             settings.javadocXmlFiles = javadocXmlFiles;
@@ -200,20 +212,60 @@ public class GenerateTask extends DefaultTask {
             settings.emitStaticMethods = emitStaticMethods;
             settings.emitOtherMethods = emitOtherMethods;
             settings.emitSAMs = emitSAMSs;
+            settings.parsingThreads = parsingThreads;
+            settings.emittingThreads = emittingThreads;
+            settings.parseClassFiles = parseClassFiles;
+            settings.outputSharding = outputSharding;
+            settings.outputShards = Settings.convertToMap(outputShards);
+            final GeneratorMetrics metrics = metricsReportFile != null ? new GeneratorMetrics() : null;
+            settings.metrics = metrics;
             final File output = outputFile != null
                     ? getProject().file(outputFile)
                     : new File(new File(getProject().getBuildDir(), "typescript-generator"), getProject().getName() + settings.getExtension());
             settings.validateFileName(output);
 
+            // incremental cache
+            final IncrementalCache cache = incrementalCache
+                    ? IncrementalCache.forOutput(new File(getProject().getBuildDir(), "typescript-generator-cache"), output)
+                    : null;
+            final String fingerprint = cache != null ? IncrementalCache.computeFingerprint(this, GenerateTask.class, urls, Arrays.asList(output, metricsReportFile)) : null;
+            if (cache != null) {
+                if (cache.isUpToDate(fingerprint)) {
+                    TypeScriptGenerator.getLogger().info("Output file '" + output + "' is up to date, skipping generation");
+                    return;
+                }
+                cache.invalidate();
+            }
+
+            // Input
+            final Input.Parameters inputParameters = new Input.Parameters();
+            inputParameters.classNames = classes;
+            inputParameters.classNamePatterns = classPatterns;
+            inputParameters.classesWithAnnotations = classesWithAnnotations;
+            inputParameters.classesImplementingInterfaces = classesImplementingInterfaces;
+            inputParameters.classesExtendingClasses = classesExtendingClasses;
+            inputParameters.jaxrsApplicationClassName = classesFromJaxrsApplication;
+            inputParameters.automaticJaxrsApplication = classesFromAutomaticJaxrsApplication;
+            inputParameters.isClassNameExcluded = settings.getExcludeFilter();
+            inputParameters.excludedClassPatterns = excludeClassPatterns;
+            inputParameters.classLoader = classLoader;
+            inputParameters.scanIndexDirectory = scanIndexDirectory;
+            inputParameters.loadingThreads = parsingThreads;
+            inputParameters.metrics = metrics;
+            inputParameters.debug = loggingLevel == Logger.Level.Debug;
+
             // TypeScriptGenerator
-            new TypeScriptGenerator(settings).generateTypeScript(
-                    Input.fromClassNamesAndJaxrsApplication(classes, classPatterns, classesWithAnnotations,
-                        classesImplementingInterfaces, classesExtendingClasses,
-                        classesFromJaxrsApplication,
-                        classesFromAutomaticJaxrsApplication, settings.getExcludeFilter(),
-                        classLoader, loggingLevel == Logger.Level.Debug),
+            final TypeScriptGenerator generator = new TypeScriptGenerator(settings);
+            generator.generateTypeScript(
+                    Input.from(inputParameters),
                     Output.to(output)
             );
+            if (metrics != null) {
+                metrics.writeReport(metricsReportFile);
+            }
+            if (cache != null) {
+                cache.store(fingerprint, generator.getOutputFiles());
+            }
         }
     }
 
@@ -420,6 +420,21 @@ public class GenerateMojo extends AbstractMojo {
     @Parameter
     private boolean scanSpringApplication;
 
+    /**
+     * Specifies how Spring application is scanned for REST controllers when {@link #scanSpringApplication} is <code>true</code>.
+     * Supported values are:
+     * <ul>
+     * <li><code>applicationContext</code> - application context is created and refreshed and its beans are searched for REST controllers.
+     *   This runs application auto-configuration.</li>
+     * <li><code>componentScan</code> - REST controllers are found using <code>@ComponentScan</code> metadata of the application class
+     *   (base packages and filters) and candidate components index if present.
+     *   Application context is not created so controllers registered by other means (for example using <code>@Import</code>) are not found.</li>
+     * </ul>
+     * Default value is <code>applicationContext</code>.
+     */
+    @Parameter
+    private SpringApplicationScanMode springApplicationScanMode;
+
     /**
      * Deprecated, use {@link #restNamespacing}.
      */
@@ -507,6 +522,14 @@ public class GenerateMojo extends AbstractMojo {
     @Parameter
     private boolean noFileComment;
 
+    /**
+     * If <code>true</code> existing output files (including shards, <code>typescript-generator-info.json</code> and <code>package.json</code>)
+     * are only replaced when their content changed. File comment with timestamp is ignored when comparing content.
+     * Unchanged files keep their modification time so file watchers (like <code>tsc --watch</code> or webpack) are not triggered.
+     */
+    @Parameter
+    private boolean writeOnlyChangedFiles;
+
     /**
      * If <code>true</code> generated file will not be prevented from linting by TSLint.
      * By default there is a {@code tslint:disable} comment that will force TSLint to ignore the generated file.
@@ -704,6 +727,100 @@ public class GenerateMojo extends AbstractMojo {
     @Parameter
     private EmitSAMStrictness emitSAMs;
 
+    /**
+     * Number of threads used for loading and parsing (introspecting) Java classes.
+     * Value <code>1</code> means classes are parsed sequentially on the calling thread,
+     * value <code>0</code> means number of available processors is used.
+     * Generated output doesn't depend on this value.
+     * Default value is <code>1</code>.
+     */
+    @Parameter(defaultValue = "1")
+    private int parsingThreads;
+
+    /**
+     * Number of threads used for rendering TypeScript declarations
+     * and for writing shards when {@link #outputSharding} is used.
+     * Value <code>1</code> means declarations are rendered sequentially on the calling thread,
+     * value <code>0</code> means number of available processors is used.
+     * Generated output doesn't depend on this value.
+     * Default value is <code>1</code>.
+     */
+    @Parameter(defaultValue = "1")
+    private int emittingThreads;
+
+    /**
+     * If <code>true</code> Java beans and enums are parsed from class files (using ClassGraph library) instead of Jackson introspection.
+     * Only classes which are part of generated model are loaded and their static initializers are not run.
+     * Classes using Jackson features which cannot be evaluated from class files
+     * (like custom serializers, <code>@JsonValue</code>, object identity, explicit property order, creators or annotations on overridden methods)
+     * are still parsed using Jackson.
+     * This parameter cannot be used together with <code>jackson2Modules</code> or <code>jackson2ModuleDiscovery</code> parameters.
+     * This parameter is only applicable to <code>jackson2</code> library.
+     * Default value is <code>false</code>.
+     */
+    @Parameter
+    private boolean parseClassFiles;
+
+    /**
+     * Splits generated declarations into several module files (shards) written next to the output file.
+     * Output file then only re-exports all shards (<code>export * from "./shard";</code>)
+     * and each shard imports types it references from other shards.
+     * Supported values are:
+     * <ul>
+     * <li><code>none</code> - all declarations are written to the output file</li>
+     * <li><code>javaPackage</code> - one shard per Java package (shard name is package name)</li>
+     * <li><code>custom</code> - shards are specified using {@link #outputShards} parameter</li>
+     * </ul>
+     * Declarations which don't originate from Java class (like <code>RestResponse</code>) are written to <code>common</code> shard.
+     * This parameter can only be used with <code>module</code> output kind and <code>declarationFile</code> output file type
+     * and cannot be used together with <code>namespace</code>, <code>mapPackagesToNamespaces</code> or extensions.
+     * Default value is <code>none</code>.
+     */
+    @Parameter
+    private OutputSharding outputSharding;
+
+    /**
+     * List of mappings from Java class name glob patterns to shard names, first matching pattern wins.
+     * Format is <code>pattern:shardName</code>, for example <code>com.example.api.**:api</code>.
+     * For <code>custom</code> {@link #outputSharding} classes not matching any pattern are written to <code>common</code> shard,
+     * for <code>javaPackage</code> sharding they are written to shard of their package.
+     */
+    @Parameter
+    private List<String> outputShards;
+
+    /**
+     * If <code>true</code> generator stores fingerprint of each run in <code>${project.build.directory}/typescript-generator-cache</code> directory
+     * and skips generation when neither plugin configuration nor classpath changed since the last run and output file was not modified.
+     * Class files in classpath directories are compared by content, JAR files by size and modification time.
+     * Default value is <code>false</code>.
+     */
+    @Parameter
+    private boolean incrementalCache;
+
+    /**
+     * Directory where class, supertype and annotation metadata of classpath entries (JAR files and directories) are stored.
+     * When specified, only classpath entries which changed since the last run are scanned
+     * by {@link #classPatterns}, {@link #classesWithAnnotations}, {@link #classesImplementingInterfaces},
+     * {@link #classesExtendingClasses} and {@link #classesFromAutomaticJaxrsApplication} parameters,
+     * other entries are loaded from this directory.
+     * JAR files are compared by size and modification time (and by checksum when these differ),
+     * directories by paths, sizes and modification times of contained files.
+     * The directory can be shared by multiple modules, for example <code>${user.home}/.cache/typescript-generator-scan-index</code>.
+     * By default classpath is fully scanned in each run.
+     */
+    @Parameter
+    private File scanIndexDirectory;
+
+    /**
+     * If specified, JSON report with metrics of generator run is written to this file.
+     * The report contains wall time and allocated memory of individual phases
+     * (classpath scanning, class loading, parsing, model transformations, extension transformers and emitting)
+     * and counters like number of parsed classes and properties, number of symbols and number of written bytes.
+     * This can be used to track cost of TypeScript generation in multi-module builds.
+     */
+    @Parameter
+    private File metricsReportFile;
+
     /**
      * <b>Deprecated</b>, use {@link #loggingLevel} parameter.
      */
@@ -726,8 +843,9 @@ public class GenerateMojo extends AbstractMojo {
     @Parameter
     private Logger.Level loggingLevel;
 
+    // transient: not part of incremental cache fingerprint, classpath is fingerprinted separately
     @Parameter(defaultValue = "${project}", readonly = true, required = true)
-    private MavenProject project;
+    private transient MavenProject project;
 
     @Parameter(defaultValue = "${project.build.directory}", readonly = true, required = true)
     private String projectBuildDirectory;
@@ -793,6 +911,7 @@ public class GenerateMojo extends AbstractMojo {
             settings.generateSpringApplicationInterface = generateSpringApplicationInterface;
             settings.generateSpringApplicationClient = generateSpringApplicationClient;
             settings.scanSpringApplication = scanSpringApplication;
+            settings.springApplicationScanMode = springApplicationScanMode != null ? springApplicationScanMode : SpringApplicationScanMode.applicationContext;
             settings.jaxrsNamespacing = jaxrsNamespacing;
             settings.setJaxrsNamespacingAnnotation(classLoader, jaxrsNamespacingAnnotation);
             settings.restNamespacing = restNamespacing;
@@ -803,6 +922,7 @@ public class GenerateMojo extends AbstractMojo {
             settings.sortDeclarations = sortDeclarations;
             settings.sortTypeDeclarations = sortTypeDeclarations;
             settings.noFileComment = noFileComment;
+            settings.writeOnlyChangedFiles = writeOnlyChangedFiles;
             settings.noTslintDisable = noTslintDisable;
             settings.noEslintDisable = noEslintDisable;
             settings.javadocXmlFiles = javadocXmlFiles;
@@ -828,20 +948,60 @@ public class GenerateMojo extends AbstractMojo {
             settings.emitStaticMethods = emitStaticMethods;
             settings.emitOtherMethods = emitOtherMethods;
             settings.emitSAMs = emitSAMs;
+            settings.parsingThreads = parsingThreads;
+            settings.emittingThreads = emittingThreads;
+            settings.parseClassFiles = parseClassFiles;
+            settings.outputSharding = outputSharding;
+            settings.outputShards = Settings.convertToMap(outputShards);
+            final GeneratorMetrics metrics = metricsReportFile != null ? new GeneratorMetrics() : null;
+            settings.metrics = metrics;
             final File output = outputFile != null
                     ? outputFile
                     : new File(new File(projectBuildDirectory, "typescript-generator"), project.getArtifactId() + settings.getExtension());
             settings.validateFileName(output);
 
+            // incremental cache
+            final IncrementalCache cache = incrementalCache
+                    ? IncrementalCache.forOutput(new File(projectBuildDirectory, "typescript-generator-cache"), output)
+                    : null;
+            final String fingerprint = cache != null ? IncrementalCache.computeFingerprint(this, GenerateMojo.class, urls, Arrays.asList(output, metricsReportFile)) : null;
+            if (cache != null) {
+                if (cache.isUpToDate(fingerprint)) {
+                    TypeScriptGenerator.getLogger().info("Output file '" + output + "' is up to date, skipping generation");
+                    return;
+                }
+                cache.invalidate();
+            }
+
+            // Input
+            final Input.Parameters inputParameters = new Input.Parameters();
+            inputParameters.classNames = classes;
+            inputParameters.classNamePatterns = classPatterns;
+            inputParameters.classesWithAnnotations = classesWithAnnotations;
+            inputParameters.classesImplementingInterfaces = classesImplementingInterfaces;
+            inputParameters.classesExtendingClasses = classesExtendingClasses;
+            inputParameters.jaxrsApplicationClassName = classesFromJaxrsApplication;
+            inputParameters.automaticJaxrsApplication = classesFromAutomaticJaxrsApplication;
+            inputParameters.isClassNameExcluded = settings.getExcludeFilter();
+            inputParameters.excludedClassPatterns = excludeClassPatterns;
+            inputParameters.classLoader = classLoader;
+            inputParameters.scanIndexDirectory = scanIndexDirectory;
+            inputParameters.loadingThreads = parsingThreads;
+            inputParameters.metrics = metrics;
+            inputParameters.debug = loggingLevel == Logger.Level.Debug;
+
             // TypeScriptGenerator
-            new TypeScriptGenerator(settings).generateTypeScript(
-                    Input.fromClassNamesAndJaxrsApplication(classes, classPatterns, classesWithAnnotations,
-                        classesImplementingInterfaces, classesExtendingClasses,
-                        classesFromJaxrsApplication,
-                        classesFromAutomaticJaxrsApplication, settings.getExcludeFilter(),
-                        classLoader, loggingLevel == Logger.Level.Debug),
+            final TypeScriptGenerator generator = new TypeScriptGenerator(settings);
+            generator.generateTypeScript(
+                    Input.from(inputParameters),
                     Output.to(output)
             );
+            if (metrics != null) {
+                metrics.writeReport(metricsReportFile);
+            }
+            if (cache != null) {
+                cache.store(fingerprint, generator.getOutputFiles());
+            }
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
@@ -2,6 +2,7 @@
 package cz.habarta.typescript.generator.spring;
 
 import cz.habarta.typescript.generator.Settings;
+import cz.habarta.typescript.generator.SpringApplicationScanMode;
 import cz.habarta.typescript.generator.TsType;
 import cz.habarta.typescript.generator.TypeProcessor;
 import cz.habarta.typescript.generator.TypeScriptGenerator;
@@ -15,6 +16,7 @@ import cz.habarta.typescript.generator.parser.RestMethodModel;
 import cz.habarta.typescript.generator.parser.RestQueryParam;
 import cz.habarta.typescript.generator.parser.SourceType;
 import cz.habarta.typescript.generator.util.Utils;
+import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
 import java.lang.reflect.Parameter;
 import java.lang.reflect.ParameterizedType;
@@ -22,16 +24,29 @@ import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.context.annotation.ComponentScan;
 import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.type.filter.AnnotationTypeFilter;
+import org.springframework.core.type.filter.AssignableTypeFilter;
+import org.springframework.core.type.filter.RegexPatternTypeFilter;
+import org.springframework.core.type.filter.TypeFilter;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -91,8 +106,9 @@ public class SpringApplicationParser extends RestApplicationParser {
                 final ClassLoader originalContextClassLoader = Thread.currentThread().getContextClassLoader();
                 try {
                     Thread.currentThread().setContextClassLoader(settings.classLoader);
-                    final SpringApplicationHelper springApplicationHelper = new SpringApplicationHelper(settings.classLoader, cls);
-                    final List<Class<?>> restControllers = springApplicationHelper.findRestControllers();
+                    final List<Class<?>> restControllers = settings.springApplicationScanMode == SpringApplicationScanMode.componentScan
+                            ? new ComponentScanHelper(settings.classLoader, cls).findRestControllers()
+                            : new SpringApplicationHelper(settings.classLoader, cls).findRestControllers();
                     return new JaxrsApplicationParser.Result(restControllers.stream()
                             .map(controller -> new SourceType<Type>(controller, cls, "<scanned>"))
                             .collect(Collectors.toList())
@@ -152,6 +168,101 @@ public class SpringApplicationParser extends RestApplicationParser {
 
     }
 
+    /**
+     * Finds REST controllers using <code>@ComponentScan</code> metadata of the application class without creating application context.
+     * Candidate components are read from class files (or from <code>META-INF/spring.components</code> index if present)
+     * so no classes are initialized and no auto-configuration is run.
+     */
+    private class ComponentScanHelper {
+
+        private final ClassLoader classLoader;
+        private final Class<?> applicationClass;
+
+        public ComponentScanHelper(ClassLoader classLoader, Class<?> applicationClass) {
+            this.classLoader = classLoader;
+            this.applicationClass = applicationClass;
+        }
+
+        public List<Class<?>> findRestControllers() {
+            final Set<ComponentScan> componentScans = AnnotatedElementUtils.findMergedRepeatableAnnotations(applicationClass, ComponentScan.class);
+            final Set<String> classNames = new LinkedHashSet<>();
+            for (ComponentScan componentScan : componentScans) {
+                final ClassPathScanningCandidateComponentProvider provider = createProvider(componentScan);
+                for (String basePackage : getBasePackages(componentScan)) {
+                    for (BeanDefinition candidate : provider.findCandidateComponents(basePackage)) {
+                        classNames.add(candidate.getBeanClassName());
+                    }
+                }
+            }
+            return classNames.stream()
+                    .filter(Objects::nonNull)
+                    .filter(className -> isClassNameExcluded == null || !isClassNameExcluded.test(className))
+                    .map(className -> {
+                        try {
+                            return Class.forName(className, false, classLoader);
+                        } catch (ClassNotFoundException e) {
+                            throw new RuntimeException(e);
+                        }
+                    })
+                    .filter(instance -> instance.isAnnotationPresent(RestController.class))
+                    .collect(Collectors.toList());
+        }
+
+        private ClassPathScanningCandidateComponentProvider createProvider(ComponentScan componentScan) {
+            final ClassPathScanningCandidateComponentProvider provider = new ClassPathScanningCandidateComponentProvider(componentScan.useDefaultFilters());
+            provider.setResourceLoader(new DefaultResourceLoader(classLoader));
+            for (ComponentScan.Filter filter : componentScan.includeFilters()) {
+                createTypeFilters(filter).forEach(provider::addIncludeFilter);
+            }
+            for (ComponentScan.Filter filter : componentScan.excludeFilters()) {
+                createTypeFilters(filter).forEach(provider::addExcludeFilter);
+            }
+            return provider;
+        }
+
+        private List<String> getBasePackages(ComponentScan componentScan) {
+            final Set<String> basePackages = new LinkedHashSet<>();
+            for (String basePackage : componentScan.basePackages()) {
+                basePackages.addAll(Arrays.asList(StringUtils.tokenizeToStringArray(basePackage, ConfigurableApplicationContext.CONFIG_LOCATION_DELIMITERS)));
+            }
+            for (Class<?> basePackageClass : componentScan.basePackageClasses()) {
+                basePackages.add(ClassUtils.getPackageName(basePackageClass));
+            }
+            if (basePackages.isEmpty()) {
+                basePackages.add(ClassUtils.getPackageName(applicationClass));
+            }
+            return new ArrayList<>(basePackages);
+        }
+
+        @SuppressWarnings("unchecked")
+        private List<TypeFilter> createTypeFilters(ComponentScan.Filter filter) {
+            final List<TypeFilter> typeFilters = new ArrayList<>();
+            switch (filter.type()) {
+                case ANNOTATION:
+                    for (Class<?> cls : filter.classes()) {
+                        typeFilters.add(new AnnotationTypeFilter((Class<? extends Annotation>) cls));
+                    }
+                    break;
+                case ASSIGNABLE_TYPE:
+                    for (Class<?> cls : filter.classes()) {
+                        typeFilters.add(new AssignableTypeFilter(cls));
+                    }
+                    break;
+                case REGEX:
+                    for (String pattern : filter.pattern()) {
+                        typeFilters.add(new RegexPatternTypeFilter(Pattern.compile(pattern)));
+                    }
+                    break;
+                default:
+                    // custom filters (like Spring Boot TypeExcludeFilter) need bean factory
+                    TypeScriptGenerator.getLogger().verbose("Ignoring component scan filter of type " + filter.type() + " in " + applicationClass.getName());
+                    break;
+            }
+            return typeFilters;
+        }
+
+    }
+
     private void parseController(JaxrsApplicationParser.Result result, JaxrsApplicationParser.ResourceContext context, Class<?> controllerClass) {
         // parse controller methods
         final List<Method> methods = Utils.getAllMethods(controllerClass);
@@ -3,6 +3,8 @@ package cz.habarta.typescript.generator.spring;
 
 import cz.habarta.typescript.generator.Input;
 import cz.habarta.typescript.generator.Settings;
+import cz.habarta.typescript.generator.SpringApplicationScanMode;
+import cz.habarta.typescript.generator.SyntheticModel;
 import cz.habarta.typescript.generator.TestUtils;
 import cz.habarta.typescript.generator.TypeScriptFileType;
 import cz.habarta.typescript.generator.TypeScriptGenerator;
@@ -53,6 +55,19 @@ public class SpringTest {
         Assert.assertTrue(output.contains("interface Greeting"));
     }
 
+    @Test
+    public void testComponentScanMatchesApplicationContextScan() {
+        final Settings settings = TestUtils.settings();
+        settings.generateSpringApplicationInterface = true;
+        settings.scanSpringApplication = true;
+        settings.classLoader = Thread.currentThread().getContextClassLoader();
+        final String contextOutput = new TypeScriptGenerator(settings).generateTypeScript(Input.from(SpringTestApplication.class));
+        settings.springApplicationScanMode = SpringApplicationScanMode.componentScan;
+        final String componentScanOutput = new TypeScriptGenerator(settings).generateTypeScript(Input.from(SpringTestApplication.class));
+        Assert.assertTrue(componentScanOutput.contains("greeting(queryParams?: { name?: string; }): RestResponse<Greeting>"));
+        Assert.assertEquals(contextOutput, componentScanOutput);
+    }
+
     @Test
     public void testPathParameters() {
         final Settings settings = TestUtils.settings();
@@ -93,6 +108,23 @@ public class SpringTest {
         Assert.assertTrue(output.contains("interface Data2"));
     }
 
+    @Test
+    public void testSyntheticControllers() {
+        final SyntheticModel model = new SyntheticModel("cz.habarta.typescript.generator.spring.synthetic");
+        model.beans = 40;
+        model.enums = 3;
+        model.springControllers = 4;
+        model.endpointsPerResource = 6;
+        final Settings settings = TestUtils.settings();
+        settings.outputFileType = TypeScriptFileType.implementationFile;
+        settings.generateSpringApplicationClient = true;
+        final String output = new TypeScriptGenerator(settings).generateTypeScript(model.generate().toInput());
+        Assert.assertTrue(output.contains("get0(id: string): RestResponse<Family0Union>"));
+        Assert.assertTrue(output.contains("uriEncoding`controller0/items0/${id}`"));
+        Assert.assertTrue(output.contains("create23(arg0: Family3Union): RestResponse<Family3Union[]>"));
+        Assert.assertTrue(output.contains("interface Family9Level3 extends Family9Level2"));
+    }
+
     @RestController
     @RequestMapping("/owners/{ownerId}")
     public static class Controller1 {